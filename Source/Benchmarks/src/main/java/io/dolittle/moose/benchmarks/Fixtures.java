@@ -0,0 +1,145 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.dolittle.moose.common.properties.ping.PingIngressProperties;
+import io.dolittle.moose.kubernetes.Annotation;
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressPath;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressRuleValue;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressBackend;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressRule;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressTLS;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+/**
+ * Creates the resources and configuration used by the benchmarks, shaped like the resources in a real cluster.
+ */
+public class Fixtures {
+    public static final String PING_ANNOTATION = "dolittle.io/moose";
+    public static final int NAMESPACES = 50;
+
+    /**
+     * Creates a Kubernetes Ingress with a handful of labels and annotations, one TLS secret and one host rule.
+     * @param index The index of the Ingress, used to make its name and host unique.
+     * @param pinged Whether the Ingress has the annotation that makes the Pinger ping it.
+     * @return The {@link ExtensionsV1beta1Ingress}.
+     */
+    public static ExtensionsV1beta1Ingress ingress(int index, boolean pinged) {
+        var labels = new HashMap<String, String>();
+        labels.put("app.kubernetes.io/name", "application-" + index);
+        labels.put("app.kubernetes.io/part-of", "platform");
+        labels.put("dolittle.io/tenant-id", "00000000-0000-0000-0000-" + String.format("%012d", index));
+        labels.put("dolittle.io/environment", "production");
+
+        var annotations = new HashMap<String, String>();
+        annotations.put("kubernetes.io/ingress.class", "nginx");
+        annotations.put("nginx.ingress.kubernetes.io/ssl-redirect", "true");
+        annotations.put("nginx.ingress.kubernetes.io/proxy-body-size", "8m");
+        annotations.put("cert-manager.io/cluster-issuer", "letsencrypt-production");
+        annotations.put("kubectl.kubernetes.io/last-applied-configuration", "{\"apiVersion\":\"extensions/v1beta1\",\"kind\":\"Ingress\",\"metadata\":{\"name\":\"ingress-" + index + "\"}}");
+        if (pinged) {
+            annotations.put(PING_ANNOTATION, "");
+        }
+
+        var host = "host-" + index + ".example.dolittle.cloud";
+        return new ExtensionsV1beta1Ingress()
+            .apiVersion("extensions/v1beta1")
+            .kind("Ingress")
+            .metadata(new V1ObjectMeta()
+                .namespace("namespace-" + (index % NAMESPACES))
+                .name("ingress-" + index)
+                .resourceVersion(Integer.toString(index))
+                .labels(labels)
+                .annotations(annotations))
+            .spec(new ExtensionsV1beta1IngressSpec()
+                .tls(List.of(new ExtensionsV1beta1IngressTLS()
+                    .hosts(List.of(host))
+                    .secretName("certificate-" + index)))
+                .rules(List.of(new ExtensionsV1beta1IngressRule()
+                    .host(host)
+                    .http(new ExtensionsV1beta1HTTPIngressRuleValue()
+                        .paths(List.of(new ExtensionsV1beta1HTTPIngressPath()
+                            .path("/")
+                            .backend(new ExtensionsV1beta1IngressBackend()
+                                .serviceName("application-" + index)
+                                .servicePort(new IntOrString(80)))))))));
+    }
+
+    /**
+     * Creates a Kubernetes Namespace, for the Ingresses with the same index modulo the number of namespaces.
+     * @param index The index of the Namespace.
+     * @return The {@link V1Namespace}.
+     */
+    public static V1Namespace namespace(int index) {
+        return new V1Namespace()
+            .apiVersion("v1")
+            .kind("Namespace")
+            .metadata(new V1ObjectMeta()
+                .name("namespace-" + index)
+                .labels(Map.of("dolittle.io/tenant-id", "00000000-0000-0000-0000-" + String.format("%012d", index))));
+    }
+
+    /**
+     * Creates the {@link KubernetesProperties} with the same values as the defaults in kubernetes.properties.
+     * @return The {@link KubernetesProperties}.
+     */
+    public static KubernetesProperties kubernetesProperties() {
+        var properties = new KubernetesProperties();
+        properties.getEmission().setCoalesce(true);
+        properties.getEmission().setWindow(Duration.ofMillis(250));
+        properties.getEmission().setMaxBatch(1000);
+        properties.getIndexes().setAnnotations(List.of(PING_ANNOTATION));
+        properties.getInformers().getTrim().setManagedFields(true);
+        properties.getInformers().getTrim().setStatus(true);
+        properties.getInformers().getTrim().setAnnotations(List.of("kubectl.kubernetes.io/last-applied-configuration"));
+        properties.getInformers().getTrim().setIntern(true);
+        properties.getInformers().getWatch().setResume(true);
+        properties.getInformers().setPageSize(500);
+        return properties;
+    }
+
+    /**
+     * Creates the {@link PingIngressProperties} with the default annotation.
+     * @return The {@link PingIngressProperties}.
+     */
+    public static PingIngressProperties pingIngressProperties() {
+        var properties = new PingIngressProperties();
+        properties.setAnnotation(new Annotation(PING_ANNOTATION, ""));
+        return properties;
+    }
+
+    /**
+     * Creates the {@link PingerProperties} with the same values as the defaults in pinger.properties.
+     * @return The {@link PingerProperties}.
+     */
+    public static PingerProperties pingerProperties() {
+        var properties = new PingerProperties();
+        properties.getScheduler().setInterval(Duration.ofMinutes(5));
+        properties.getScheduler().setJitter(Duration.ofSeconds(5));
+        properties.getScheduler().setTick(Duration.ofMillis(100));
+        properties.getScheduler().setSyncInterval(Duration.ofSeconds(10));
+        properties.getScheduler().setIntervalAnnotation("dolittle.io/moose-interval");
+        properties.getMetrics().setPercentiles(List.of(0.5, 0.95, 0.99));
+        properties.getMetrics().setSlos(List.of(Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1)));
+        properties.getChallenges().setMode("store");
+        properties.getChallenges().setSecret("benchmark-secret");
+        properties.getChallenges().setTtl(Duration.ofMinutes(5));
+        properties.getChallenges().setMaxOutstanding(200000);
+        properties.getHistory().setSamples(288);
+        properties.getHistory().setHours(720);
+        properties.getHistory().setSlotsPerSlab(1024);
+        return properties;
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dolittle.moose.benchmarks.apiserver.FakeApiServer;
+import io.dolittle.moose.kubernetes.informers.SharedIndexInformers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks the time and allocations it takes an Ingress informer to list and sync every Ingress from the {@link FakeApiServer}, while the Ingresses are being changed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class InformerSyncBenchmarks {
+    @Param({"10000", "100000"})
+    public int ingresses;
+
+    @Param({"0", "500"})
+    public int pageSize;
+
+    @Param({"0", "1000"})
+    public int changesPerSecond;
+
+    private FakeApiServer _server;
+    private SharedIndexInformers _informers;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        _server = new FakeApiServer();
+        for (var i = 0; i < Fixtures.NAMESPACES; i++) {
+            _server.getNamespaces().put(Fixtures.namespace(i));
+        }
+        for (var i = 0; i < ingresses; i++) {
+            _server.getIngresses().put(Fixtures.ingress(i, i % 2 == 0));
+        }
+        _server.startChurn(_server.getIngresses(), changesPerSecond);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopInformers() {
+        _informers.getInformerFactory().stopAllRegisteredInformers();
+        _informers.stop();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        _server.close();
+    }
+
+    @Benchmark
+    public int sync() throws InterruptedException {
+        var properties = Fixtures.kubernetesProperties();
+        properties.getInformers().setPageSize(pageSize);
+        _informers = new SharedIndexInformers(_server.createClient(), properties, new SimpleMeterRegistry());
+        var informer = _informers.getIngressInformer();
+        while (!informer.hasSynced()) {
+            Thread.sleep(1);
+        }
+        return informer.getIndexer().listKeys().size();
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dolittle.moose.kubernetes.Annotation;
+import io.dolittle.moose.kubernetes.Namespace;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange;
+import io.dolittle.moose.kubernetes.ingresses.ICanObserveIngresses;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.dolittle.moose.pinger.component.IngressManager;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+/**
+ * Benchmarks how the {@link IngressManager} aggregates the hosts to ping when an Ingress changes, and reading the aggregated hosts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngressManagerBenchmarks {
+    @Param({"1000", "10000", "100000"})
+    public int ingresses;
+
+    private PublishSubject<ResourceChange<Ingress>> _changes;
+    private IngressManager _manager;
+    private ExtensionsV1beta1Ingress[] _current;
+    private ExtensionsV1beta1Ingress[] _alternate;
+    private int _next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        _changes = PublishSubject.create();
+        _manager = new IngressManager(new ChangesObserver(_changes), Fixtures.pingIngressProperties(), Fixtures.pingerProperties());
+        _current = new ExtensionsV1beta1Ingress[ingresses];
+        _alternate = new ExtensionsV1beta1Ingress[ingresses];
+        for (var i = 0; i < ingresses; i++) {
+            _current[i] = Fixtures.ingress(i, true);
+            _alternate[i] = Fixtures.ingress(i, true);
+            _alternate[i].getSpec().getRules().get(0).getHttp().getPaths().get(0).setPath("/changed");
+            _changes.onNext(ResourceChange.added(Ingress.from(_current[i])));
+        }
+    }
+
+    @Benchmark
+    public void updateIngress() {
+        var index = _next++ % ingresses;
+        var previous = _current[index];
+        var next = _alternate[index];
+        _current[index] = next;
+        _alternate[index] = previous;
+        _changes.onNext(ResourceChange.updated(Ingress.from(previous), Ingress.from(next)));
+    }
+
+    @Benchmark
+    public List<PingHost> getHostsList() {
+        return _manager.getHostsList();
+    }
+
+    private static class ChangesObserver implements ICanObserveIngresses {
+        private final Observable<ResourceChange<Ingress>> _changes;
+
+        ChangesObserver(Observable<ResourceChange<Ingress>> changes) {
+            _changes = changes;
+        }
+
+        @Override
+        public Observable<ResourceChange<Ingress>> observeAllIngressChangesWithAnnotations(Annotation... annotations) {
+            return _changes;
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeAllIngresses() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeAllIngressesWithAnnotations(Annotation... annotations) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeIngressesInNamespace(Namespace namespace) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeIngressesInNamespaceWithAnnotations(Namespace namespace, Annotation... annotations) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean hasSynced() {
+            return true;
+        }
+    }
+}
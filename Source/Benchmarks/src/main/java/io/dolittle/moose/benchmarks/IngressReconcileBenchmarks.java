@@ -0,0 +1,92 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dolittle.moose.benchmarks.apiserver.FakeApiServer;
+import io.dolittle.moose.kubernetes.errors.KubernetesRequestFailed;
+import io.dolittle.moose.kubernetes.informers.SharedIndexInformers;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.dolittle.moose.kubernetes.ingresses.IngressAlreadyExists;
+import io.dolittle.moose.kubernetes.ingresses.IngressApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks reconciling one missing Ingress against the {@link FakeApiServer}: checking the informer, creating it, and waiting for the watch to deliver it back to the informer.
+ * The server adds latency to every request and disconnects the watches periodically, so the informer has to resume while Ingresses are being created.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngressReconcileBenchmarks {
+    @Param({"10000"})
+    public int ingresses;
+
+    @Param({"0", "2"})
+    public int latencyMillis;
+
+    @Param({"0", "1000"})
+    public int disconnectMillis;
+
+    private FakeApiServer _server;
+    private SharedIndexInformers _informers;
+    private IngressApiClient _apiClient;
+    private int _next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException {
+        _server = new FakeApiServer();
+        for (var i = 0; i < ingresses; i++) {
+            _server.getIngresses().put(Fixtures.ingress(i, true));
+        }
+        var apiClient = _server.createClient();
+        _informers = new SharedIndexInformers(apiClient, Fixtures.kubernetesProperties(), new SimpleMeterRegistry());
+        _apiClient = new IngressApiClient(apiClient, _informers);
+        while (!_informers.getIngressInformer().hasSynced()) {
+            Thread.sleep(1);
+        }
+        _next = ingresses;
+        _server.setLatency(Duration.ofMillis(latencyMillis));
+        _server.disconnectWatchesEvery(Duration.ofMillis(disconnectMillis));
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        _informers.getInformerFactory().stopAllRegisteredInformers();
+        _informers.stop();
+        _server.close();
+    }
+
+    @Benchmark
+    public boolean reconcile() throws IngressAlreadyExists, KubernetesRequestFailed {
+        var ingress = Ingress.from(Fixtures.ingress(_next++, true));
+        if (!_apiClient.Exists(ingress)) {
+            _apiClient.Create(ingress);
+        }
+        while (!_apiClient.Exists(ingress)) {
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+}
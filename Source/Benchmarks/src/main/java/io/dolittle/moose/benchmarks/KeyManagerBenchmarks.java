@@ -0,0 +1,63 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dolittle.moose.pinger.component.KeyManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks the full life of a challenge key: generated before the ping, received by the controller, and verified after the response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyManagerBenchmarks {
+    @Param({"store", "token"})
+    public String mode;
+
+    private KeyManager _keyManager;
+
+    @Setup
+    public void setup() {
+        var properties = Fixtures.pingerProperties();
+        properties.getChallenges().setMode(mode);
+        _keyManager = new KeyManager(properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String generate() {
+        return _keyManager.addChallengeKeyBeforePingRequest();
+    }
+
+    @Benchmark
+    public Boolean generateReceiveAndVerify() {
+        var key = _keyManager.addChallengeKeyBeforePingRequest();
+        _keyManager.updateChallengeKeyWhenPingIsReceived(key);
+        return _keyManager.verifyChallengeKeyAfterResponse(key, _keyManager.getReceiptForChallengeKey(key));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Boolean generateReceiveAndVerifyConcurrently() {
+        return generateReceiveAndVerify();
+    }
+}
@@ -0,0 +1,72 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dolittle.moose.kubernetes.Annotation;
+import io.dolittle.moose.kubernetes.Annotations;
+import io.dolittle.moose.kubernetes.Labels;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+
+/**
+ * Benchmarks converting Kubernetes resources to the Moose model, which happens for every informer event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KubernetesModelBenchmarks {
+    private ExtensionsV1beta1Ingress _ingress;
+    private Annotations _annotations;
+    private Annotation _present;
+    private Annotation _missing;
+
+    @Setup
+    public void setup() {
+        _ingress = Fixtures.ingress(42, true);
+        _annotations = Annotations.from(_ingress.getMetadata());
+        _present = new Annotation(Fixtures.PING_ANNOTATION, "");
+        _missing = new Annotation("dolittle.io/not-present", "");
+    }
+
+    @Benchmark
+    public Ingress ingressFrom() {
+        return Ingress.from(_ingress);
+    }
+
+    @Benchmark
+    public Annotations annotationsFrom() {
+        return Annotations.from(_ingress.getMetadata());
+    }
+
+    @Benchmark
+    public boolean annotationsContainsPresent() {
+        return _annotations.contains(_present);
+    }
+
+    @Benchmark
+    public boolean annotationsContainsMissing() {
+        return _annotations.contains(_missing);
+    }
+
+    @Benchmark
+    public Labels labelsFrom() {
+        return Labels.from(_ingress.getMetadata());
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dolittle.moose.kubernetes.eventhandlers.ListObservableEventHandler;
+import io.dolittle.moose.kubernetes.ingresses.FilterCreator;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+
+/**
+ * Benchmarks a single add, update and delete event in a {@link ListObservableEventHandler} that already holds a number of resources.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListObservableEventHandlerBenchmarks {
+    @Param({"1000", "10000", "100000"})
+    public int resources;
+
+    private ListObservableEventHandler<ExtensionsV1beta1Ingress, Ingress> _handler;
+    private ExtensionsV1beta1Ingress[] _ingresses;
+    private ExtensionsV1beta1Ingress _extra;
+    private int _next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var filter = new FilterCreator().annotationsFilter(Fixtures.pingIngressProperties().getAnnotation());
+        _handler = new ListObservableEventHandler<>(Ingress::from, filter);
+        _ingresses = new ExtensionsV1beta1Ingress[resources];
+        for (var i = 0; i < resources; i++) {
+            _ingresses[i] = Fixtures.ingress(i, true);
+            _handler.onAdd(_ingresses[i]);
+        }
+        _extra = Fixtures.ingress(resources, true);
+    }
+
+    @Benchmark
+    public void update() {
+        var ingress = _ingresses[_next++ % resources];
+        _handler.onUpdate(ingress, ingress);
+    }
+
+    @Benchmark
+    public void addThenDelete() {
+        _handler.onAdd(_extra);
+        _handler.onDelete(_extra, false);
+    }
+}
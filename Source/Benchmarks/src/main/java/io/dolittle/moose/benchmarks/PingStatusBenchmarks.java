@@ -0,0 +1,82 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dolittle.moose.pinger.component.PingStatus;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.model.PingTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmarks storing ping results in {@link PingStatus} and reading the aggregate status, with a number of hosts already stored.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PingStatusBenchmarks {
+    @Param({"1000", "100000"})
+    public int hosts;
+
+    private PingStatus _pingStatus;
+    private PingResult[] _results;
+    private int _next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var properties = Fixtures.pingerProperties();
+        _pingStatus = new PingStatus(new SimpleMeterRegistry(), properties, new UptimeHistory(properties));
+        _results = new PingResult[hosts * 2];
+        for (var i = 0; i < hosts; i++) {
+            var pingHost = new PingHost();
+            pingHost.setNamespace("namespace-" + (i % Fixtures.NAMESPACES));
+            pingHost.setHost("host-" + i + ".example.dolittle.cloud");
+            pingHost.setPath("/");
+            pingHost.setTls(true);
+            var timings = new PingTimings(null, Duration.ofMillis(3), Duration.ofMillis(12), Duration.ofMillis(40), Duration.ofMillis(60));
+            _results[i * 2] = new PingResult(pingHost, PingOutcome.SUCCESS, timings);
+            _results[i * 2 + 1] = new PingResult(pingHost, i % 10 == 0 ? PingOutcome.BAD_STATUS : PingOutcome.SUCCESS, timings);
+            _pingStatus.updateHostStatus(_results[i * 2]);
+        }
+    }
+
+    @Benchmark
+    public void updateHostStatus() {
+        var index = _next++;
+        _pingStatus.updateHostStatus(_results[Math.floorMod(index, _results.length)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void updateHostStatusConcurrently() {
+        updateHostStatus();
+    }
+
+    @Benchmark
+    public Boolean getStatus() {
+        return _pingStatus.getStatus();
+    }
+}
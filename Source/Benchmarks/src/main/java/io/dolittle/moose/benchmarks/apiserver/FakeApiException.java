@@ -0,0 +1,72 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks.apiserver;
+
+import io.kubernetes.client.openapi.models.V1Status;
+
+/**
+ * Exception that is thrown by the {@link FakeApiServer} when a request fails, and is returned to the client as a {@link V1Status}.
+ */
+public class FakeApiException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final V1Status _status;
+
+    /**
+     * Initializes a new instance of the {@link FakeApiException} class.
+     * @param code The HTTP status code.
+     * @param reason The machine readable reason, e.g. "NotFound".
+     * @param message The human readable message.
+     */
+    public FakeApiException(int code, String reason, String message) {
+        super(message);
+        _status = new V1Status()
+            .apiVersion("v1")
+            .kind("Status")
+            .status("Failure")
+            .code(code)
+            .reason(reason)
+            .message(message);
+    }
+
+    /**
+     * Gets the {@link V1Status} that is returned to the client.
+     * @return The {@link V1Status}.
+     */
+    public V1Status getStatus() {
+        return _status;
+    }
+
+    /**
+     * Gets the HTTP status code that is returned to the client.
+     * @return The HTTP status code.
+     */
+    public int getCode() {
+        return _status.getCode();
+    }
+
+    static FakeApiException notFound(String kind, String name) {
+        return new FakeApiException(404, "NotFound", kind + " \"" + name + "\" not found");
+    }
+
+    static FakeApiException alreadyExists(String kind, String name) {
+        return new FakeApiException(409, "AlreadyExists", kind + " \"" + name + "\" already exists");
+    }
+
+    static FakeApiException conflict(String kind, String name) {
+        return new FakeApiException(409, "Conflict", "Operation cannot be fulfilled on " + kind + " \"" + name + "\": the object has been modified; please apply your changes to the latest version and try again");
+    }
+
+    static FakeApiException invalid(String kind, String message) {
+        return new FakeApiException(422, "Invalid", kind + " is invalid: " + message);
+    }
+
+    static FakeApiException expired(String message) {
+        return new FakeApiException(410, "Expired", message);
+    }
+
+    static FakeApiException unsupported(String method, String path) {
+        return new FakeApiException(405, "MethodNotAllowed", method + " is not supported on " + path);
+    }
+}
@@ -0,0 +1,446 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks.apiserver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1Status;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An in-process stand-in for the Kubernetes Api Server endpoints that Moose uses, served over HTTP on the loopback interface.
+ * Supports list (with limit and continue), watch (with resource versions and bookmarks), create, read, replace and delete of extensions/v1beta1 Ingresses, core/v1 Services and core/v1 Namespaces.
+ * Label selectors are supported, field selectors are ignored, and everything is sent as JSON.
+ * To make benchmarks reproducible under realistic conditions, it can add latency to every request, continuously change resources, and disconnect the open watches.
+ */
+@Slf4j
+public class FakeApiServer implements Closeable {
+    static final String ADDED = "ADDED";
+    static final String MODIFIED = "MODIFIED";
+    static final String DELETED = "DELETED";
+    static final String BOOKMARK = "BOOKMARK";
+    static final String ERROR = "ERROR";
+    static final String CHURN_ANNOTATION = "dolittle.io/fake-churn";
+    static final Duration BOOKMARK_INTERVAL = Duration.ofSeconds(10);
+    static final Duration DEFAULT_WATCH_TIMEOUT = Duration.ofMinutes(30);
+
+    private final JSON _json = new JSON();
+    private final AtomicLong _resourceVersions = new AtomicLong();
+    private final FakeResourceStore<ExtensionsV1beta1Ingress> _ingresses = new FakeResourceStore<>("extensions/v1beta1", "Ingress", true, ExtensionsV1beta1Ingress.class, ExtensionsV1beta1Ingress::getMetadata, _resourceVersions, _json);
+    private final FakeResourceStore<V1Service> _services = new FakeResourceStore<>("v1", "Service", true, V1Service.class, V1Service::getMetadata, _resourceVersions, _json);
+    private final FakeResourceStore<V1Namespace> _namespaces = new FakeResourceStore<>("v1", "Namespace", false, V1Namespace.class, V1Namespace::getMetadata, _resourceVersions, _json);
+    private final Map<String, FakeResourceStore<?>> _stores = Map.of(
+        "/apis/extensions/v1beta1/ingresses", _ingresses,
+        "/api/v1/services", _services,
+        "/api/v1/namespaces", _namespaces);
+    private final ExecutorService _executor = Executors.newCachedThreadPool(daemon("fake-api-server"));
+    private final ScheduledExecutorService _scheduler = Executors.newSingleThreadScheduledExecutor(daemon("fake-api-server-chaos"));
+    private final Random _random = new Random(0);
+    private final HttpServer _server;
+    private volatile Duration _latency = Duration.ZERO;
+    private ScheduledFuture<?> _churn;
+    private ScheduledFuture<?> _disconnects;
+
+    /**
+     * Initializes a new instance of the {@link FakeApiServer} class, and starts listening on a free port on the loopback interface.
+     * @throws IOException If the server could not be started.
+     */
+    public FakeApiServer() throws IOException {
+        _server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        _server.setExecutor(_executor);
+        _server.createContext("/", this::handle);
+        _server.start();
+        log.info("Fake Api Server listening on {}", getUrl());
+    }
+
+    /**
+     * Gets the URL the server is listening on.
+     * @return The base URL, e.g. "http://127.0.0.1:54321".
+     */
+    public String getUrl() {
+        return "http://" + _server.getAddress().getHostString() + ":" + _server.getAddress().getPort();
+    }
+
+    /**
+     * Creates an {@link ApiClient} that sends requests to this server.
+     * The read timeout is disabled, since watches can be open for a long time without events.
+     * @return The {@link ApiClient}.
+     */
+    public ApiClient createClient() {
+        var client = new ApiClient().setBasePath(getUrl());
+        client.setHttpClient(client.getHttpClient().newBuilder().readTimeout(0, TimeUnit.SECONDS).build());
+        return client;
+    }
+
+    /**
+     * Gets the store of extensions/v1beta1 Ingresses.
+     * @return The {@link FakeResourceStore} of Ingresses.
+     */
+    public FakeResourceStore<ExtensionsV1beta1Ingress> getIngresses() {
+        return _ingresses;
+    }
+
+    /**
+     * Gets the store of core/v1 Services.
+     * @return The {@link FakeResourceStore} of Services.
+     */
+    public FakeResourceStore<V1Service> getServices() {
+        return _services;
+    }
+
+    /**
+     * Gets the store of core/v1 Namespaces.
+     * @return The {@link FakeResourceStore} of Namespaces.
+     */
+    public FakeResourceStore<V1Namespace> getNamespaces() {
+        return _namespaces;
+    }
+
+    /**
+     * Sets the latency that is added before every request is handled.
+     * @param latency The latency to add, or {@link Duration#ZERO} for none.
+     */
+    public void setLatency(Duration latency) {
+        _latency = latency;
+    }
+
+    /**
+     * Starts changing random resources in a store at a steady rate, replacing the previous churn if it was started.
+     * Every tenth change deletes the resource and adds it back, the others change an annotation.
+     * @param store The {@link FakeResourceStore} to change resources in.
+     * @param changesPerSecond The number of changes per second, or 0 to stop changing resources.
+     */
+    public synchronized void startChurn(FakeResourceStore<?> store, int changesPerSecond) {
+        if (_churn != null) {
+            _churn.cancel(false);
+            _churn = null;
+        }
+        if (changesPerSecond <= 0) {
+            return;
+        }
+        var keys = store.keys();
+        if (keys.isEmpty()) {
+            return;
+        }
+        var ticksPerSecond = 100;
+        var budget = new double[1];
+        var changes = new long[1];
+        _churn = _scheduler.scheduleAtFixedRate(() -> {
+            budget[0] += (double) changesPerSecond / ticksPerSecond;
+            while (budget[0] >= 1) {
+                budget[0]--;
+                churn(store, keys.get(_random.nextInt(keys.size())), changes[0]++);
+            }
+        }, 0, 1000 / ticksPerSecond, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Disconnects all the open watches, as if the connections to the Api Server were dropped.
+     */
+    public void disconnectWatches() {
+        for (var store : _stores.values()) {
+            store.disconnectWatchers();
+        }
+    }
+
+    /**
+     * Starts disconnecting all the open watches periodically, replacing the previous period if it was started.
+     * @param period The time between disconnects, or {@link Duration#ZERO} to stop disconnecting.
+     */
+    public synchronized void disconnectWatchesEvery(Duration period) {
+        if (_disconnects != null) {
+            _disconnects.cancel(false);
+            _disconnects = null;
+        }
+        if (period.isZero() || period.isNegative()) {
+            return;
+        }
+        _disconnects = _scheduler.scheduleAtFixedRate(this::disconnectWatches, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        _scheduler.shutdownNow();
+        disconnectWatches();
+        _server.stop(0);
+        _executor.shutdownNow();
+    }
+
+    private <ApiType> void churn(FakeResourceStore<ApiType> store, String key, long change) {
+        var separator = key.indexOf('/');
+        var namespace = separator < 0 ? null : key.substring(0, separator);
+        var name = key.substring(separator + 1);
+        if (change % 10 == 9) {
+            var deleted = store.delete(namespace, name);
+            if (deleted != null) {
+                store.metadata(deleted).resourceVersion(null);
+                store.put(deleted);
+            }
+            return;
+        }
+        store.update(namespace, name, resource -> {
+            store.metadata(resource).putAnnotationsItem(CHURN_ANNOTATION, Long.toString(change));
+            return resource;
+        });
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            var latency = _latency;
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            route(exchange);
+        } catch (FakeApiException e) {
+            respond(exchange, e.getCode(), e.getStatus());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Fake Api Server failed to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            respond(exchange, 500, new FakeApiException(500, "InternalError", e.toString()).getStatus());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException, FakeApiException, InterruptedException {
+        var path = exchange.getRequestURI().getPath();
+        var group = path.startsWith("/apis/extensions/v1beta1/") ? "/apis/extensions/v1beta1" : path.startsWith("/api/v1/") ? "/api/v1" : null;
+        if (group == null) {
+            throw new FakeApiException(404, "NotFound", "the server could not find the requested resource");
+        }
+        var segments = path.substring(group.length() + 1).split("/");
+        String namespace = null;
+        String plural = segments[0];
+        String name = segments.length > 1 ? segments[1] : null;
+        if (segments.length >= 3 && "namespaces".equals(segments[0])) {
+            namespace = segments[1];
+            plural = segments[2];
+            name = segments.length > 3 ? segments[3] : null;
+        }
+        var store = _stores.get(group + "/" + plural);
+        if (store == null || segments.length > 4 || (namespace != null && !store.isNamespaced())) {
+            throw new FakeApiException(404, "NotFound", "the server could not find the requested resource");
+        }
+        handle(exchange, store, namespace, name, query(exchange));
+    }
+
+    private <ApiType> void handle(HttpExchange exchange, FakeResourceStore<ApiType> store, String namespace, String name, Map<String, String> query) throws IOException, FakeApiException, InterruptedException {
+        var method = exchange.getRequestMethod();
+        if (name == null && "GET".equals(method)) {
+            var selector = labelSelector(store, query.get("labelSelector"));
+            if ("true".equals(query.get("watch")) || "1".equals(query.get("watch"))) {
+                watch(exchange, store, namespace, selector, query);
+            } else {
+                list(exchange, store, namespace, selector, query);
+            }
+        } else if (name == null && "POST".equals(method)) {
+            respond(exchange, 201, store.create(namespace, read(exchange, store)));
+        } else if (name != null && "GET".equals(method)) {
+            var resource = store.get(namespace, name);
+            if (resource == null) {
+                throw FakeApiException.notFound(store.getKind(), name);
+            }
+            respond(exchange, 200, resource);
+        } else if (name != null && "PUT".equals(method)) {
+            respond(exchange, 200, store.replace(namespace, name, read(exchange, store)));
+        } else if (name != null && "DELETE".equals(method)) {
+            if (store.delete(namespace, name) == null) {
+                throw FakeApiException.notFound(store.getKind(), name);
+            }
+            respond(exchange, 200, new V1Status().apiVersion("v1").kind("Status").status("Success"));
+        } else {
+            throw FakeApiException.unsupported(method, exchange.getRequestURI().getPath());
+        }
+    }
+
+    private <ApiType> void list(HttpExchange exchange, FakeResourceStore<ApiType> store, String namespace, Predicate<ApiType> selector, Map<String, String> query) throws IOException, FakeApiException {
+        var limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : 0;
+        var page = store.list(namespace, selector, limit, query.get("continue"));
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        var writer = new JsonWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        writer.beginObject();
+        writer.name("apiVersion").value(store.getApiVersion());
+        writer.name("kind").value(store.getKind() + "List");
+        writer.name("metadata").beginObject();
+        writer.name("resourceVersion").value(page.getResourceVersion());
+        if (page.getContinueToken() != null) {
+            writer.name("continue").value(page.getContinueToken());
+        }
+        writer.endObject();
+        writer.name("items").beginArray();
+        for (var item : page.getItems()) {
+            _json.getGson().toJson(item, store.getType(), writer);
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    private <ApiType> void watch(HttpExchange exchange, FakeResourceStore<ApiType> store, String namespace, Predicate<ApiType> selector, Map<String, String> query) throws IOException, InterruptedException {
+        var timeout = query.containsKey("timeoutSeconds") ? Duration.ofSeconds(Long.parseLong(query.get("timeoutSeconds"))) : DEFAULT_WATCH_TIMEOUT;
+        var bookmarks = "true".equals(query.get("allowWatchBookmarks"));
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        var output = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8);
+
+        FakeResourceStore.Watcher<ApiType> watcher;
+        try {
+            watcher = store.watch(namespace, selector, query.get("resourceVersion"));
+        } catch (FakeApiException e) {
+            writeEvent(output, ERROR, writer -> _json.getGson().toJson(e.getStatus(), V1Status.class, writer));
+            return;
+        }
+        try {
+            var deadline = System.nanoTime() + timeout.toNanos();
+            while (true) {
+                var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                var event = watcher.getEvents().poll(Math.min(remaining, BOOKMARK_INTERVAL.toNanos()), TimeUnit.NANOSECONDS);
+                if (event == FakeResourceStore.Watcher.DISCONNECT) {
+                    break;
+                }
+                if (event == null) {
+                    if (bookmarks) {
+                        writeBookmark(output, store);
+                    }
+                    continue;
+                }
+                var resource = event.getResource();
+                writeEvent(output, event.getType(), writer -> _json.getGson().toJson(resource, store.getType(), writer));
+            }
+        } catch (IOException e) {
+            log.debug("Watch connection was closed by the client");
+        } finally {
+            store.unwatch(watcher);
+        }
+    }
+
+    private void writeBookmark(OutputStreamWriter output, FakeResourceStore<?> store) throws IOException {
+        writeEvent(output, BOOKMARK, writer -> writer
+            .beginObject()
+            .name("apiVersion").value(store.getApiVersion())
+            .name("kind").value(store.getKind())
+            .name("metadata").beginObject().name("resourceVersion").value(store.currentResourceVersion()).endObject()
+            .endObject());
+    }
+
+    private void writeEvent(OutputStreamWriter output, String type, ObjectWriter object) throws IOException {
+        var writer = new JsonWriter(output);
+        writer.beginObject();
+        writer.name("type").value(type);
+        writer.name("object");
+        object.write(writer);
+        writer.endObject();
+        writer.flush();
+        output.write('\n');
+        output.flush();
+    }
+
+    private <ApiType> ApiType read(HttpExchange exchange, FakeResourceStore<ApiType> store) throws FakeApiException {
+        try {
+            ApiType resource = _json.getGson().fromJson(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), store.getType());
+            if (resource == null || store.metadata(resource) == null) {
+                throw FakeApiException.invalid(store.getKind(), "metadata: Required value");
+            }
+            return resource;
+        } catch (RuntimeException e) {
+            throw new FakeApiException(400, "BadRequest", "the request body could not be decoded: " + e.getMessage());
+        }
+    }
+
+    private void respond(HttpExchange exchange, int code, Object body) throws IOException {
+        var bytes = _json.serialize(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        var query = new HashMap<String, String>();
+        var raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (var parameter : raw.split("&")) {
+            var separator = parameter.indexOf('=');
+            var key = URLDecoder.decode(separator < 0 ? parameter : parameter.substring(0, separator), StandardCharsets.UTF_8);
+            var value = separator < 0 ? "" : URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static <ApiType> Predicate<ApiType> labelSelector(FakeResourceStore<ApiType> store, String selector) {
+        Predicate<ApiType> result = resource -> true;
+        if (selector == null || selector.isBlank()) {
+            return result;
+        }
+        for (var requirement : selector.split(",")) {
+            Predicate<Map<String, String>> matches;
+            if (requirement.contains("!=")) {
+                var parts = requirement.split("!=", 2);
+                matches = labels -> !parts[1].trim().equals(labels.get(parts[0].trim()));
+            } else if (requirement.contains("=")) {
+                var parts = requirement.split("==?", 2);
+                matches = labels -> parts[1].trim().equals(labels.get(parts[0].trim()));
+            } else if (requirement.trim().startsWith("!")) {
+                var key = requirement.trim().substring(1);
+                matches = labels -> !labels.containsKey(key);
+            } else {
+                var key = requirement.trim();
+                matches = labels -> labels.containsKey(key);
+            }
+            result = result.and(resource -> {
+                var labels = store.metadata(resource).getLabels();
+                return matches.test(labels == null ? Map.of() : labels);
+            });
+        }
+        return result;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            var thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    private interface ObjectWriter {
+        void write(JsonWriter writer) throws IOException;
+    }
+}
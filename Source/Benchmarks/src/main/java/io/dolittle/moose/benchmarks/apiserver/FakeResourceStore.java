@@ -0,0 +1,385 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.benchmarks.apiserver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.joda.time.DateTime;
+
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+/**
+ * Stores the resources of one kind in the {@link FakeApiServer}, and keeps a bounded history of the changes to them so that watches can resume from a resource version.
+ * Stored resources are never changed, every change replaces the resource with a copy.
+ * @param <ApiType> The type of resources that are stored.
+ */
+public class FakeResourceStore<ApiType> {
+    static final int DEFAULT_HISTORY = 10000;
+
+    private final String _apiVersion;
+    private final String _kind;
+    private final boolean _namespaced;
+    private final Class<ApiType> _type;
+    private final Function<ApiType, V1ObjectMeta> _metadata;
+    private final AtomicLong _resourceVersions;
+    private final JSON _json;
+    private final NavigableMap<String, ApiType> _resources = new TreeMap<>();
+    private final Deque<Event<ApiType>> _history = new ArrayDeque<>();
+    private final List<Watcher<ApiType>> _watchers = new CopyOnWriteArrayList<>();
+    private int _maxHistory = DEFAULT_HISTORY;
+    private long _compacted;
+
+    /**
+     * Initializes a new instance of the {@link FakeResourceStore} class.
+     * @param apiVersion The api version of the resources, e.g. "extensions/v1beta1".
+     * @param kind The kind of the resources, e.g. "Ingress".
+     * @param namespaced Whether the resources are in namespaces.
+     * @param type The {@link Class} of the resources.
+     * @param metadata A {@link Function} that gets the metadata of a resource.
+     * @param resourceVersions The {@link AtomicLong} that resource versions are taken from, shared by all stores in the server.
+     * @param json The {@link JSON} used to copy resources.
+     */
+    FakeResourceStore(String apiVersion, String kind, boolean namespaced, Class<ApiType> type, Function<ApiType, V1ObjectMeta> metadata, AtomicLong resourceVersions, JSON json) {
+        _apiVersion = apiVersion;
+        _kind = kind;
+        _namespaced = namespaced;
+        _type = type;
+        _metadata = metadata;
+        _resourceVersions = resourceVersions;
+        _json = json;
+    }
+
+    /**
+     * Adds a resource to the store, or replaces it if it already exists, without checking its resource version.
+     * Used to generate the resources before a benchmark, and to simulate changes made by other clients.
+     * @param resource The resource to add.
+     */
+    public synchronized void put(ApiType resource) {
+        var metadata = _metadata.apply(resource);
+        var existing = _resources.get(key(metadata.getNamespace(), metadata.getName()));
+        if (existing == null) {
+            stamp(metadata);
+            store(FakeApiServer.ADDED, resource);
+        } else {
+            metadata.uid(_metadata.apply(existing).getUid()).creationTimestamp(_metadata.apply(existing).getCreationTimestamp());
+            store(FakeApiServer.MODIFIED, resource);
+        }
+    }
+
+    /**
+     * Changes a resource in the store, by replacing it with a changed copy.
+     * @param namespace The namespace of the resource, or null if the resources are not in namespaces.
+     * @param name The name of the resource.
+     * @param change The {@link UnaryOperator} that changes the copy of the resource.
+     * @return {@literal true} if the resource existed, {@literal false} if not.
+     */
+    public synchronized boolean update(String namespace, String name, UnaryOperator<ApiType> change) {
+        var existing = _resources.get(key(namespace, name));
+        if (existing == null) {
+            return false;
+        }
+        store(FakeApiServer.MODIFIED, change.apply(copy(existing)));
+        return true;
+    }
+
+    /**
+     * Deletes a resource from the store.
+     * @param namespace The namespace of the resource, or null if the resources are not in namespaces.
+     * @param name The name of the resource.
+     * @return The deleted resource, or null if it did not exist.
+     */
+    public synchronized ApiType delete(String namespace, String name) {
+        var existing = _resources.remove(key(namespace, name));
+        if (existing == null) {
+            return null;
+        }
+        var deleted = copy(existing);
+        _metadata.apply(deleted).resourceVersion(Long.toString(_resourceVersions.incrementAndGet()));
+        publish(FakeApiServer.DELETED, deleted);
+        return deleted;
+    }
+
+    /**
+     * Gets a resource from the store.
+     * @param namespace The namespace of the resource, or null if the resources are not in namespaces.
+     * @param name The name of the resource.
+     * @return The resource, or null if it does not exist.
+     */
+    public synchronized ApiType get(String namespace, String name) {
+        return _resources.get(key(namespace, name));
+    }
+
+    /**
+     * Gets the number of resources in the store.
+     * @return The number of resources.
+     */
+    public synchronized int size() {
+        return _resources.size();
+    }
+
+    /**
+     * Gets the keys of all the resources in the store, as "namespace/name" or "name".
+     * @return The keys of the resources.
+     */
+    public synchronized List<String> keys() {
+        return new ArrayList<>(_resources.keySet());
+    }
+
+    /**
+     * Sets how many changes are kept so that watches can resume from a resource version.
+     * Watches and list continue tokens from before the oldest kept change fail with 410 Gone.
+     * @param maxHistory The number of changes to keep.
+     */
+    public synchronized void setMaxHistory(int maxHistory) {
+        _maxHistory = maxHistory;
+        trimHistory();
+    }
+
+    /**
+     * Forgets all the changes that have been made, so that watches and list continue tokens from before now fail with 410 Gone.
+     */
+    public synchronized void compact() {
+        _compacted = _resourceVersions.get();
+        _history.clear();
+    }
+
+    String getApiVersion() {
+        return _apiVersion;
+    }
+
+    String getKind() {
+        return _kind;
+    }
+
+    boolean isNamespaced() {
+        return _namespaced;
+    }
+
+    Class<ApiType> getType() {
+        return _type;
+    }
+
+    V1ObjectMeta metadata(ApiType resource) {
+        return _metadata.apply(resource);
+    }
+
+    synchronized ApiType create(String namespace, ApiType resource) throws FakeApiException {
+        var metadata = _metadata.apply(resource);
+        metadata.namespace(_namespaced ? namespace : null);
+        if (metadata.getName() == null || metadata.getName().isEmpty()) {
+            throw FakeApiException.invalid(_kind, "metadata.name: Required value");
+        }
+        if (_resources.containsKey(key(namespace, metadata.getName()))) {
+            throw FakeApiException.alreadyExists(_kind, metadata.getName());
+        }
+        stamp(metadata);
+        store(FakeApiServer.ADDED, resource);
+        return resource;
+    }
+
+    synchronized ApiType replace(String namespace, String name, ApiType resource) throws FakeApiException {
+        var existing = _resources.get(key(namespace, name));
+        if (existing == null) {
+            throw FakeApiException.notFound(_kind, name);
+        }
+        var metadata = _metadata.apply(resource);
+        var existingMetadata = _metadata.apply(existing);
+        if (metadata.getResourceVersion() != null && !metadata.getResourceVersion().equals(existingMetadata.getResourceVersion())) {
+            throw FakeApiException.conflict(_kind, name);
+        }
+        metadata.namespace(_namespaced ? namespace : null).name(name).uid(existingMetadata.getUid()).creationTimestamp(existingMetadata.getCreationTimestamp());
+        store(FakeApiServer.MODIFIED, resource);
+        return resource;
+    }
+
+    synchronized Page<ApiType> list(String namespace, Predicate<ApiType> selector, int limit, String continueToken) throws FakeApiException {
+        var resourceVersion = _resourceVersions.get();
+        var after = _namespaced && namespace != null ? namespace + "/" : "";
+        var inclusive = true;
+        if (continueToken != null) {
+            var separator = continueToken.indexOf(':');
+            resourceVersion = Long.parseLong(continueToken.substring(0, separator));
+            if (resourceVersion < _compacted) {
+                throw FakeApiException.expired("The provided continue parameter is too old");
+            }
+            after = continueToken.substring(separator + 1);
+            inclusive = false;
+        }
+        var items = new ArrayList<ApiType>();
+        String last = null;
+        for (Map.Entry<String, ApiType> entry : _resources.tailMap(after, inclusive).entrySet()) {
+            if (namespace != null && _namespaced && !entry.getKey().startsWith(namespace + "/")) {
+                break;
+            }
+            if (limit > 0 && items.size() == limit) {
+                return new Page<>(Long.toString(resourceVersion), items, resourceVersion + ":" + last);
+            }
+            if (selector.test(entry.getValue())) {
+                items.add(entry.getValue());
+                last = entry.getKey();
+            }
+        }
+        return new Page<>(Long.toString(resourceVersion), items, null);
+    }
+
+    synchronized Watcher<ApiType> watch(String namespace, Predicate<ApiType> selector, String resourceVersion) throws FakeApiException {
+        var watcher = new Watcher<ApiType>(resource -> (namespace == null || namespace.equals(_metadata.apply(resource).getNamespace())) && selector.test(resource));
+        if (resourceVersion == null || resourceVersion.isEmpty() || "0".equals(resourceVersion)) {
+            for (var resource : _resources.values()) {
+                watcher.offer(new Event<>(FakeApiServer.ADDED, resource));
+            }
+        } else {
+            var from = Long.parseLong(resourceVersion);
+            if (from < _compacted) {
+                throw FakeApiException.expired("too old resource version: " + from + " (" + _compacted + ")");
+            }
+            for (var event : _history) {
+                if (Long.parseLong(_metadata.apply(event.getResource()).getResourceVersion()) > from) {
+                    watcher.offer(event);
+                }
+            }
+        }
+        _watchers.add(watcher);
+        return watcher;
+    }
+
+    void unwatch(Watcher<ApiType> watcher) {
+        _watchers.remove(watcher);
+    }
+
+    void disconnectWatchers() {
+        for (var watcher : _watchers) {
+            watcher.disconnect();
+        }
+    }
+
+    synchronized String currentResourceVersion() {
+        return Long.toString(_resourceVersions.get());
+    }
+
+    private void stamp(V1ObjectMeta metadata) {
+        metadata.uid(UUID.randomUUID().toString()).creationTimestamp(DateTime.now());
+    }
+
+    private void store(String type, ApiType resource) {
+        var metadata = _metadata.apply(resource);
+        metadata.resourceVersion(Long.toString(_resourceVersions.incrementAndGet()));
+        _resources.put(key(metadata.getNamespace(), metadata.getName()), resource);
+        publish(type, resource);
+    }
+
+    private void publish(String type, ApiType resource) {
+        var event = new Event<>(type, resource);
+        _history.addLast(event);
+        trimHistory();
+        for (var watcher : _watchers) {
+            watcher.offer(event);
+        }
+    }
+
+    private void trimHistory() {
+        while (_history.size() > _maxHistory) {
+            _compacted = Long.parseLong(_metadata.apply(_history.removeFirst().getResource()).getResourceVersion());
+        }
+    }
+
+    private ApiType copy(ApiType resource) {
+        return _json.deserialize(_json.serialize(resource), _type);
+    }
+
+    private String key(String namespace, String name) {
+        return _namespaced ? namespace + "/" + name : name;
+    }
+
+    /**
+     * Represents a change to a resource, as it is sent to watches.
+     */
+    static class Event<ApiType> {
+        private final String _type;
+        private final ApiType _resource;
+
+        Event(String type, ApiType resource) {
+            _type = type;
+            _resource = resource;
+        }
+
+        String getType() {
+            return _type;
+        }
+
+        ApiType getResource() {
+            return _resource;
+        }
+    }
+
+    /**
+     * Represents a page of resources returned from a list.
+     */
+    static class Page<ApiType> {
+        private final String _resourceVersion;
+        private final List<ApiType> _items;
+        private final String _continueToken;
+
+        Page(String resourceVersion, List<ApiType> items, String continueToken) {
+            _resourceVersion = resourceVersion;
+            _items = items;
+            _continueToken = continueToken;
+        }
+
+        String getResourceVersion() {
+            return _resourceVersion;
+        }
+
+        List<ApiType> getItems() {
+            return _items;
+        }
+
+        String getContinueToken() {
+            return _continueToken;
+        }
+    }
+
+    /**
+     * Represents an open watch, that receives the changes to the resources it selects until it is disconnected.
+     */
+    static class Watcher<ApiType> {
+        static final Event<?> DISCONNECT = new Event<>(null, null);
+
+        private final Predicate<ApiType> _selector;
+        private final BlockingQueue<Event<?>> _events = new LinkedBlockingQueue<>();
+
+        Watcher(Predicate<ApiType> selector) {
+            _selector = selector;
+        }
+
+        BlockingQueue<Event<?>> getEvents() {
+            return _events;
+        }
+
+        void offer(Event<ApiType> event) {
+            if (_selector.test(event.getResource())) {
+                _events.offer(event);
+            }
+        }
+
+        void disconnect() {
+            _events.offer(DISCONNECT);
+        }
+    }
+}
@@ -3,20 +3,25 @@
 
 package io.dolittle.moose.kubernetes;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 
 /**
- * Represents a set of Annotations on a Kubernetes Resource
+ * Represents a set of Annotations on a Kubernetes Resource.
+ * The entries are stored as parallel arrays of keys and values sorted by key, so creating and searching small sets allocates very little.
  */
 public class Annotations {
-    private final Map<String,Annotation> _entries;
+    private static final Annotations EMPTY = new Annotations(SortedEntries.NONE, SortedEntries.NONE);
 
-    private Annotations(Map<String,Annotation> entries) {
-        _entries = entries;
+    private final String[] _keys;
+    private final String[] _values;
+
+    private Annotations(String[] keys, String[] values) {
+        _keys = keys;
+        _values = values;
     }
 
     /**
@@ -24,7 +29,7 @@ public class Annotations {
      * @return An {@link Iterable} of type {@link Annotation}.
      */
     public Iterable<Annotation> getEntries() {
-        return _entries.values();
+        return SortedEntries.entries(_keys, _values, Annotation::new);
     }
 
     /**
@@ -34,7 +39,8 @@ public class Annotations {
      */
     public boolean contains(Annotation... annotations) {
         for (var annotation : annotations) {
-            if (!_entries.containsKey(annotation.getKey()) || !_entries.get(annotation.getKey()).equals(annotation)) {
+            var index = SortedEntries.indexOf(_keys, annotation.getKey());
+            if (index < 0 || !Objects.equals(_values[index], annotation.getValue())) {
                 return false;
             }
         }
@@ -51,14 +57,22 @@ public class Annotations {
         if (annotations.length == 0) {
             return this;
         }
-        var map = new HashMap<>(_entries);
+        var keys = Arrays.copyOf(_keys, _keys.length + annotations.length);
+        var values = Arrays.copyOf(_values, _values.length + annotations.length);
+        var count = _keys.length;
         for (var annotation : annotations) {
-            if (map.containsKey(annotation.getKey())) {
-                throw new AnnotationsAlreadyContainAnnotationWithKey(map.get(annotation.getKey()), annotation);
+            var index = Arrays.binarySearch(keys, 0, count, annotation.getKey());
+            if (index >= 0) {
+                throw new AnnotationsAlreadyContainAnnotationWithKey(new Annotation(keys[index], values[index]), annotation);
             }
-            map.put(annotation.getKey(), annotation);
+            var insert = -index - 1;
+            System.arraycopy(keys, insert, keys, insert + 1, count - insert);
+            System.arraycopy(values, insert, values, insert + 1, count - insert);
+            keys[insert] = annotation.getKey();
+            values[insert] = annotation.getValue();
+            count++;
         }
-        return new Annotations(map);
+        return new Annotations(keys, values);
     }
 
     /**
@@ -77,10 +91,20 @@ public class Annotations {
      * @return A {@link Map} of type ({@link String},{@link String}) containing the annotation (key,value) pairs.
      */
     public Map<String, String> toKubernetes() {
-        return _entries.values().stream().collect(
-            Collectors.toMap(
-                (annotation) -> annotation.getKey(),
-                (annotation) -> annotation.getValue()));
+        return SortedEntries.toMap(_keys, _values);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Annotations)) return false;
+        var other = (Annotations) obj;
+        return Arrays.equals(_keys, other._keys) && Arrays.equals(_values, other._values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(_keys) + Arrays.hashCode(_values);
     }
 
     /**
@@ -88,7 +112,7 @@ public class Annotations {
      * @return An {@link Annotations}.
      */
     public static Annotations empty() {
-        return new Annotations(new HashMap<>());
+        return EMPTY;
     }
 
     /**
@@ -97,10 +121,11 @@ public class Annotations {
      * @return An {@link Annotations}.
      */
     public static Annotations from(V1ObjectMeta meta) {
-        if (meta == null || meta.getAnnotations() == null) return empty();
-        return new Annotations(meta.getAnnotations().entrySet().stream().collect(
-            Collectors.toMap(
-                (entry) -> entry.getKey(),
-                (entry) -> new Annotation(entry.getKey(), entry.getValue()))));
+        if (meta == null || meta.getAnnotations() == null || meta.getAnnotations().isEmpty()) return empty();
+        var annotations = meta.getAnnotations();
+        var keys = new String[annotations.size()];
+        var values = new String[annotations.size()];
+        SortedEntries.copySorted(annotations, keys, values);
+        return new Annotations(keys, values);
     }
-}
\ No newline at end of file
+}
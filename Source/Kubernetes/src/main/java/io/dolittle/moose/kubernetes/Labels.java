@@ -3,20 +3,24 @@
 
 package io.dolittle.moose.kubernetes;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 
 /**
- * Represents a set of Labels on a Kubernetes Resource
+ * Represents a set of Labels on a Kubernetes Resource.
+ * The entries are stored as parallel arrays of keys and values sorted by key, so creating and searching small sets allocates very little.
  */
 public class Labels {
-    private final Map<String,Label> _entries;
+    private static final Labels EMPTY = new Labels(SortedEntries.NONE, SortedEntries.NONE);
 
-    private Labels(Map<String,Label> entries) {
-        _entries = entries;
+    private final String[] _keys;
+    private final String[] _values;
+
+    private Labels(String[] keys, String[] values) {
+        _keys = keys;
+        _values = values;
     }
 
     /**
@@ -24,7 +28,7 @@ public class Labels {
      * @return An {@link Iterable} of type {@link Label}.
      */
     public Iterable<Label> getEntries() {
-        return _entries.values();
+        return SortedEntries.entries(_keys, _values, Label::new);
     }
 
     /**
@@ -37,14 +41,22 @@ public class Labels {
         if (labels.length == 0) {
             return this;
         }
-        var map = new HashMap<>(_entries);
+        var keys = Arrays.copyOf(_keys, _keys.length + labels.length);
+        var values = Arrays.copyOf(_values, _values.length + labels.length);
+        var count = _keys.length;
         for (var label : labels) {
-            if (map.containsKey(label.getKey())) {
-                throw new LabelsAlreadyContainLabelWithKey(map.get(label.getKey()), label);
+            var index = Arrays.binarySearch(keys, 0, count, label.getKey());
+            if (index >= 0) {
+                throw new LabelsAlreadyContainLabelWithKey(new Label(keys[index], values[index]), label);
             }
-            map.put(label.getKey(), label);
+            var insert = -index - 1;
+            System.arraycopy(keys, insert, keys, insert + 1, count - insert);
+            System.arraycopy(values, insert, values, insert + 1, count - insert);
+            keys[insert] = label.getKey();
+            values[insert] = label.getValue();
+            count++;
         }
-        return new Labels(map);
+        return new Labels(keys, values);
     }
 
     /**
@@ -58,12 +70,25 @@ public class Labels {
         return with(new Label(key, value));
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Labels)) return false;
+        var other = (Labels) obj;
+        return Arrays.equals(_keys, other._keys) && Arrays.equals(_values, other._values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(_keys) + Arrays.hashCode(_values);
+    }
+
     /**
      * Creates an empty set of labels.
      * @return A {@link Labels}.
      */
     public static Labels empty() {
-        return new Labels(new HashMap<>());
+        return EMPTY;
     }
 
     /**
@@ -71,10 +96,7 @@ public class Labels {
      * @return A {@link Map} of type ({@link String},{@link String}) containing the label (key,value) pairs.
      */
     public Map<String, String> toKubernetes() {
-        return _entries.values().stream().collect(
-            Collectors.toMap(
-                (label) -> label.getKey(),
-                (label) -> label.getValue()));
+        return SortedEntries.toMap(_keys, _values);
     }
 
     /**
@@ -83,10 +105,11 @@ public class Labels {
      * @return A {@link Labels}.
      */
     public static Labels from(V1ObjectMeta meta) {
-        if (meta == null || meta.getLabels() == null) return empty();
-        return new Labels(meta.getLabels().entrySet().stream().collect(
-            Collectors.toMap(
-                (entry) -> entry.getKey(),
-                (entry) -> new Label(entry.getKey(), entry.getValue()))));
+        if (meta == null || meta.getLabels() == null || meta.getLabels().isEmpty()) return empty();
+        var labels = meta.getLabels();
+        var keys = new String[labels.size()];
+        var values = new String[labels.size()];
+        SortedEntries.copySorted(labels, keys, values);
+        return new Labels(keys, values);
     }
-}
\ No newline at end of file
+}
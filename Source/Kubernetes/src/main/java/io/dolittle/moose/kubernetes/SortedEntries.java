@@ -0,0 +1,92 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * Helpers for sets of key-value entries that are stored as parallel arrays sorted by key.
+ * Resources typically have less than ten labels and annotations, so the arrays are smaller and faster to search than a {@link HashMap}.
+ */
+final class SortedEntries {
+    static final String[] NONE = new String[0];
+
+    private SortedEntries() {
+    }
+
+    /**
+     * Copies the entries of a {@link Map} into the given arrays, sorted by key.
+     */
+    static void copySorted(Map<String, String> map, String[] keys, String[] values) {
+        var count = 0;
+        for (var entry : map.entrySet()) {
+            var key = entry.getKey();
+            var value = entry.getValue();
+            // Insertion sort, the entries are few and usually already in order
+            var index = count++;
+            while (index > 0 && keys[index - 1].compareTo(key) > 0) {
+                keys[index] = keys[index - 1];
+                values[index] = values[index - 1];
+                index--;
+            }
+            keys[index] = key;
+            values[index] = value;
+        }
+    }
+
+    /**
+     * Finds the index of a key, or a negative number if the key is not present.
+     */
+    static int indexOf(String[] keys, String key) {
+        if (keys.length <= 8) {
+            for (var i = 0; i < keys.length; i++) {
+                if (keys[i] == key || keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        return Arrays.binarySearch(keys, key);
+    }
+
+    /**
+     * Creates a {@link Map} of the entries.
+     */
+    static Map<String, String> toMap(String[] keys, String[] values) {
+        var map = new HashMap<String, String>(keys.length * 4 / 3 + 1);
+        for (var i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Creates an {@link Iterable} that creates an entry object for every key-value pair when it is iterated.
+     */
+    static <T> Iterable<T> entries(String[] keys, String[] values, BiFunction<String, String, T> factory) {
+        return () -> new Iterator<T>() {
+            private int _index;
+
+            @Override
+            public boolean hasNext() {
+                return _index < keys.length;
+            }
+
+            @Override
+            public T next() {
+                if (_index >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+                var entry = factory.apply(keys[_index], values[_index]);
+                _index++;
+                return entry;
+            }
+        };
+    }
+}
@@ -0,0 +1,350 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.collections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable map implemented as a hash array mapped trie.
+ * Adding, replacing or removing an entry creates a new map that shares all unchanged nodes with the current one,
+ * so every change costs O(log n) time and allocation, and any instance can safely be handed out as a snapshot.
+ * Iterating the map returns the values, in an order that depends on the hash of the keys.
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public final class PersistentMap<K, V> implements Iterable<V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object[] NO_SLOTS = new Object[0];
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new BitmapNode(0, NO_SLOTS), 0);
+
+    private final BitmapNode _root;
+    private final int _size;
+
+    private PersistentMap(BitmapNode root, int size) {
+        _root = root;
+        _size = size;
+    }
+
+    /**
+     * Gets the empty {@link PersistentMap}.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     * @return The empty {@link PersistentMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Gets the number of entries in the map.
+     * @return The number of entries.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Gets whether the map has no entries.
+     * @return True if the map is empty, false if not.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Gets the value of the given key.
+     * @param key The key to get the value of.
+     * @return The value, or null if the map does not contain the key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Object slot = _root;
+        var hash = hash(key);
+        for (var shift = 0;; shift += BITS) {
+            if (slot instanceof BitmapNode) {
+                slot = ((BitmapNode) slot).slotFor(hash, shift);
+            } else if (slot instanceof CollisionNode) {
+                slot = ((CollisionNode) slot).leafFor(key);
+            }
+            if (slot == null) return null;
+            if (slot instanceof Leaf) {
+                var leaf = (Leaf) slot;
+                return leaf.hash == hash && leaf.key.equals(key) ? (V) leaf.value : null;
+            }
+        }
+    }
+
+    /**
+     * Gets whether the map contains the given key.
+     * @param key The key to look for.
+     * @return True if the map contains the key, false if not.
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Creates a new map where the given key has the given value.
+     * @param key The key, which must not be null.
+     * @param value The value, which must not be null.
+     * @return A new {@link PersistentMap} with the entry, or this map if it already contains the same entry.
+     */
+    public PersistentMap<K, V> with(K key, V value) {
+        if (key == null || value == null) throw new NullPointerException("Keys and values cannot be null");
+        var added = new boolean[1];
+        var root = _root.put(new Leaf(key, hash(key), value), 0, added);
+        if (root == _root) return this;
+        return new PersistentMap<>(root, added[0] ? _size + 1 : _size);
+    }
+
+    /**
+     * Creates a new map without the given key.
+     * @param key The key to remove.
+     * @return A new {@link PersistentMap} without the key, or this map if it does not contain the key.
+     */
+    public PersistentMap<K, V> without(K key) {
+        var result = _root.remove(key, hash(key), 0);
+        if (result == _root) return this;
+        if (result == null) return empty();
+        if (result instanceof Leaf) {
+            var leaf = (Leaf) result;
+            return new PersistentMap<>(new BitmapNode(bit(leaf.hash, 0), new Object[] { leaf }), _size - 1);
+        }
+        return new PersistentMap<>((BitmapNode) result, _size - 1);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new ValueIterator<>(_root);
+    }
+
+    private static int hash(Object key) {
+        var hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Object merge(Leaf existing, Leaf added, int shift) {
+        if (shift >= Integer.SIZE) {
+            return new CollisionNode(existing.hash, new Object[] { existing, added });
+        }
+        var existingBit = bit(existing.hash, shift);
+        var addedBit = bit(added.hash, shift);
+        if (existingBit == addedBit) {
+            return new BitmapNode(existingBit, new Object[] { merge(existing, added, shift + BITS) });
+        }
+        var slots = Integer.compareUnsigned(existingBit, addedBit) < 0 ? new Object[] { existing, added } : new Object[] { added, existing };
+        return new BitmapNode(existingBit | addedBit, slots);
+    }
+
+    private static Object[] insert(Object[] slots, int index, Object slot) {
+        var copy = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, copy, 0, index);
+        copy[index] = slot;
+        System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+        return copy;
+    }
+
+    private static Object[] replace(Object[] slots, int index, Object slot) {
+        var copy = slots.clone();
+        copy[index] = slot;
+        return copy;
+    }
+
+    private static Object[] delete(Object[] slots, int index) {
+        var copy = new Object[slots.length - 1];
+        System.arraycopy(slots, 0, copy, 0, index);
+        System.arraycopy(slots, index + 1, copy, index, slots.length - index - 1);
+        return copy;
+    }
+
+    private static final class Leaf {
+        final Object key;
+        final int hash;
+        final Object value;
+
+        Leaf(Object key, int hash, Object value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    private static final class BitmapNode {
+        final int bitmap;
+        final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        Object slotFor(int hash, int shift) {
+            var bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+            return slots[Integer.bitCount(bitmap & (bit - 1))];
+        }
+
+        BitmapNode put(Leaf leaf, int shift, boolean[] added) {
+            var bit = bit(leaf.hash, shift);
+            var index = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, insert(slots, index, leaf));
+            }
+
+            var slot = slots[index];
+            Object replacement;
+            if (slot instanceof Leaf) {
+                var existing = (Leaf) slot;
+                if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                    if (existing.value == leaf.value) return this;
+                    replacement = leaf;
+                } else {
+                    added[0] = true;
+                    replacement = merge(existing, leaf, shift + BITS);
+                }
+            } else if (slot instanceof BitmapNode) {
+                replacement = ((BitmapNode) slot).put(leaf, shift + BITS, added);
+            } else {
+                replacement = ((CollisionNode) slot).put(leaf, added);
+            }
+            if (replacement == slot) return this;
+            return new BitmapNode(bitmap, replace(slots, index, replacement));
+        }
+
+        Object remove(Object key, int hash, int shift) {
+            var bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            var index = Integer.bitCount(bitmap & (bit - 1));
+
+            var slot = slots[index];
+            Object replacement;
+            if (slot instanceof Leaf) {
+                var existing = (Leaf) slot;
+                if (existing.hash != hash || !existing.key.equals(key)) return this;
+                replacement = null;
+            } else if (slot instanceof BitmapNode) {
+                replacement = ((BitmapNode) slot).remove(key, hash, shift + BITS);
+            } else {
+                replacement = ((CollisionNode) slot).remove(key);
+            }
+            if (replacement == slot) return this;
+
+            if (replacement == null) {
+                if (slots.length == 1) return null;
+                if (slots.length == 2 && shift > 0) {
+                    // A node with a single leaf is collapsed into its parent, so the trie stays as shallow as possible
+                    var remaining = slots[1 - index];
+                    if (remaining instanceof Leaf) return remaining;
+                }
+                return new BitmapNode(bitmap & ~bit, delete(slots, index));
+            }
+            if (replacement instanceof Leaf && slots.length == 1 && shift > 0) {
+                return replacement;
+            }
+            return new BitmapNode(bitmap, replace(slots, index, replacement));
+        }
+    }
+
+    private static final class CollisionNode {
+        final int hash;
+        final Object[] leaves;
+
+        CollisionNode(int hash, Object[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        Leaf leafFor(Object key) {
+            for (var slot : leaves) {
+                var leaf = (Leaf) slot;
+                if (leaf.key.equals(key)) return leaf;
+            }
+            return null;
+        }
+
+        CollisionNode put(Leaf leaf, boolean[] added) {
+            for (var i = 0; i < leaves.length; i++) {
+                var existing = (Leaf) leaves[i];
+                if (existing.key.equals(leaf.key)) {
+                    if (existing.value == leaf.value) return this;
+                    return new CollisionNode(hash, replace(leaves, i, leaf));
+                }
+            }
+            added[0] = true;
+            return new CollisionNode(hash, insert(leaves, leaves.length, leaf));
+        }
+
+        Object remove(Object key) {
+            for (var i = 0; i < leaves.length; i++) {
+                if (((Leaf) leaves[i]).key.equals(key)) {
+                    if (leaves.length == 2) return leaves[1 - i];
+                    return new CollisionNode(hash, delete(leaves, i));
+                }
+            }
+            return this;
+        }
+    }
+
+    private static final class ValueIterator<V> implements Iterator<V> {
+        private final Object[][] _stack = new Object[Integer.SIZE / BITS + 2][];
+        private final int[] _indices = new int[Integer.SIZE / BITS + 2];
+        private int _depth;
+        private Leaf _next;
+
+        ValueIterator(BitmapNode root) {
+            _stack[0] = root.slots;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return _next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (_next == null) throw new NoSuchElementException();
+            var value = (V) _next.value;
+            advance();
+            return value;
+        }
+
+        private void advance() {
+            while (_depth >= 0) {
+                var slots = _stack[_depth];
+                if (_indices[_depth] == slots.length) {
+                    _depth--;
+                    continue;
+                }
+                var slot = slots[_indices[_depth]++];
+                if (slot instanceof Leaf) {
+                    _next = (Leaf) slot;
+                    return;
+                }
+                _depth++;
+                _stack[_depth] = slot instanceof BitmapNode ? ((BitmapNode) slot).slots : ((CollisionNode) slot).leaves;
+                _indices[_depth] = 0;
+            }
+            _next = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        var values = new Object[_size];
+        var i = 0;
+        for (var value : this) values[i++] = value;
+        return Arrays.toString(values);
+    }
+}
@@ -5,12 +5,14 @@ package io.dolittle.moose.kubernetes.config;
 
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.util.ClientBuilder;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.*;
 
 import java.io.IOException;
 
 @Configuration
 @ComponentScan(basePackages = {"io.dolittle.moose.kubernetes"})
+@ConfigurationPropertiesScan(basePackages = {"io.dolittle.moose.kubernetes.properties"})
 @PropertySource(value = {"classpath:kubernetes.properties"})
 public class K8sConfig {
     @Bean
@@ -3,23 +3,25 @@
 
 package io.dolittle.moose.kubernetes.eventhandlers;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import io.dolittle.moose.kubernetes.INamespaceResource;
 import io.kubernetes.client.informer.ResourceEventHandler;
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.core.Scheduler;
 
 /**
  * A {@link ResourceEventHandler} that exposes an {@link Observable} of type {@link Iterable} of resources that is updated on every change event.
  * It also accepts an optional {@link Predicate} filter which determines what resources should be part of the {@link Iterable}.
+ * The resources are kept in an {@link ObservableResourceList}, so each event only costs O(log n), and every emitted {@link Iterable} is an immutable snapshot.
+ * When created with a window, the handler coalesces events: it emits a single snapshot once the informer has synced, and then at most one snapshot per window or per batch of changes.
  * @param <ApiType> The type of resources to be contained in the list.
  */
 public class ListObservableEventHandler<ApiType, WrappedType extends INamespaceResource> implements ResourceEventHandler<ApiType> {
-    private final BehaviorSubject<Iterable<WrappedType>> _subject;
+    private final ObservableResourceList<WrappedType> _list;
     private final Function<ApiType, WrappedType> _mapper;
     private final Predicate<WrappedType> _filter;
 
@@ -29,9 +31,7 @@ public class ListObservableEventHandler<ApiType, WrappedType extends INamespaceR
      * @param mapper A {@link Function} that converts an api type to a wrapped type.
      */
     public ListObservableEventHandler(Function<ApiType, WrappedType> mapper) {
-        _subject = BehaviorSubject.createDefault(List.<WrappedType>of());
-        _mapper = mapper;
-        _filter = (obj) -> true;
+        this(mapper, (obj) -> true);
     }
 
     /**
@@ -41,7 +41,24 @@ public class ListObservableEventHandler<ApiType, WrappedType extends INamespaceR
      * @param filter The {@link Predicate} filter that determines wheter a resource should be in the list or not.
      */
     public ListObservableEventHandler(Function<ApiType, WrappedType> mapper, Predicate<WrappedType> filter) {
-        _subject = BehaviorSubject.createDefault(List.<WrappedType>of());
+        _list = new ObservableResourceList<>();
+        _mapper = mapper;
+        _filter = filter;
+    }
+
+    /**
+     * Initializes a new instance of the {@link ListObservableEventHandler} class with the given filter, that coalesces change events.
+     * No list is emitted until the informer has synced, then the complete list is emitted once, and after that changes are batched.
+     * A batch is emitted when the window has passed since the first change in the batch, or when it contains the maximum number of changes.
+     * @param mapper A {@link Function} that converts an api type to a wrapped type.
+     * @param filter The {@link Predicate} filter that determines wheter a resource should be in the list or not.
+     * @param hasSynced A {@link BooleanSupplier} that returns true when the informer has synced its initial list of resources.
+     * @param window The longest {@link Duration} a change is held back before the list is emitted.
+     * @param maxBatch The number of changes that causes the list to be emitted before the window has passed.
+     * @param scheduler The {@link Scheduler} used to check if the informer has synced, and to emit batches when the window has passed.
+     */
+    public ListObservableEventHandler(Function<ApiType, WrappedType> mapper, Predicate<WrappedType> filter, BooleanSupplier hasSynced, Duration window, int maxBatch, Scheduler scheduler) {
+        _list = new ObservableResourceList<>(hasSynced, window, maxBatch, scheduler);
         _mapper = mapper;
         _filter = filter;
     }
@@ -50,7 +67,7 @@ public class ListObservableEventHandler<ApiType, WrappedType extends INamespaceR
     public void onAdd(ApiType obj) {
         WrappedType mapped = _mapper.apply(obj);
         if (_filter.test(mapped)) {
-            emit(newListFromCurrentWith(mapped));
+            _list.accept(ResourceChange.added(mapped));
         }
     }
 
@@ -64,11 +81,11 @@ public class ListObservableEventHandler<ApiType, WrappedType extends INamespaceR
         if (!oldMatches && !newMatches) {
             return;
         } else if (!oldMatches && newMatches) {
-            emit(newListFromCurrentWith(newMapped));
+            _list.accept(ResourceChange.added(newMapped));
         } else if (oldMatches && !newMatches) {
-            emit(newListFromCurrentWithout(oldMapped));
+            _list.accept(ResourceChange.deleted(oldMapped));
         } else {
-            emit(newListFromCurrentReplacing(oldMapped, newMapped));
+            _list.accept(ResourceChange.updated(oldMapped, newMapped));
         }
     }
 
@@ -76,7 +93,7 @@ public class ListObservableEventHandler<ApiType, WrappedType extends INamespaceR
     public void onDelete(ApiType obj, boolean deletedFinalStateUnknown) {
         WrappedType mapped = _mapper.apply(obj);
         if (_filter.test(mapped)) {
-            emit(newListFromCurrentWithout(mapped));
+            _list.accept(ResourceChange.deleted(mapped));
         }
     }
     
@@ -85,45 +102,6 @@ public class ListObservableEventHandler<ApiType, WrappedType extends INamespaceR
      * @return An {@link Observable} of type {@link Iterable}.
      */
     public Observable<Iterable<WrappedType>> getObservable() {
-        return _subject;
-    }
-
-    private void emit(List<WrappedType> list) {
-        _subject.onNext(list);
-    }
-
-    private List<WrappedType> newListFromCurrentWith(WrappedType obj) {
-        var newList = new ArrayList<WrappedType>();
-        for (WrappedType existing : _subject.getValue()) {
-            newList.add(existing);
-        }
-        newList.add(obj);
-        return newList;
-    }
-
-    private List<WrappedType> newListFromCurrentWithout(WrappedType obj) {
-        var newList = new ArrayList<WrappedType>();
-        for (WrappedType existing : _subject.getValue()) {
-            if (!referenceEquals(existing, obj)) {
-                newList.add(existing);
-            }
-        }
-        return newList;
-    }
-
-    private List<WrappedType> newListFromCurrentReplacing(WrappedType current, WrappedType with) {
-        var newList = new ArrayList<WrappedType>();
-        for (WrappedType existing : _subject.getValue()) {
-            if (referenceEquals(existing, current)) {
-                newList.add(with);
-            } else {
-                newList.add(existing);
-            }
-        }
-        return newList;
-    }
-
-    private boolean referenceEquals(WrappedType left, WrappedType right) {
-        return left.getNamespace().equals(right.getNamespace()) && left.getName().getValue().equals(right.getName().getValue());
+        return _list.getObservable();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.eventhandlers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import io.dolittle.moose.kubernetes.INamespaceResource;
+import io.dolittle.moose.kubernetes.collections.PersistentMap;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+
+/**
+ * Represents a list of resources that is updated by {@link ResourceChange} of resources, and exposes an {@link Observable} of type {@link Iterable} of the resources.
+ * The resources are kept in a {@link PersistentMap} keyed by namespace and name, so each change only costs O(log n), and every emitted {@link Iterable} is an immutable snapshot.
+ * When created with a window, the list coalesces changes: it emits a single snapshot once the informer has synced, and then at most one snapshot per window or per batch of changes.
+ * @param <WrappedType> The type of resources to be contained in the list.
+ */
+public class ObservableResourceList<WrappedType extends INamespaceResource> implements Consumer<ResourceChange<WrappedType>>, Disposable {
+    private final BehaviorSubject<Iterable<WrappedType>> _subject;
+    private final BooleanSupplier _hasSynced;
+    private final long _windowMillis;
+    private final int _maxBatch;
+    private final Scheduler _scheduler;
+    private PersistentMap<String, WrappedType> _resources = PersistentMap.empty();
+    private boolean _synced;
+    private int _pending;
+    private Disposable _scheduled;
+    private boolean _disposed;
+
+    /**
+     * Initializes a new instance of the {@link ObservableResourceList} class that emits the list on every change.
+     */
+    public ObservableResourceList() {
+        _subject = BehaviorSubject.createDefault(_resources);
+        _hasSynced = () -> true;
+        _windowMillis = 0;
+        _maxBatch = 1;
+        _scheduler = null;
+        _synced = true;
+    }
+
+    /**
+     * Initializes a new instance of the {@link ObservableResourceList} class that coalesces changes.
+     * No list is emitted until the informer has synced, then the complete list is emitted once, and after that changes are batched.
+     * A batch is emitted when the window has passed since the first change in the batch, or when it contains the maximum number of changes.
+     * @param hasSynced A {@link BooleanSupplier} that returns true when the informer has synced its initial list of resources.
+     * @param window The longest {@link Duration} a change is held back before the list is emitted.
+     * @param maxBatch The number of changes that causes the list to be emitted before the window has passed.
+     * @param scheduler The {@link Scheduler} used to check if the informer has synced, and to emit batches when the window has passed.
+     */
+    public ObservableResourceList(BooleanSupplier hasSynced, Duration window, int maxBatch, Scheduler scheduler) {
+        _subject = BehaviorSubject.create();
+        _hasSynced = hasSynced;
+        _windowMillis = Math.max(window.toMillis(), 1);
+        _maxBatch = Math.max(maxBatch, 1);
+        _scheduler = scheduler;
+        // Handlers added to a running informer get the existing resources replayed, so the first check waits one window
+        _scheduled = _scheduler.schedulePeriodicallyDirect(this::checkSynced, _windowMillis, _windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void accept(ResourceChange<WrappedType> change) {
+        if (_disposed) {
+            return;
+        }
+        switch (change.getType()) {
+            case ADDED:
+                _resources = _resources.with(keyOf(change.getCurrent()), change.getCurrent());
+                break;
+            case UPDATED:
+                _resources = _resources.without(keyOf(change.getPrevious())).with(keyOf(change.getCurrent()), change.getCurrent());
+                break;
+            case DELETED:
+                _resources = _resources.without(keyOf(change.getPrevious()));
+                break;
+        }
+        if (!_synced) {
+            return;
+        }
+        _pending++;
+        if (_pending >= _maxBatch) {
+            flush();
+        } else if (_scheduled == null) {
+            _scheduled = _scheduler.scheduleDirect(this::windowPassed, _windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the observable list of resources.
+     * @return An {@link Observable} of type {@link Iterable}.
+     */
+    public Observable<Iterable<WrappedType>> getObservable() {
+        return _subject;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        _disposed = true;
+        if (_scheduled != null) {
+            _scheduled.dispose();
+            _scheduled = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isDisposed() {
+        return _disposed;
+    }
+
+    static String keyOf(INamespaceResource resource) {
+        return resource.getNamespace().getValue() + "/" + resource.getName().getValue();
+    }
+
+    private synchronized void checkSynced() {
+        if (_synced || _disposed || !_hasSynced.getAsBoolean()) {
+            return;
+        }
+        _synced = true;
+        flush();
+    }
+
+    private synchronized void windowPassed() {
+        _scheduled = null;
+        if (_pending > 0 && !_disposed) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (_scheduled != null) {
+            _scheduled.dispose();
+            _scheduled = null;
+        }
+        _pending = 0;
+        _subject.onNext(_resources);
+    }
+}
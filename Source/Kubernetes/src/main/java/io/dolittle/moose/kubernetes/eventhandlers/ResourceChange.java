@@ -0,0 +1,89 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.eventhandlers;
+
+import java.util.function.Predicate;
+
+import io.reactivex.rxjava3.core.Maybe;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Represents a single change to a resource that is observed.
+ * A resource that starts or stops matching a filter is reported as added or deleted, not as updated.
+ * @param <T> The type of the resource.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResourceChange<T> {
+    ChangeType type;
+    /**
+     * The resource before the change, or null if it was added.
+     */
+    T previous;
+    /**
+     * The resource after the change, or null if it was deleted.
+     */
+    T current;
+
+    /**
+     * Gets this change as seen through a filter.
+     * Resources that start or stop matching the filter are reported as added or deleted, and changes to resources that do not match are left out.
+     * @param filter The {@link Predicate} filter that determines whether changes to a resource should be kept or not.
+     * @return A {@link Maybe} of the filtered {@link ResourceChange}, that is empty if the change should be left out.
+     */
+    public Maybe<ResourceChange<T>> matching(Predicate<T> filter) {
+        var previousMatches = previous != null && filter.test(previous);
+        var currentMatches = current != null && filter.test(current);
+        if (previousMatches && currentMatches) {
+            return Maybe.just(this);
+        } else if (currentMatches) {
+            return Maybe.just(previous == null ? this : added(current));
+        } else if (previousMatches) {
+            return Maybe.just(current == null ? this : deleted(previous));
+        }
+        return Maybe.empty();
+    }
+
+    /**
+     * Creates a {@link ResourceChange} for an added resource.
+     * @param <T> The type of the resource.
+     * @param current The added resource.
+     * @return The {@link ResourceChange}.
+     */
+    public static <T> ResourceChange<T> added(T current) {
+        return new ResourceChange<>(ChangeType.ADDED, null, current);
+    }
+
+    /**
+     * Creates a {@link ResourceChange} for an updated resource.
+     * @param <T> The type of the resource.
+     * @param previous The resource before the update.
+     * @param current The resource after the update.
+     * @return The {@link ResourceChange}.
+     */
+    public static <T> ResourceChange<T> updated(T previous, T current) {
+        return new ResourceChange<>(ChangeType.UPDATED, previous, current);
+    }
+
+    /**
+     * Creates a {@link ResourceChange} for a deleted resource.
+     * @param <T> The type of the resource.
+     * @param previous The deleted resource.
+     * @return The {@link ResourceChange}.
+     */
+    public static <T> ResourceChange<T> deleted(T previous) {
+        return new ResourceChange<>(ChangeType.DELETED, previous, null);
+    }
+
+    /**
+     * Represents the type of a {@link ResourceChange}.
+     */
+    public enum ChangeType {
+        ADDED,
+        UPDATED,
+        DELETED
+    }
+}
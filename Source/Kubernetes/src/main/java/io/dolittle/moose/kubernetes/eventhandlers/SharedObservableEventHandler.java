@@ -0,0 +1,115 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.eventhandlers;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.dolittle.moose.kubernetes.INamespaceResource;
+import io.dolittle.moose.kubernetes.collections.PersistentMap;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableEmitter;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+/**
+ * A {@link ResourceEventHandler} that converts every resource once, and shares the {@link ResourceChange} of resources with every subscriber.
+ * Every subscriber first gets every current resource as added, followed by the changes as they happen.
+ * The informer cannot remove event handlers, so while there are no subscribers the handler ignores events and drops its resources,
+ * and the first new subscriber seeds the resources from the informer store again.
+ * @param <ApiType> The type of resources the informer provides.
+ * @param <WrappedType> The type of resources to emit.
+ */
+public class SharedObservableEventHandler<ApiType, WrappedType extends INamespaceResource> implements ResourceEventHandler<ApiType> {
+    private final Function<ApiType, WrappedType> _mapper;
+    private final Supplier<? extends Iterable<ApiType>> _existing;
+    private final PublishSubject<ResourceChange<WrappedType>> _subject = PublishSubject.create();
+    private final Observable<ResourceChange<WrappedType>> _changes;
+    private PersistentMap<String, WrappedType> _resources = PersistentMap.empty();
+    private int _subscribers;
+
+    /**
+     * Initializes a new instance of the {@link SharedObservableEventHandler} class.
+     * @param mapper A {@link Function} that converts an api type to a wrapped type.
+     * @param existing A {@link Supplier} of the resources that are currently in the informer store.
+     */
+    public SharedObservableEventHandler(Function<ApiType, WrappedType> mapper, Supplier<? extends Iterable<ApiType>> existing) {
+        _mapper = mapper;
+        _existing = existing;
+        _changes = Observable.create(this::subscribe);
+    }
+
+    @Override
+    public synchronized void onAdd(ApiType obj) {
+        if (_subscribers == 0) {
+            return;
+        }
+        changed(_mapper.apply(obj));
+    }
+
+    @Override
+    public synchronized void onUpdate(ApiType oldObj, ApiType newObj) {
+        if (_subscribers == 0) {
+            return;
+        }
+        // The previous resource is already converted, so only the new object is converted
+        changed(_mapper.apply(newObj));
+    }
+
+    @Override
+    public synchronized void onDelete(ApiType obj, boolean deletedFinalStateUnknown) {
+        if (_subscribers == 0) {
+            return;
+        }
+        var key = ObservableResourceList.keyOf(_mapper.apply(obj));
+        var previous = _resources.get(key);
+        if (previous != null) {
+            _resources = _resources.without(key);
+            _subject.onNext(ResourceChange.deleted(previous));
+        }
+    }
+
+    /**
+     * Gets the shared changes of resources.
+     * @return An {@link Observable} of type {@link ResourceChange}.
+     */
+    public Observable<ResourceChange<WrappedType>> observeChanges() {
+        return _changes;
+    }
+
+    private void changed(WrappedType current) {
+        var key = ObservableResourceList.keyOf(current);
+        var previous = _resources.get(key);
+        _resources = _resources.with(key, current);
+        _subject.onNext(previous == null ? ResourceChange.added(current) : ResourceChange.updated(previous, current));
+    }
+
+    private synchronized void subscribe(ObservableEmitter<ResourceChange<WrappedType>> emitter) {
+        if (_subscribers++ == 0) {
+            seed();
+        }
+        for (var resource : _resources) {
+            emitter.onNext(ResourceChange.added(resource));
+        }
+        var subscription = _subject.subscribe(emitter::onNext);
+        emitter.setCancellable(() -> unsubscribe(subscription));
+    }
+
+    private synchronized void unsubscribe(Disposable subscription) {
+        subscription.dispose();
+        if (--_subscribers == 0) {
+            _resources = PersistentMap.empty();
+        }
+    }
+
+    private void seed() {
+        var resources = PersistentMap.<String, WrappedType>empty();
+        for (var obj : _existing.get()) {
+            var resource = _mapper.apply(obj);
+            resources = resources.with(ObservableResourceList.keyOf(resource), resource);
+        }
+        _resources = resources;
+    }
+}
@@ -3,6 +3,7 @@
 
 package io.dolittle.moose.kubernetes.informers;
 
+import io.kubernetes.client.informer.ResourceEventHandler;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
@@ -29,4 +30,18 @@ public interface ICanProvideInformers {
      * @return A {@link SharedIndexInformer} of type {@link V1Service}.
      */
     SharedIndexInformer<V1Service> getServiceInformer();
-}
\ No newline at end of file
+
+    /**
+     * Adds an event handler to the informer for Kubernetes Ingresses, and records how many events it handles and how long it takes.
+     * @param name The name of the handler, used to tag the metrics.
+     * @param handler The {@link ResourceEventHandler} to add.
+     */
+    void addIngressEventHandler(String name, ResourceEventHandler<ExtensionsV1beta1Ingress> handler);
+
+    /**
+     * Adds an event handler to the informer for Kubernetes Services, and records how many events it handles and how long it takes.
+     * @param name The name of the handler, used to tag the metrics.
+     * @param handler The {@link ResourceEventHandler} to add.
+     */
+    void addServiceEventHandler(String name, ResourceEventHandler<V1Service> handler);
+}
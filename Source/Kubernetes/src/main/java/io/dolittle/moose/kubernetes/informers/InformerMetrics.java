@@ -0,0 +1,180 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the metrics of an informer, and of the event handlers that are registered on it.
+ * The time a change is received from the watch is kept per resource version, so the handlers can measure how long it took to deliver the change to them.
+ */
+public class InformerMetrics {
+    static final int MAX_RECEIVED = 4096;
+
+    private final String _resource;
+    private final MeterRegistry _registry;
+    private final Counter _watches;
+    private final Counter _resumes;
+    private final Map<String, Counter> _events = new ConcurrentHashMap<>();
+    private final Map<String, Long> _received = new LinkedHashMap<>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_RECEIVED;
+        }
+    };
+
+    /**
+     * Initializes a new instance of the {@link InformerMetrics} class.
+     * @param resource The name of the resources the informer provides, used to tag the metrics.
+     * @param registry The {@link MeterRegistry} to register the metrics in.
+     */
+    public InformerMetrics(String resource, MeterRegistry registry) {
+        _resource = resource;
+        _registry = registry;
+        _watches = registry.counter("informers.watches", "resource", resource);
+        _resumes = registry.counter("informers.resumes", "resource", resource);
+    }
+
+    /**
+     * Gets the name of the resources the informer provides.
+     * @return The name of the resources.
+     */
+    public String getResource() {
+        return _resource;
+    }
+
+    /**
+     * Records that the resources were listed from the Api Server.
+     * @param reason Why the resources were listed, e.g. "initial" or "expired".
+     */
+    public void listed(String reason) {
+        _registry.counter("informers.lists", "resource", _resource, "reason", reason).increment();
+        clearReceived();
+    }
+
+    /**
+     * Records that the resources were listed from the resources that had already been seen, instead of from the Api Server.
+     */
+    public void resumed() {
+        _resumes.increment();
+        clearReceived();
+    }
+
+    /**
+     * Records that a watch was started.
+     */
+    public void watched() {
+        _watches.increment();
+    }
+
+    /**
+     * Records that an event was received from the watch.
+     * @param type The type of the event, e.g. "ADDED" or "BOOKMARK".
+     * @param metadata The {@link V1ObjectMeta} of the resource in the event, or null if there is none.
+     */
+    public void received(String type, V1ObjectMeta metadata) {
+        _events.computeIfAbsent(type, key -> _registry.counter("informers.events", "resource", _resource, "type", key)).increment();
+        if (metadata == null || metadata.getResourceVersion() == null || ResumingListerWatcher.BOOKMARK.equals(type)) {
+            return;
+        }
+        synchronized (_received) {
+            _received.put(metadata.getResourceVersion(), System.nanoTime());
+        }
+    }
+
+    /**
+     * Wraps a {@link ResourceEventHandler} so that the events it handles, the time it takes to handle them, and the time from the watch to the handler is recorded.
+     * @param <ApiType> The type of resources the informer provides.
+     * @param handler The name of the handler, used to tag the metrics.
+     * @param delegate The {@link ResourceEventHandler} to wrap.
+     * @param metadata A {@link Function} that gets the metadata of a resource.
+     * @return The wrapped {@link ResourceEventHandler}.
+     */
+    public <ApiType> ResourceEventHandler<ApiType> instrument(String handler, ResourceEventHandler<ApiType> delegate, Function<ApiType, V1ObjectMeta> metadata) {
+        return new InstrumentedEventHandler<>(handler, delegate, metadata);
+    }
+
+    private Long receivedAt(V1ObjectMeta metadata) {
+        if (metadata == null || metadata.getResourceVersion() == null) {
+            return null;
+        }
+        synchronized (_received) {
+            return _received.get(metadata.getResourceVersion());
+        }
+    }
+
+    private void clearReceived() {
+        synchronized (_received) {
+            _received.clear();
+        }
+    }
+
+    private class InstrumentedEventHandler<ApiType> implements ResourceEventHandler<ApiType> {
+        private final ResourceEventHandler<ApiType> _delegate;
+        private final Function<ApiType, V1ObjectMeta> _metadata;
+        private final Counter _added;
+        private final Counter _updated;
+        private final Counter _deleted;
+        private final Timer _duration;
+        private final Timer _delivery;
+
+        InstrumentedEventHandler(String handler, ResourceEventHandler<ApiType> delegate, Function<ApiType, V1ObjectMeta> metadata) {
+            _delegate = delegate;
+            _metadata = metadata;
+            _added = _registry.counter("informers.handler.events", "resource", _resource, "handler", handler, "type", "added");
+            _updated = _registry.counter("informers.handler.events", "resource", _resource, "handler", handler, "type", "updated");
+            _deleted = _registry.counter("informers.handler.events", "resource", _resource, "handler", handler, "type", "deleted");
+            _duration = Timer.builder("informers.handler.duration")
+                .description("The time it takes the handler to handle an event")
+                .tags("resource", _resource, "handler", handler)
+                .publishPercentileHistogram()
+                .register(_registry);
+            _delivery = Timer.builder("informers.handler.delivery")
+                .description("The time from a change is received from the watch until it is delivered to the handler")
+                .tags("resource", _resource, "handler", handler)
+                .publishPercentileHistogram()
+                .register(_registry);
+        }
+
+        @Override
+        public void onAdd(ApiType obj) {
+            _added.increment();
+            delivered(obj);
+            _duration.record(() -> _delegate.onAdd(obj));
+        }
+
+        @Override
+        public void onUpdate(ApiType oldObj, ApiType newObj) {
+            _updated.increment();
+            delivered(newObj);
+            _duration.record(() -> _delegate.onUpdate(oldObj, newObj));
+        }
+
+        @Override
+        public void onDelete(ApiType obj, boolean deletedFinalStateUnknown) {
+            _deleted.increment();
+            delivered(obj);
+            _duration.record(() -> _delegate.onDelete(obj, deletedFinalStateUnknown));
+        }
+
+        private void delivered(ApiType obj) {
+            var receivedAt = receivedAt(_metadata.apply(obj));
+            if (receivedAt != null) {
+                _delivery.record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
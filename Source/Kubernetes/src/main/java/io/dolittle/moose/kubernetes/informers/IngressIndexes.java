@@ -0,0 +1,72 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import io.dolittle.moose.kubernetes.Annotation;
+import io.kubernetes.client.informer.cache.Caches;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+
+/**
+ * Defines the indexes that are registered on the Ingress informer, so that Ingresses can be looked up without scanning all of them.
+ */
+public class IngressIndexes {
+    /**
+     * The name of the index of Ingresses by namespace, that every informer has by default.
+     */
+    public static final String NAMESPACE = Caches.NAMESPACE_INDEX;
+
+    /**
+     * The name of the index of Ingresses by the key and value of the indexed annotations.
+     */
+    public static final String ANNOTATION = "annotation";
+
+    private IngressIndexes() {
+    }
+
+    /**
+     * Creates the indexers to register on the Ingress informer.
+     * @param annotationKeys The keys of the annotations to index the values of.
+     * @return A {@link Map} from index name to the {@link Function} that gets the index values of an Ingress.
+     */
+    public static Map<String, Function<ExtensionsV1beta1Ingress, List<String>>> createIndexers(Collection<String> annotationKeys) {
+        var keys = Set.copyOf(annotationKeys);
+        var indexers = new HashMap<String, Function<ExtensionsV1beta1Ingress, List<String>>>();
+        indexers.put(ANNOTATION, ingress -> annotationValues(ingress, keys));
+        return indexers;
+    }
+
+    /**
+     * Gets the value to look up in the annotation index for an {@link Annotation}.
+     * @param annotation The {@link Annotation} to look up.
+     * @return The index value.
+     */
+    public static String annotationValue(Annotation annotation) {
+        return annotationValue(annotation.getKey(), annotation.getValue());
+    }
+
+    private static List<String> annotationValues(ExtensionsV1beta1Ingress ingress, Set<String> keys) {
+        if (ingress.getMetadata() == null || ingress.getMetadata().getAnnotations() == null) {
+            return List.of();
+        }
+        var values = new ArrayList<String>(1);
+        for (var entry : ingress.getMetadata().getAnnotations().entrySet()) {
+            if (keys.contains(entry.getKey())) {
+                values.add(annotationValue(entry.getKey(), entry.getValue()));
+            }
+        }
+        return values;
+    }
+
+    private static String annotationValue(String key, String value) {
+        return key + "=" + value;
+    }
+}
@@ -0,0 +1,30 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * Defines a system that can decode resources sent by the Kubernetes Api Server in the protobuf wire format.
+ * @param <ApiType> The type of resources to decode.
+ * @param <ApiListType> The type of the list of resources to decode.
+ */
+public interface ProtobufDecoder<ApiType, ApiListType> {
+    /**
+     * Decodes a list of resources.
+     * @param raw The protobuf encoded list, without the Kubernetes envelope.
+     * @return The decoded list of resources.
+     * @throws InvalidProtocolBufferException If the list could not be decoded.
+     */
+    ApiListType decodeList(ByteString raw) throws InvalidProtocolBufferException;
+
+    /**
+     * Decodes a single resource.
+     * @param raw The protobuf encoded resource, without the Kubernetes envelope.
+     * @return The decoded resource.
+     * @throws InvalidProtocolBufferException If the resource could not be decoded.
+     */
+    ApiType decode(ByteString raw) throws InvalidProtocolBufferException;
+}
@@ -0,0 +1,246 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressPath;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressRuleValue;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressBackend;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressList;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressRule;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressTLS;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1OwnerReference;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.openapi.models.V1ServicePort;
+import io.kubernetes.client.openapi.models.V1ServiceSpec;
+import io.kubernetes.client.openapi.models.V1Status;
+import io.kubernetes.client.proto.IntStr;
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.proto.Runtime;
+import io.kubernetes.client.proto.V1;
+import io.kubernetes.client.proto.V1beta1Extensions;
+
+/**
+ * Decodes the resources the informers use from the Kubernetes protobuf wire format, directly into the models the rest of the client uses.
+ * Only the metadata and the spec are decoded, the status is never read and is left out.
+ */
+public final class ProtobufDecoders {
+    /**
+     * The content type of resources in the protobuf wire format.
+     */
+    public static final String CONTENT_TYPE = "application/vnd.kubernetes.protobuf";
+    static final byte[] MAGIC = { 'k', '8', 's', 0 };
+
+    /**
+     * The {@link ProtobufDecoder} for Ingresses.
+     */
+    public static final ProtobufDecoder<ExtensionsV1beta1Ingress, ExtensionsV1beta1IngressList> INGRESSES = new ProtobufDecoder<>() {
+        @Override
+        public ExtensionsV1beta1IngressList decodeList(ByteString raw) throws InvalidProtocolBufferException {
+            var list = V1beta1Extensions.IngressList.parseFrom(raw);
+            var items = new ArrayList<ExtensionsV1beta1Ingress>(list.getItemsCount());
+            for (var ingress : list.getItemsList()) {
+                items.add(ingress(ingress));
+            }
+            return new ExtensionsV1beta1IngressList().metadata(listMetadata(list.getMetadata())).items(items);
+        }
+
+        @Override
+        public ExtensionsV1beta1Ingress decode(ByteString raw) throws InvalidProtocolBufferException {
+            return ingress(V1beta1Extensions.Ingress.parseFrom(raw));
+        }
+    };
+
+    /**
+     * The {@link ProtobufDecoder} for Services.
+     */
+    public static final ProtobufDecoder<V1Service, V1ServiceList> SERVICES = new ProtobufDecoder<>() {
+        @Override
+        public V1ServiceList decodeList(ByteString raw) throws InvalidProtocolBufferException {
+            var list = V1.ServiceList.parseFrom(raw);
+            var items = new ArrayList<V1Service>(list.getItemsCount());
+            for (var service : list.getItemsList()) {
+                items.add(service(service));
+            }
+            return new V1ServiceList().metadata(listMetadata(list.getMetadata())).items(items);
+        }
+
+        @Override
+        public V1Service decode(ByteString raw) throws InvalidProtocolBufferException {
+            return service(V1.Service.parseFrom(raw));
+        }
+    };
+
+    private ProtobufDecoders() {
+    }
+
+    /**
+     * Checks whether or not a content type is the protobuf wire format.
+     * @param contentType The content type of a response, or null.
+     * @return {@literal true} if the content type is protobuf, {@literal false} if not.
+     */
+    public static boolean isProtobuf(String contentType) {
+        return contentType != null && contentType.startsWith(CONTENT_TYPE);
+    }
+
+    /**
+     * Removes the Kubernetes envelope around a protobuf encoded object.
+     * @param bytes The bytes that start with the Kubernetes magic number, followed by an encoded {@link Runtime.Unknown}.
+     * @return The raw encoded object inside the envelope.
+     * @throws InvalidProtocolBufferException If the bytes are not an enveloped object.
+     */
+    public static ByteString unwrap(ByteString bytes) throws InvalidProtocolBufferException {
+        if (bytes.size() < MAGIC.length || !bytes.substring(0, MAGIC.length).equals(ByteString.copyFrom(MAGIC))) {
+            throw new InvalidProtocolBufferException("The object does not start with the Kubernetes protobuf magic number");
+        }
+        return Runtime.Unknown.parseFrom(bytes.substring(MAGIC.length)).getRaw();
+    }
+
+    /**
+     * Decodes a {@link V1Status} returned in place of an object.
+     * @param raw The protobuf encoded status, without the Kubernetes envelope.
+     * @return The decoded {@link V1Status}.
+     * @throws InvalidProtocolBufferException If the status could not be decoded.
+     */
+    public static V1Status status(ByteString raw) throws InvalidProtocolBufferException {
+        var status = Meta.Status.parseFrom(raw);
+        return new V1Status()
+            .status(status.hasStatus() ? status.getStatus() : null)
+            .message(status.hasMessage() ? status.getMessage() : null)
+            .reason(status.hasReason() ? status.getReason() : null)
+            .code(status.hasCode() ? status.getCode() : null);
+    }
+
+    static ExtensionsV1beta1Ingress ingress(V1beta1Extensions.Ingress ingress) {
+        var result = new ExtensionsV1beta1Ingress().metadata(metadata(ingress.getMetadata()));
+        if (ingress.hasSpec()) {
+            var spec = ingress.getSpec();
+            var resultSpec = new ExtensionsV1beta1IngressSpec();
+            if (spec.hasBackend()) {
+                resultSpec.backend(backend(spec.getBackend()));
+            }
+            for (var tls : spec.getTlsList()) {
+                resultSpec.addTlsItem(new ExtensionsV1beta1IngressTLS()
+                    .hosts(new ArrayList<>(tls.getHostsList()))
+                    .secretName(tls.hasSecretName() ? tls.getSecretName() : null));
+            }
+            for (var rule : spec.getRulesList()) {
+                var resultRule = new ExtensionsV1beta1IngressRule().host(rule.hasHost() ? rule.getHost() : null);
+                if (rule.hasIngressRuleValue() && rule.getIngressRuleValue().hasHttp()) {
+                    var http = new ExtensionsV1beta1HTTPIngressRuleValue();
+                    for (var path : rule.getIngressRuleValue().getHttp().getPathsList()) {
+                        http.addPathsItem(new ExtensionsV1beta1HTTPIngressPath()
+                            .path(path.hasPath() ? path.getPath() : null)
+                            .backend(path.hasBackend() ? backend(path.getBackend()) : null));
+                    }
+                    resultRule.http(http);
+                }
+                resultSpec.addRulesItem(resultRule);
+            }
+            result.spec(resultSpec);
+        }
+        return result;
+    }
+
+    static V1Service service(V1.Service service) {
+        var result = new V1Service().metadata(metadata(service.getMetadata()));
+        if (service.hasSpec()) {
+            var spec = service.getSpec();
+            var resultSpec = new V1ServiceSpec()
+                .clusterIP(spec.hasClusterIP() ? spec.getClusterIP() : null)
+                .type(spec.hasType() ? spec.getType() : null)
+                .externalName(spec.hasExternalName() ? spec.getExternalName() : null)
+                .externalTrafficPolicy(spec.hasExternalTrafficPolicy() ? spec.getExternalTrafficPolicy() : null)
+                .healthCheckNodePort(spec.hasHealthCheckNodePort() ? spec.getHealthCheckNodePort() : null)
+                .loadBalancerIP(spec.hasLoadBalancerIP() ? spec.getLoadBalancerIP() : null)
+                .publishNotReadyAddresses(spec.hasPublishNotReadyAddresses() ? spec.getPublishNotReadyAddresses() : null)
+                .sessionAffinity(spec.hasSessionAffinity() ? spec.getSessionAffinity() : null)
+                .selector(map(spec.getSelectorMap()))
+                .externalIPs(list(spec.getExternalIPsList()))
+                .loadBalancerSourceRanges(list(spec.getLoadBalancerSourceRangesList()));
+            for (var port : spec.getPortsList()) {
+                resultSpec.addPortsItem(new V1ServicePort()
+                    .name(port.hasName() ? port.getName() : null)
+                    .protocol(port.hasProtocol() ? port.getProtocol() : null)
+                    .port(port.hasPort() ? port.getPort() : null)
+                    .targetPort(port.hasTargetPort() ? intOrString(port.getTargetPort()) : null)
+                    .nodePort(port.hasNodePort() ? port.getNodePort() : null));
+            }
+            result.spec(resultSpec);
+        }
+        return result;
+    }
+
+    static V1ObjectMeta metadata(Meta.ObjectMeta metadata) {
+        var result = new V1ObjectMeta()
+            .name(metadata.hasName() ? metadata.getName() : null)
+            .generateName(metadata.hasGenerateName() ? metadata.getGenerateName() : null)
+            .namespace(metadata.hasNamespace() ? metadata.getNamespace() : null)
+            .selfLink(metadata.hasSelfLink() ? metadata.getSelfLink() : null)
+            .uid(metadata.hasUid() ? metadata.getUid() : null)
+            .resourceVersion(metadata.hasResourceVersion() ? metadata.getResourceVersion() : null)
+            .generation(metadata.hasGeneration() ? metadata.getGeneration() : null)
+            .creationTimestamp(metadata.hasCreationTimestamp() ? time(metadata.getCreationTimestamp()) : null)
+            .deletionTimestamp(metadata.hasDeletionTimestamp() ? time(metadata.getDeletionTimestamp()) : null)
+            .deletionGracePeriodSeconds(metadata.hasDeletionGracePeriodSeconds() ? metadata.getDeletionGracePeriodSeconds() : null)
+            .labels(map(metadata.getLabelsMap()))
+            .annotations(map(metadata.getAnnotationsMap()))
+            .finalizers(list(metadata.getFinalizersList()));
+        for (var owner : metadata.getOwnerReferencesList()) {
+            result.addOwnerReferencesItem(new V1OwnerReference()
+                .apiVersion(owner.getApiVersion())
+                .kind(owner.getKind())
+                .name(owner.getName())
+                .uid(owner.getUid())
+                .controller(owner.hasController() ? owner.getController() : null)
+                .blockOwnerDeletion(owner.hasBlockOwnerDeletion() ? owner.getBlockOwnerDeletion() : null));
+        }
+        return result;
+    }
+
+    static V1ListMeta listMetadata(Meta.ListMeta metadata) {
+        return new V1ListMeta()
+            .resourceVersion(metadata.hasResourceVersion() ? metadata.getResourceVersion() : null)
+            .selfLink(metadata.hasSelfLink() ? metadata.getSelfLink() : null)
+            ._continue(metadata.hasContinue() && !metadata.getContinue().isEmpty() ? metadata.getContinue() : null);
+    }
+
+    private static ExtensionsV1beta1IngressBackend backend(V1beta1Extensions.IngressBackend backend) {
+        return new ExtensionsV1beta1IngressBackend()
+            .serviceName(backend.hasServiceName() ? backend.getServiceName() : null)
+            .servicePort(backend.hasServicePort() ? intOrString(backend.getServicePort()) : null);
+    }
+
+    private static IntOrString intOrString(IntStr.IntOrString value) {
+        return value.getType() == 1 ? new IntOrString(value.getStrVal()) : new IntOrString(value.getIntVal());
+    }
+
+    private static DateTime time(Meta.Time time) {
+        return new DateTime(time.getSeconds() * 1000 + time.getNanos() / 1000000, DateTimeZone.UTC);
+    }
+
+    private static Map<String, String> map(Map<String, String> map) {
+        return map.isEmpty() ? null : new HashMap<>(map);
+    }
+
+    private static List<String> list(List<String> list) {
+        return list.isEmpty() ? null : new ArrayList<>(list);
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import okhttp3.Call;
+import okhttp3.ResponseBody;
+
+/**
+ * A {@link Watchable} that reads watch events in the Kubernetes protobuf wire format.
+ * Every event is a length-prefixed {@link Meta.WatchEvent}, holding an enveloped object, or an enveloped status for errors.
+ * @param <ApiType> The type of resources that are watched.
+ */
+public class ProtobufWatch<ApiType> implements Watchable<ApiType> {
+    private final ResponseBody _body;
+    private final Call _call;
+    private final ProtobufDecoder<ApiType, ?> _decoder;
+    private final DataInputStream _input;
+    private Watch.Response<ApiType> _next;
+    private boolean _done;
+
+    /**
+     * Initializes a new instance of the {@link ProtobufWatch} class.
+     * @param body The {@link ResponseBody} of the watch request.
+     * @param call The {@link Call} of the watch request, that is cancelled when the watch is closed, or null.
+     * @param decoder The {@link ProtobufDecoder} used to decode the resources.
+     */
+    public ProtobufWatch(ResponseBody body, Call call, ProtobufDecoder<ApiType, ?> decoder) {
+        _body = body;
+        _call = call;
+        _decoder = decoder;
+        _input = new DataInputStream(body.byteStream());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (_next == null && !_done) {
+            try {
+                _next = read();
+            } catch (IOException e) {
+                throw new RuntimeException("IO Exception during hasNext method.", e);
+            }
+        }
+        return _next != null;
+    }
+
+    @Override
+    public Watch.Response<ApiType> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var response = _next;
+        _next = null;
+        return response;
+    }
+
+    @Override
+    public Iterator<Watch.Response<ApiType>> iterator() {
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_call != null) {
+            _call.cancel();
+        }
+        _body.close();
+    }
+
+    private Watch.Response<ApiType> read() throws IOException {
+        int length;
+        try {
+            length = _input.readInt();
+        } catch (EOFException e) {
+            _done = true;
+            return null;
+        }
+        var frame = new byte[length];
+        _input.readFully(frame);
+        var event = Meta.WatchEvent.parseFrom(frame);
+        var raw = ProtobufDecoders.unwrap(event.getObject().getRaw());
+        if (ResumingListerWatcher.ERROR.equals(event.getType())) {
+            return new Watch.Response<>(event.getType(), ProtobufDecoders.status(raw));
+        }
+        return new Watch.Response<>(event.getType(), _decoder.decode(raw));
+    }
+}
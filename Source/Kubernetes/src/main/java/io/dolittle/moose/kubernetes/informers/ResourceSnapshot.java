@@ -0,0 +1,21 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Represents the resources an informer has seen at a specific resource version.
+ * @param <ApiType> The type of the resources.
+ */
+@Value
+public class ResourceSnapshot<ApiType> {
+    @NonNull String resourceVersion;
+    @NonNull List<ApiType> resources;
+    @NonNull Instant taken;
+}
@@ -0,0 +1,117 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+
+import io.kubernetes.client.openapi.JSON;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads and writes a {@link ResourceSnapshot} from a file on the local disk.
+ * The file starts with a header that holds the resource version and the time the snapshot was taken, followed by length-prefixed resources serialized by the Kubernetes client.
+ * The file is memory-mapped when it is read, and written to a temporary file that replaces the previous snapshot, so a crash never leaves a partial snapshot behind.
+ * @param <ApiType> The type of the resources.
+ */
+@Slf4j
+public class ResourceSnapshotFile<ApiType> {
+    static final int MAGIC = 0x4D4F5345;
+    static final int VERSION = 1;
+
+    private final Path _path;
+    private final Class<ApiType> _apiTypeClass;
+    private final JSON _json;
+
+    /**
+     * Initializes a new instance of the {@link ResourceSnapshotFile} class.
+     * @param path The {@link Path} of the file.
+     * @param apiTypeClass The {@link Class} of the resources.
+     * @param json The {@link JSON} used to serialize the resources.
+     */
+    public ResourceSnapshotFile(Path path, Class<ApiType> apiTypeClass, JSON json) {
+        _path = path;
+        _apiTypeClass = apiTypeClass;
+        _json = json;
+    }
+
+    /**
+     * Gets the path of the file.
+     * @return The {@link Path}.
+     */
+    public Path getPath() {
+        return _path;
+    }
+
+    /**
+     * Writes a {@link ResourceSnapshot} to the file, replacing the previous snapshot.
+     * @param snapshot The {@link ResourceSnapshot} to write.
+     * @throws IOException If the file could not be written.
+     */
+    public void write(ResourceSnapshot<ApiType> snapshot) throws IOException {
+        Files.createDirectories(_path.toAbsolutePath().getParent());
+        var temporary = _path.resolveSibling(_path.getFileName() + ".tmp");
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(snapshot.getTaken().toEpochMilli());
+            writeBytes(output, snapshot.getResourceVersion().getBytes(StandardCharsets.UTF_8));
+            output.writeInt(snapshot.getResources().size());
+            for (var resource : snapshot.getResources()) {
+                writeBytes(output, _json.serialize(resource).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Files.move(temporary, _path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the {@link ResourceSnapshot} from the file.
+     * @return The {@link ResourceSnapshot}, or null if the file does not exist or is not a valid snapshot.
+     */
+    public ResourceSnapshot<ApiType> read() {
+        if (!Files.isRegularFile(_path)) {
+            return null;
+        }
+        try (var channel = FileChannel.open(_path, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.warn("Ignoring snapshot {} with an unknown format", _path);
+                return null;
+            }
+            var taken = Instant.ofEpochMilli(buffer.getLong());
+            var resourceVersion = readString(buffer);
+            var count = buffer.getInt();
+            var resources = new ArrayList<ApiType>(count);
+            for (var i = 0; i < count; i++) {
+                resources.add(_json.<ApiType>deserialize(readString(buffer), _apiTypeClass));
+            }
+            return new ResourceSnapshot<>(resourceVersion, resources, taken);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring snapshot {} that could not be read", _path, e);
+            return null;
+        }
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+        var slice = buffer.slice().limit(length);
+        buffer.position(buffer.position() + length);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+}
@@ -0,0 +1,156 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties.TrimProperties;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressBackend;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+
+/**
+ * Removes the parts of resources that Moose never reads before they are stored in the informer store, and interns the strings that repeat across resources.
+ * The resources are trimmed in place, and the same instance is returned.
+ */
+public class ResourceTrimmer {
+    private final boolean _managedFields;
+    private final boolean _status;
+    private final Set<String> _annotations;
+    private final boolean _intern;
+
+    /**
+     * Initializes a new instance of the {@link ResourceTrimmer} class.
+     * @param properties The {@link TrimProperties} that configures what to remove.
+     */
+    public ResourceTrimmer(TrimProperties properties) {
+        _managedFields = properties.isManagedFields();
+        _status = properties.isStatus();
+        _annotations = Set.copyOf(properties.getAnnotations());
+        _intern = properties.isIntern();
+    }
+
+    /**
+     * Trims an Ingress.
+     * @param ingress The {@link ExtensionsV1beta1Ingress} to trim.
+     * @return The same {@link ExtensionsV1beta1Ingress}.
+     */
+    public ExtensionsV1beta1Ingress trim(ExtensionsV1beta1Ingress ingress) {
+        ingress.setApiVersion(intern(ingress.getApiVersion()));
+        ingress.setKind(intern(ingress.getKind()));
+        trim(ingress.getMetadata());
+        if (_status) {
+            ingress.setStatus(null);
+        }
+        var spec = ingress.getSpec();
+        if (spec == null || !_intern) {
+            return ingress;
+        }
+        trim(spec.getBackend());
+        if (spec.getRules() != null) {
+            for (var rule : spec.getRules()) {
+                rule.setHost(intern(rule.getHost()));
+                if (rule.getHttp() != null && rule.getHttp().getPaths() != null) {
+                    for (var path : rule.getHttp().getPaths()) {
+                        path.setPath(intern(path.getPath()));
+                        trim(path.getBackend());
+                    }
+                }
+            }
+        }
+        if (spec.getTls() != null) {
+            for (var tls : spec.getTls()) {
+                tls.setSecretName(intern(tls.getSecretName()));
+                intern(tls.getHosts());
+            }
+        }
+        return ingress;
+    }
+
+    /**
+     * Trims a Service.
+     * @param service The {@link V1Service} to trim.
+     * @return The same {@link V1Service}.
+     */
+    public V1Service trim(V1Service service) {
+        service.setApiVersion(intern(service.getApiVersion()));
+        service.setKind(intern(service.getKind()));
+        trim(service.getMetadata());
+        if (_status) {
+            service.setStatus(null);
+        }
+        var spec = service.getSpec();
+        if (spec == null || !_intern) {
+            return service;
+        }
+        spec.setType(intern(spec.getType()));
+        spec.setExternalName(intern(spec.getExternalName()));
+        spec.setSessionAffinity(intern(spec.getSessionAffinity()));
+        spec.setSelector(intern(spec.getSelector()));
+        if (spec.getPorts() != null) {
+            for (var port : spec.getPorts()) {
+                port.setName(intern(port.getName()));
+                port.setProtocol(intern(port.getProtocol()));
+            }
+        }
+        return service;
+    }
+
+    private void trim(V1ObjectMeta metadata) {
+        if (metadata == null) {
+            return;
+        }
+        if (_managedFields) {
+            metadata.setManagedFields(null);
+        }
+        if (metadata.getAnnotations() != null && !_annotations.isEmpty()) {
+            metadata.getAnnotations().keySet().removeAll(_annotations);
+        }
+        if (!_intern) {
+            return;
+        }
+        metadata.setNamespace(intern(metadata.getNamespace()));
+        metadata.setGenerateName(intern(metadata.getGenerateName()));
+        metadata.setLabels(intern(metadata.getLabels()));
+        metadata.setAnnotations(intern(metadata.getAnnotations()));
+        intern(metadata.getFinalizers());
+        if (metadata.getOwnerReferences() != null) {
+            for (var owner : metadata.getOwnerReferences()) {
+                owner.setApiVersion(intern(owner.getApiVersion()));
+                owner.setKind(intern(owner.getKind()));
+            }
+        }
+    }
+
+    private void trim(ExtensionsV1beta1IngressBackend backend) {
+        if (backend != null) {
+            backend.setServiceName(intern(backend.getServiceName()));
+        }
+    }
+
+    private String intern(String value) {
+        return value != null && _intern ? value.intern() : value;
+    }
+
+    private void intern(List<String> values) {
+        if (values != null && _intern) {
+            values.replaceAll(this::intern);
+        }
+    }
+
+    private Map<String, String> intern(Map<String, String> values) {
+        if (values == null || !_intern) {
+            return values;
+        }
+        var interned = new HashMap<String, String>(values.size() * 4 / 3 + 1);
+        for (var entry : values.entrySet()) {
+            interned.put(intern(entry.getKey()), intern(entry.getValue()));
+        }
+        return interned;
+    }
+}
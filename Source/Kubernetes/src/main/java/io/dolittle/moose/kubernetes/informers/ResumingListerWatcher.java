@@ -0,0 +1,213 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link ListerWatcher} that resumes watching from the last seen resource version when the watch connection drops, instead of listing all resources again.
+ * The lists, watches and events are recorded in the {@link InformerMetrics} of the informer, also when resuming is turned off.
+ * The informer lists resources again every time a watch fails, so this answers that list itself from the resources in the informer store, and only keeps the resource version.
+ * The informer only lists again from a new run of its reflector, after the failed watch has returned, so the store has applied the watched changes by then.
+ * Watch bookmarks move the resource version forward without any changes, and if the Api Server no longer has the resource version (410 Gone) the next list goes to the Api Server.
+ * @param <ApiType> The type of resources to list and watch.
+ * @param <ApiListType> The type of the list of resources.
+ */
+@Slf4j
+public class ResumingListerWatcher<ApiType, ApiListType> implements ListerWatcher<ApiType, ApiListType> {
+    static final String BOOKMARK = "BOOKMARK";
+    static final String ERROR = "ERROR";
+    static final int GONE = 410;
+
+    private final ListerWatcher<ApiType, ApiListType> _listerWatcher;
+    private final String _resource;
+    private final Function<ApiType, V1ObjectMeta> _metadata;
+    private final Function<ApiListType, V1ListMeta> _listMetadata;
+    private final BiFunction<V1ListMeta, List<ApiType>, ApiListType> _list;
+    private final boolean _resume;
+    private final InformerMetrics _metrics;
+    private final Supplier<List<ApiType>> _stored;
+    private List<ApiType> _seed;
+    private volatile String _resourceVersion;
+    private String _settledResourceVersion;
+    private volatile String _relistReason = "initial";
+
+    /**
+     * Initializes a new instance of the {@link ResumingListerWatcher} class.
+     * @param listerWatcher The {@link ListerWatcher} that lists and watches resources from the Api Server.
+     * @param resource The name of the resources, used to tag the metrics.
+     * @param metadata A {@link Function} that gets the metadata of a resource.
+     * @param listMetadata A {@link Function} that gets the metadata of a list of resources.
+     * @param list A {@link BiFunction} that creates a list of resources.
+     * @param stored A {@link Supplier} of the resources in the informer store.
+     * @param resume Whether to resume from the last seen resource version, or to always list resources from the Api Server.
+     * @param metrics The {@link InformerMetrics} to record lists, watches and events in.
+     */
+    public ResumingListerWatcher(ListerWatcher<ApiType, ApiListType> listerWatcher, Function<ApiType, V1ObjectMeta> metadata, Function<ApiListType, V1ListMeta> listMetadata, BiFunction<V1ListMeta, List<ApiType>, ApiListType> list, Supplier<List<ApiType>> stored, boolean resume, InformerMetrics metrics) {
+        _listerWatcher = listerWatcher;
+        _resource = metrics.getResource();
+        _metadata = metadata;
+        _listMetadata = listMetadata;
+        _list = list;
+        _stored = stored;
+        _resume = resume;
+        _metrics = metrics;
+    }
+
+    /**
+     * Gets the name of the resources.
+     * @return The name of the resources.
+     */
+    public String getResource() {
+        return _resource;
+    }
+
+    /**
+     * Gets the last resource version that was seen.
+     * @return The resource version, or null if resources have not been listed yet, or the resource version has expired.
+     */
+    public String getResourceVersion() {
+        return _resourceVersion;
+    }
+
+    /**
+     * Seeds the resources and resource version from a {@link ResourceSnapshot}, so the first list is answered without the Api Server.
+     * The resources are only kept until they have been listed.
+     * If the resource version of the snapshot has expired, the resources are listed from the Api Server when the first watch fails.
+     * @param snapshot The {@link ResourceSnapshot} to seed from.
+     */
+    public synchronized void seed(ResourceSnapshot<ApiType> snapshot) {
+        log.info("Seeding {} {} from snapshot at resource version {} taken {}", snapshot.getResources().size(), _resource, snapshot.getResourceVersion(), snapshot.getTaken());
+        _seed = snapshot.getResources();
+        _resourceVersion = snapshot.getResourceVersion();
+    }
+
+    /**
+     * Takes a {@link ResourceSnapshot} of the resources in the informer store.
+     * The informer store is updated after the watch, so the snapshot gets the resource version that was seen when the previous snapshot was taken.
+     * Watching from an older resource version only repeats changes the resources already have.
+     * @return The {@link ResourceSnapshot}, or null if no resource version was seen when the previous snapshot was taken.
+     */
+    public synchronized ResourceSnapshot<ApiType> snapshot() {
+        var resourceVersion = _settledResourceVersion;
+        _settledResourceVersion = _resourceVersion;
+        if (resourceVersion == null) {
+            return null;
+        }
+        return new ResourceSnapshot<>(resourceVersion, _stored.get(), Instant.now());
+    }
+
+    @Override
+    public synchronized ApiListType list(CallGeneratorParams params) throws ApiException {
+        var resourceVersion = _resourceVersion;
+        if (_resume && resourceVersion != null) {
+            log.debug("Resuming {} from resource version {}", _resource, resourceVersion);
+            _metrics.resumed();
+            var resources = _seed != null ? _seed : _stored.get();
+            _seed = null;
+            return _list.apply(new V1ListMeta().resourceVersion(resourceVersion), resources);
+        }
+
+        log.info("Listing {} from the Api Server ({})", _resource, _relistReason);
+        _metrics.listed(_relistReason);
+        _seed = null;
+        var list = _listerWatcher.list(params);
+        var metadata = _listMetadata.apply(list);
+        _resourceVersion = metadata == null ? null : metadata.getResourceVersion();
+        _relistReason = "failed";
+        return list;
+    }
+
+    @Override
+    public synchronized Watchable<ApiType> watch(CallGeneratorParams params) throws ApiException {
+        var resourceVersion = _resume && _resourceVersion != null ? _resourceVersion : params.resourceVersion;
+        _metrics.watched();
+        try {
+            return new ResumingWatch(_listerWatcher.watch(new CallGeneratorParams(params.watch, resourceVersion, params.timeoutSeconds)));
+        } catch (ApiException e) {
+            if (e.getCode() == GONE) {
+                expire();
+            }
+            throw e;
+        }
+    }
+
+    private synchronized void expire() {
+        log.info("Resource version {} of {} has expired", _resourceVersion, _resource);
+        _resourceVersion = null;
+        _relistReason = "expired";
+    }
+
+    private void observe(Watch.Response<ApiType> response) {
+        var metadata = _metadata.apply(response.object);
+        if (metadata != null && metadata.getResourceVersion() != null) {
+            _resourceVersion = metadata.getResourceVersion();
+        }
+    }
+
+    private class ResumingWatch implements Watchable<ApiType> {
+        private final Watchable<ApiType> _watch;
+        private Watch.Response<ApiType> _next;
+
+        ResumingWatch(Watchable<ApiType> watch) {
+            _watch = watch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (_next == null && _watch.hasNext()) {
+                var response = _watch.next();
+                _metrics.received(response.type, response.object == null ? null : _metadata.apply(response.object));
+                if (ERROR.equals(response.type)) {
+                    if (response.status != null && response.status.getCode() != null && response.status.getCode() == GONE) {
+                        expire();
+                    }
+                    _next = response;
+                } else if (response.object != null) {
+                    observe(response);
+                    if (!BOOKMARK.equals(response.type)) {
+                        _next = response;
+                    }
+                }
+            }
+            return _next != null;
+        }
+
+        @Override
+        public Watch.Response<ApiType> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var response = _next;
+            _next = null;
+            return response;
+        }
+
+        @Override
+        public Iterator<Watch.Response<ApiType>> iterator() {
+            return this;
+        }
+
+        @Override
+        public void close() throws IOException {
+            _watch.close();
+        }
+    }
+}
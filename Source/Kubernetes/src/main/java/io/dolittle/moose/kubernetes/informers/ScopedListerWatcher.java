@@ -0,0 +1,268 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import com.google.gson.reflect.TypeToken;
+import com.google.protobuf.ByteString;
+
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * A {@link ListerWatcher} that only lists and watches resources in a set of allowed namespaces, and transforms the resources before they reach the informer store.
+ * With a single allowed namespace the namespaced API is used, so the API Server only sends resources from that namespace.
+ * The API Server cannot select a set of namespaces, so with more than one allowed namespace the resources from other namespaces are dropped before they reach the informer store.
+ * With a page size the resources are listed in pages, and every page is filtered and transformed before the next is requested, so only one page of untransformed resources is held at a time.
+ * With a {@link ProtobufDecoder} the resources are requested in the protobuf wire format, with JSON as the fallback the API Server can choose instead.
+ * @param <ApiType> The type of resources to list and watch.
+ * @param <ApiListType> The type of the list of resources.
+ */
+@Slf4j
+public class ScopedListerWatcher<ApiType, ApiListType> implements ListerWatcher<ApiType, ApiListType> {
+    private final ApiClient _apiClient;
+    private final ListCallGenerator _calls;
+    private final Function<ApiType, V1ObjectMeta> _metadata;
+    private final Function<ApiListType, List<ApiType>> _items;
+    private final Function<ApiListType, V1ListMeta> _listMetadata;
+    private final UnaryOperator<ApiType> _transform;
+    private final Set<String> _namespaces;
+    private final String _namespace;
+    private final Type _listType;
+    private final Type _watchType;
+    private final int _pageSize;
+    private final ProtobufDecoder<ApiType, ApiListType> _decoder;
+    private volatile boolean _protobufSupported = true;
+
+    /**
+     * Initializes a new instance of the {@link ScopedListerWatcher} class.
+     * @param apiClient The {@link ApiClient} used to interact with the Kubernetes Api Server.
+     * @param apiTypeClass The {@link Class} of the resources.
+     * @param apiListTypeClass The {@link Class} of the list of resources.
+     * @param calls The {@link ListCallGenerator} that creates the list and watch calls.
+     * @param metadata A {@link Function} that gets the metadata of a resource.
+     * @param items A {@link Function} that gets the resources in a list.
+     * @param listMetadata A {@link Function} that gets the metadata of a list.
+     * @param namespaces The namespaces to list and watch resources in, or an empty list for all namespaces.
+     * @param transform A {@link UnaryOperator} that transforms every resource before it is stored.
+     * @param pageSize The largest number of resources to request per page when listing, or 0 to list all resources at once.
+     * @param decoder The {@link ProtobufDecoder} used to decode resources in the protobuf wire format, or null to only use JSON.
+     */
+    public ScopedListerWatcher(ApiClient apiClient, Class<ApiType> apiTypeClass, Class<ApiListType> apiListTypeClass, ListCallGenerator calls, Function<ApiType, V1ObjectMeta> metadata, Function<ApiListType, List<ApiType>> items, Function<ApiListType, V1ListMeta> listMetadata, List<String> namespaces, UnaryOperator<ApiType> transform, int pageSize, ProtobufDecoder<ApiType, ApiListType> decoder) {
+        _apiClient = apiClient;
+        _calls = calls;
+        _metadata = metadata;
+        _items = items;
+        _listMetadata = listMetadata;
+        _transform = transform;
+        _namespaces = namespaces.stream().filter(namespace -> !namespace.isBlank()).collect(Collectors.toUnmodifiableSet());
+        _namespace = _namespaces.size() == 1 ? _namespaces.iterator().next() : null;
+        _listType = apiListTypeClass;
+        _watchType = TypeToken.getParameterized(Watch.Response.class, apiTypeClass).getType();
+        _pageSize = pageSize;
+        _decoder = decoder;
+    }
+
+    @Override
+    public ApiListType list(CallGeneratorParams params) throws ApiException {
+        if (_pageSize <= 0) {
+            return listPage(params, null, null);
+        }
+
+        var list = listPage(params, _pageSize, null);
+        var pages = 1;
+        var continueToken = continueToken(list);
+        while (continueToken != null) {
+            ApiListType page;
+            try {
+                page = listPage(params, _pageSize, continueToken);
+            } catch (ApiException e) {
+                if (e.getCode() != ResumingListerWatcher.GONE) {
+                    throw e;
+                }
+                log.warn("The list continue token expired after {} pages, listing all resources at once", pages);
+                return listPage(params, null, null);
+            }
+            var items = _items.apply(page);
+            if (items != null) {
+                _items.apply(list).addAll(items);
+            }
+            _listMetadata.apply(list).resourceVersion(_listMetadata.apply(page).getResourceVersion());
+            pages++;
+            continueToken = continueToken(page);
+        }
+        _listMetadata.apply(list)._continue(null);
+        log.debug("Listed {} resources in {} pages", _items.apply(list).size(), pages);
+        return list;
+    }
+
+    @Override
+    public Watchable<ApiType> watch(CallGeneratorParams params) throws ApiException {
+        var call = _calls.generate(_namespace, params, null, null);
+        Watchable<ApiType> watch = useProtobuf() ? watchNegotiated(call) : Watch.createWatch(_apiClient, call, _watchType);
+        return new ScopedWatch(watch);
+    }
+
+    private ApiListType listPage(CallGeneratorParams params, Integer limit, String continueToken) throws ApiException {
+        var call = _calls.generate(_namespace, params, limit, continueToken);
+        ApiListType list = useProtobuf() ? listNegotiated(call) : _apiClient.<ApiListType>execute(call, _listType).getData();
+        var items = _items.apply(list);
+        if (items != null) {
+            if (_namespaces.size() > 1) {
+                items.removeIf(resource -> !isAllowed(resource));
+            }
+            items.replaceAll(_transform);
+        }
+        return list;
+    }
+
+    private String continueToken(ApiListType list) {
+        var metadata = _listMetadata.apply(list);
+        if (metadata == null || metadata.getContinue() == null || metadata.getContinue().isEmpty()) {
+            return null;
+        }
+        return metadata.getContinue();
+    }
+
+    private boolean useProtobuf() {
+        return _decoder != null && _protobufSupported;
+    }
+
+    private ApiListType listNegotiated(Call call) throws ApiException {
+        try (var response = execute(call, ProtobufDecoders.CONTENT_TYPE + ", application/json")) {
+            if (ProtobufDecoders.isProtobuf(response.header("Content-Type"))) {
+                return _decoder.decodeList(ProtobufDecoders.unwrap(ByteString.readFrom(response.body().byteStream())));
+            }
+            fallback(response);
+            return _apiClient.getJSON().deserialize(response.body().string(), _listType);
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+    }
+
+    private Watchable<ApiType> watchNegotiated(Call call) throws ApiException {
+        var watchCall = _apiClient.getHttpClient().newCall(accept(call, ProtobufDecoders.CONTENT_TYPE + ";stream=watch, application/json;stream=watch"));
+        var response = execute(watchCall);
+        if (ProtobufDecoders.isProtobuf(response.header("Content-Type"))) {
+            return new ProtobufWatch<>(response.body(), watchCall, _decoder);
+        }
+        fallback(response);
+        return new Watch<ApiType>(_apiClient.getJSON(), response.body(), _watchType, watchCall) {};
+    }
+
+    private Response execute(Call call, String accept) throws ApiException {
+        return execute(_apiClient.getHttpClient().newCall(accept(call, accept)));
+    }
+
+    private Response execute(Call call) throws ApiException {
+        try {
+            var response = call.execute();
+            if (!response.isSuccessful()) {
+                try (response) {
+                    var body = response.body() == null ? null : response.body().string();
+                    throw new ApiException(response.message(), response.code(), response.headers().toMultimap(), body);
+                }
+            }
+            return response;
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+    }
+
+    private Request accept(Call call, String accept) {
+        return call.request().newBuilder().header("Accept", accept).build();
+    }
+
+    private void fallback(Response response) {
+        _protobufSupported = false;
+        log.info("The Api Server responded with {} instead of protobuf for {}, using JSON from now on", response.header("Content-Type"), response.request().url().encodedPath());
+    }
+
+    private boolean isAllowed(ApiType resource) {
+        if (_namespaces.size() <= 1) {
+            return true;
+        }
+        var metadata = _metadata.apply(resource);
+        return metadata != null && _namespaces.contains(metadata.getNamespace());
+    }
+
+    /**
+     * Defines a system that creates the calls to list and watch resources.
+     */
+    @FunctionalInterface
+    public interface ListCallGenerator {
+        /**
+         * Creates a call to list or watch resources.
+         * @param namespace The namespace to list resources in, or null for all namespaces.
+         * @param params The {@link CallGeneratorParams} from the informer.
+         * @param limit The largest number of resources to list, or null to list all of them.
+         * @param continueToken The continue token from the previous page of the list, or null for the first page.
+         * @return The {@link Call}.
+         * @throws ApiException If the call could not be created.
+         */
+        Call generate(String namespace, CallGeneratorParams params, Integer limit, String continueToken) throws ApiException;
+    }
+
+    private class ScopedWatch implements Watchable<ApiType> {
+        private final Watchable<ApiType> _watch;
+        private Watch.Response<ApiType> _next;
+
+        ScopedWatch(Watchable<ApiType> watch) {
+            _watch = watch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (_next == null && _watch.hasNext()) {
+                var response = _watch.next();
+                if (response.object == null || ResumingListerWatcher.BOOKMARK.equals(response.type)) {
+                    _next = response;
+                } else if (isAllowed(response.object)) {
+                    response.object = _transform.apply(response.object);
+                    _next = response;
+                }
+            }
+            return _next != null;
+        }
+
+        @Override
+        public Watch.Response<ApiType> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var response = _next;
+            _next = null;
+            return response;
+        }
+
+        @Override
+        public Iterator<Watch.Response<ApiType>> iterator() {
+            return this;
+        }
+
+        @Override
+        public void close() throws IOException {
+            _watch.close();
+        }
+    }
+}
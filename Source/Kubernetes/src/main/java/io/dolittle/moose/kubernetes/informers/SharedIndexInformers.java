@@ -3,9 +3,21 @@
 
 package io.dolittle.moose.kubernetes.informers;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties;
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties.SnapshotProperties;
+import io.kubernetes.client.informer.ResourceEventHandler;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.ApiClient;
@@ -15,41 +27,71 @@ import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
 import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressList;
 import io.kubernetes.client.openapi.models.V1Service;
 import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * An implementation of {@link ICanProvideInformers} that uses the Kubernetes {@link SharedInformerFactory}.
+ * Each informer is created and started the first time it is requested, so resources that are never used are never listed or watched.
  */
 @Service
 @Slf4j
 public class SharedIndexInformers implements ICanProvideInformers {
     private final SharedInformerFactory _informerFactory;
-    private final SharedIndexInformer<ExtensionsV1beta1Ingress> _ingressInformer;
-    private final SharedIndexInformer<V1Service> _serviceInformer;
+    private final ApiClient _apiClient;
+    private final KubernetesProperties _properties;
+    private final MeterRegistry _registry;
+    private final ResourceTrimmer _trimmer;
+    private final boolean _resume;
+    private final boolean _protobuf;
+    private final int _pageSize;
+    private final InformerMetrics _ingressMetrics;
+    private final InformerMetrics _serviceMetrics;
+    private final SnapshotProperties _snapshots;
+    private final List<SnapshotWriter<?>> _snapshotWriters = new CopyOnWriteArrayList<>();
+    private volatile SharedIndexInformer<ExtensionsV1beta1Ingress> _ingressInformer;
+    private volatile SharedIndexInformer<V1Service> _serviceInformer;
+    private Disposable _snapshotTask;
+    private boolean _stopped;
 
     /**
      * Initializes a new instance of the {@link SharedIndexInformers} class.
      * @param apiClient The {@link ApiClient} used to interact with the Kubernetes Api Server.
+     * @param properties The {@link KubernetesProperties} that configures the scope, trimming, paging, resuming, wire format and indexes of the informers.
+     * @param registry The {@link MeterRegistry} to register the metrics of the informers in.
      */
     @Autowired
-    public SharedIndexInformers(ApiClient apiClient) {
+    public SharedIndexInformers(ApiClient apiClient, KubernetesProperties properties, MeterRegistry registry) {
         _informerFactory = new SharedInformerFactory(apiClient);
+        _apiClient = apiClient;
+        _properties = properties;
+        _registry = registry;
+        _trimmer = new ResourceTrimmer(properties.getInformers().getTrim());
+        _resume = properties.getInformers().getWatch().isResume();
+        _protobuf = properties.getInformers().isProtobuf();
+        _pageSize = properties.getInformers().getPageSize();
+        _snapshots = properties.getInformers().getSnapshot();
+        _ingressMetrics = new InformerMetrics("ingresses", registry);
+        _serviceMetrics = new InformerMetrics("services", registry);
+        if (_snapshots.isEnabled() && !_resume) {
+            log.warn("Informer snapshots are only taken when watches are resumed");
+        }
+    }
 
-        var extensionsV1beta1Api = new ExtensionsV1beta1Api(apiClient);
-        _ingressInformer = _informerFactory.sharedIndexInformerFor(
-            (params) -> extensionsV1beta1Api.listIngressForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null),
-            ExtensionsV1beta1Ingress.class,
-            ExtensionsV1beta1IngressList.class);
-        
-        var coreV1Api = new CoreV1Api(apiClient);
-        _serviceInformer = _informerFactory.sharedIndexInformerFor(
-            (params) -> coreV1Api.listServiceForAllNamespacesCall(null, null, null, null, null, null, params.resourceVersion, params.timeoutSeconds, params.watch, null),
-            V1Service.class,
-            V1ServiceList.class);
-
-
-        log.debug("Starting shared index informers");
-        _informerFactory.startAllRegisteredInformers();
+    /**
+     * Stops taking periodic snapshots of the informer caches, and takes a final snapshot.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        _stopped = true;
+        if (_snapshotTask != null) {
+            _snapshotTask.dispose();
+        }
+        writeSnapshots();
     }
 
     @Override
@@ -60,12 +102,152 @@ public class SharedIndexInformers implements ICanProvideInformers {
     @Override
     public SharedIndexInformer<ExtensionsV1beta1Ingress> getIngressInformer() {
         log.warn("GetIngressInformer");
-        return _ingressInformer;
+        var informer = _ingressInformer;
+        return informer != null ? informer : startIngressInformer();
     }
     
     @Override
     public SharedIndexInformer<V1Service> getServiceInformer() {
         log.warn("GetServiceInformer");
-        return _serviceInformer;
+        var informer = _serviceInformer;
+        return informer != null ? informer : startServiceInformer();
+    }
+
+    @Override
+    public void addIngressEventHandler(String name, ResourceEventHandler<ExtensionsV1beta1Ingress> handler) {
+        getIngressInformer().addEventHandler(_ingressMetrics.instrument(name, handler, ExtensionsV1beta1Ingress::getMetadata));
+    }
+
+    @Override
+    public void addServiceEventHandler(String name, ResourceEventHandler<V1Service> handler) {
+        getServiceInformer().addEventHandler(_serviceMetrics.instrument(name, handler, V1Service::getMetadata));
+    }
+
+    private synchronized SharedIndexInformer<ExtensionsV1beta1Ingress> startIngressInformer() {
+        if (_ingressInformer != null) {
+            return _ingressInformer;
+        }
+        var extensionsV1beta1Api = new ExtensionsV1beta1Api(_apiClient);
+        var ingresses = _properties.getInformers().getIngresses();
+        var listerWatcher = new ResumingListerWatcher<>(
+            new ScopedListerWatcher<>(_apiClient, ExtensionsV1beta1Ingress.class, ExtensionsV1beta1IngressList.class,
+                (namespace, params, limit, continueToken) -> namespace == null
+                    ? extensionsV1beta1Api.listIngressForAllNamespacesCall(bookmarks(params), continueToken, selector(ingresses.getFieldSelector()), selector(ingresses.getLabelSelector()), limit, null, params.resourceVersion, params.timeoutSeconds, params.watch, null)
+                    : extensionsV1beta1Api.listNamespacedIngressCall(namespace, null, bookmarks(params), continueToken, selector(ingresses.getFieldSelector()), selector(ingresses.getLabelSelector()), limit, params.resourceVersion, params.timeoutSeconds, params.watch, null),
+                ExtensionsV1beta1Ingress::getMetadata,
+                ExtensionsV1beta1IngressList::getItems,
+                ExtensionsV1beta1IngressList::getMetadata,
+                ingresses.getNamespaces(),
+                _trimmer::trim,
+                _pageSize,
+                _protobuf ? ProtobufDecoders.INGRESSES : null),
+            ExtensionsV1beta1Ingress::getMetadata,
+            ExtensionsV1beta1IngressList::getMetadata,
+            (metadata, items) -> new ExtensionsV1beta1IngressList().metadata(metadata).items(items),
+            () -> _ingressInformer.getIndexer().list(),
+            _resume,
+            _ingressMetrics);
+        snapshot(listerWatcher, ExtensionsV1beta1Ingress.class);
+        var informer = _informerFactory.sharedIndexInformerFor(listerWatcher, ExtensionsV1beta1Ingress.class, 0);
+        // Indexers can only be added before the informer is started
+        informer.addIndexers(IngressIndexes.createIndexers(_properties.getIndexes().getAnnotations()));
+        // Assigned before it is started, so the lister-watcher can answer resumed lists from the informer store
+        _ingressInformer = informer;
+        start(informer, _ingressMetrics);
+        return informer;
+    }
+
+    private synchronized SharedIndexInformer<V1Service> startServiceInformer() {
+        if (_serviceInformer != null) {
+            return _serviceInformer;
+        }
+        var coreV1Api = new CoreV1Api(_apiClient);
+        var services = _properties.getInformers().getServices();
+        var listerWatcher = new ResumingListerWatcher<>(
+            new ScopedListerWatcher<>(_apiClient, V1Service.class, V1ServiceList.class,
+                (namespace, params, limit, continueToken) -> namespace == null
+                    ? coreV1Api.listServiceForAllNamespacesCall(bookmarks(params), continueToken, selector(services.getFieldSelector()), selector(services.getLabelSelector()), limit, null, params.resourceVersion, params.timeoutSeconds, params.watch, null)
+                    : coreV1Api.listNamespacedServiceCall(namespace, null, bookmarks(params), continueToken, selector(services.getFieldSelector()), selector(services.getLabelSelector()), limit, params.resourceVersion, params.timeoutSeconds, params.watch, null),
+                V1Service::getMetadata,
+                V1ServiceList::getItems,
+                V1ServiceList::getMetadata,
+                services.getNamespaces(),
+                _trimmer::trim,
+                _pageSize,
+                _protobuf ? ProtobufDecoders.SERVICES : null),
+            V1Service::getMetadata,
+            V1ServiceList::getMetadata,
+            (metadata, items) -> new V1ServiceList().metadata(metadata).items(items),
+            () -> _serviceInformer.getIndexer().list(),
+            _resume,
+            _serviceMetrics);
+        snapshot(listerWatcher, V1Service.class);
+        var informer = _informerFactory.sharedIndexInformerFor(listerWatcher, V1Service.class, 0);
+        // Assigned before it is started, so the lister-watcher can answer resumed lists from the informer store
+        _serviceInformer = informer;
+        start(informer, _serviceMetrics);
+        return informer;
+    }
+
+    private void start(SharedIndexInformer<?> informer, InformerMetrics metrics) {
+        _registry.gauge("informers.cache.size", Tags.of("resource", metrics.getResource()), informer, started -> started.getIndexer().listKeys().size());
+        log.debug("Starting shared index informer for {}", metrics.getResource());
+        _informerFactory.startAllRegisteredInformers();
+
+        if (_snapshotTask == null && !_stopped && !_snapshotWriters.isEmpty()) {
+            var interval = _snapshots.getInterval().toMillis();
+            _snapshotTask = Schedulers.io().schedulePeriodicallyDirect(this::writeSnapshots, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private <ApiType> void snapshot(ResumingListerWatcher<ApiType, ?> listerWatcher, Class<ApiType> apiTypeClass) {
+        if (!_resume || !_snapshots.isEnabled()) return;
+        var file = new ResourceSnapshotFile<>(Path.of(_snapshots.getDirectory(), listerWatcher.getResource() + ".snapshot"), apiTypeClass, _apiClient.getJSON());
+        var snapshot = file.read();
+        if (snapshot != null) {
+            if (snapshot.getTaken().plus(_snapshots.getMaxAge()).isAfter(Instant.now())) {
+                listerWatcher.seed(snapshot);
+            } else {
+                log.info("Ignoring snapshot {} taken {}", file.getPath(), snapshot.getTaken());
+            }
+        }
+        _snapshotWriters.add(new SnapshotWriter<>(listerWatcher, file));
+    }
+
+    private void writeSnapshots() {
+        for (var writer : _snapshotWriters) {
+            writer.write();
+        }
+    }
+
+    private Boolean bookmarks(CallGeneratorParams params) {
+        return _resume && Boolean.TRUE.equals(params.watch) ? Boolean.TRUE : null;
+    }
+
+    private static String selector(String selector) {
+        return selector == null || selector.isBlank() ? null : selector;
+    }
+
+    private static class SnapshotWriter<ApiType> {
+        private final ResumingListerWatcher<ApiType, ?> _listerWatcher;
+        private final ResourceSnapshotFile<ApiType> _file;
+        private String _written;
+
+        SnapshotWriter(ResumingListerWatcher<ApiType, ?> listerWatcher, ResourceSnapshotFile<ApiType> file) {
+            _listerWatcher = listerWatcher;
+            _file = file;
+        }
+
+        synchronized void write() {
+            var snapshot = _listerWatcher.snapshot();
+            if (snapshot == null || snapshot.getResourceVersion().equals(_written)) return;
+            try {
+                _file.write(snapshot);
+                _written = snapshot.getResourceVersion();
+                log.debug("Wrote snapshot {} at resource version {}", _file.getPath(), _written);
+            } catch (IOException e) {
+                log.warn("Could not write snapshot {}", _file.getPath(), e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
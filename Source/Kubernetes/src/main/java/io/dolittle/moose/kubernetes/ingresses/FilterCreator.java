@@ -22,6 +22,6 @@ public class FilterCreator implements ICanCreateIngressFilters {
 
     @Override
     public Predicate<Ingress> annotationsFilter(Annotation... annotations) {
-        return (ingress) -> ingress.getAnnotations().contains(annotations);
+        return (ingress) -> ingress.hasAnnotations(annotations);
     }
 }
\ No newline at end of file
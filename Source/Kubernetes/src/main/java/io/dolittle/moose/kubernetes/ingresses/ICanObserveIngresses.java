@@ -5,6 +5,7 @@ package io.dolittle.moose.kubernetes.ingresses;
 
 import io.dolittle.moose.kubernetes.Annotation;
 import io.dolittle.moose.kubernetes.Namespace;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange;
 import io.reactivex.rxjava3.core.Observable;
 
 /**
@@ -38,4 +39,18 @@ public interface ICanObserveIngresses {
      * @return An {@link Observable} of type {@link Iterable} of type {@link Ingress}.
      */
     Observable<Iterable<Ingress>> observeIngressesInNamespaceWithAnnotations(Namespace namespace, Annotation... annotations);
+
+    /**
+     * Observe the changes to all {@link Ingress} in all namespaces that matches a list of annotations.
+     * Every {@link Ingress} that exists when subscribing is emitted as added, followed by the changes as they happen.
+     * @param annotations The list of {@link Annotation} to match.
+     * @return An {@link Observable} of type {@link ResourceChange} of type {@link Ingress}.
+     */
+    Observable<ResourceChange<Ingress>> observeAllIngressChangesWithAnnotations(Annotation... annotations);
+
+    /**
+     * Checks whether the initial list of {@link Ingress} has been received from the Api Server, or seeded from a snapshot.
+     * @return True if the {@link Ingress} have been synced, false if not.
+     */
+    boolean hasSynced();
 }
\ No newline at end of file
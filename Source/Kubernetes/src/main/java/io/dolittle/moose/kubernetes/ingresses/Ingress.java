@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import io.dolittle.moose.kubernetes.Annotation;
 import io.dolittle.moose.kubernetes.Annotations;
@@ -35,17 +36,17 @@ import lombok.experimental.Accessors;
 
 /**
  * Represents a Kubernetes Ingress.
+ * An {@link Ingress} that is converted from a Kubernetes {@link ExtensionsV1beta1Ingress} is a view over that object,
+ * and only converts the parts that are accessed, so filtering Ingresses allocates very little.
  */
-@Value
-@Accessors(prefix = { "_" })
-@AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class Ingress implements INamespaceResource {
-    private final @NonNull Namespace _namespace;
-    private final @NonNull IngressName _name;
-    private final @NonNull Labels _labels;
-    private final @NonNull Annotations _annotations;
-    private final @NonNull Iterable<TlsSecret> _tls;
-    private final @NonNull Iterable<HostRule> _rules;
+public final class Ingress implements INamespaceResource {
+    private final ExtensionsV1beta1Ingress _source;
+    private volatile Namespace _namespace;
+    private volatile IngressName _name;
+    private volatile Labels _labels;
+    private volatile Annotations _annotations;
+    private volatile Iterable<TlsSecret> _tls;
+    private volatile Iterable<HostRule> _rules;
 
     /**
      * Initializes a new instance of the {@link Ingress} class.
@@ -53,12 +54,114 @@ public class Ingress implements INamespaceResource {
      * @param name The {@link IngressName} of the {@link Ingress}.
      */
     public Ingress(@NonNull Namespace namespace, @NonNull IngressName name) {
+        this(namespace, name, Labels.empty(), Annotations.empty(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    private Ingress(@NonNull Namespace namespace, @NonNull IngressName name, @NonNull Labels labels, @NonNull Annotations annotations, @NonNull Iterable<TlsSecret> tls, @NonNull Iterable<HostRule> rules) {
+        _source = null;
         _namespace = namespace;
         _name = name;
-        _labels = Labels.empty();
-        _annotations = Annotations.empty();
-        _tls = Collections.emptyList();
-        _rules = Collections.emptyList();
+        _labels = labels;
+        _annotations = annotations;
+        _tls = tls;
+        _rules = rules;
+    }
+
+    private Ingress(@NonNull ExtensionsV1beta1Ingress source) {
+        _source = source;
+    }
+
+    @Override
+    public Namespace getNamespace() {
+        var namespace = _namespace;
+        if (namespace == null) {
+            namespace = new Namespace(_source.getMetadata().getNamespace());
+            _namespace = namespace;
+        }
+        return namespace;
+    }
+
+    @Override
+    public IngressName getName() {
+        var name = _name;
+        if (name == null) {
+            name = new IngressName(_source.getMetadata().getName());
+            _name = name;
+        }
+        return name;
+    }
+
+    /**
+     * Gets the labels of the {@link Ingress}.
+     * @return The {@link Labels}.
+     */
+    public Labels getLabels() {
+        var labels = _labels;
+        if (labels == null) {
+            labels = Labels.from(_source.getMetadata());
+            _labels = labels;
+        }
+        return labels;
+    }
+
+    /**
+     * Gets the annotations of the {@link Ingress}.
+     * @return The {@link Annotations}.
+     */
+    public Annotations getAnnotations() {
+        var annotations = _annotations;
+        if (annotations == null) {
+            annotations = Annotations.from(_source.getMetadata());
+            _annotations = annotations;
+        }
+        return annotations;
+    }
+
+    /**
+     * Gets the TLS configuration of the {@link Ingress}.
+     * @return An {@link Iterable} of type {@link TlsSecret}.
+     */
+    public Iterable<TlsSecret> getTls() {
+        var tls = _tls;
+        if (tls == null) {
+            tls = _source.getSpec() == null ? Collections.emptyList() : TlsSecret.from(_source.getSpec().getTls());
+            _tls = tls;
+        }
+        return tls;
+    }
+
+    /**
+     * Gets the host rules of the {@link Ingress}.
+     * @return An {@link Iterable} of type {@link HostRule}.
+     */
+    public Iterable<HostRule> getRules() {
+        var rules = _rules;
+        if (rules == null) {
+            rules = _source.getSpec() == null ? Collections.emptyList() : HostRule.from(_source.getSpec().getRules());
+            _rules = rules;
+        }
+        return rules;
+    }
+
+    /**
+     * Checks whether or not the {@link Ingress} has all of the given list of {@link Annotation}.
+     * The annotations of a Kubernetes object are checked directly, without converting them.
+     * @param annotations The list of {@link Annotation} to check.
+     * @return {@literal true} if the {@link Ingress} has all of the annotations, {@literal false} if not.
+     */
+    public boolean hasAnnotations(Annotation... annotations) {
+        if (_annotations != null || _source == null) {
+            return getAnnotations().contains(annotations);
+        }
+        var metadata = _source.getMetadata();
+        var existing = metadata == null ? null : metadata.getAnnotations();
+        for (var annotation : annotations) {
+            var value = existing == null ? null : existing.get(annotation.getKey());
+            if (value == null || !value.equals(annotation.getValue())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -69,7 +172,7 @@ public class Ingress implements INamespaceResource {
      */
     public Ingress withLabels(Label... labels) throws LabelsAlreadyContainLabelWithKey {
         if (labels.length == 0) return this;
-        return new Ingress(_namespace, _name, _labels.with(labels), _annotations, _tls, _rules);
+        return new Ingress(getNamespace(), getName(), getLabels().with(labels), getAnnotations(), getTls(), getRules());
     }
 
     /**
@@ -80,7 +183,7 @@ public class Ingress implements INamespaceResource {
      */
     public Ingress withAnnotations(Annotation... annotations) throws AnnotationsAlreadyContainAnnotationWithKey {
         if (annotations.length == 0) return this;
-        return new Ingress(_namespace, _name, _labels, _annotations.with(annotations), _tls, _rules);
+        return new Ingress(getNamespace(), getName(), getLabels(), getAnnotations().with(annotations), getTls(), getRules());
     }
 
     /**
@@ -90,9 +193,9 @@ public class Ingress implements INamespaceResource {
      */
     public Ingress withTls(TlsSecret... tlss) {
         if (tlss.length == 0) return this;
-        var newTls = Arrays.asList(tlss);
-        _tls.forEach(newTls::add);
-        return new Ingress(_namespace, _name, _labels, _annotations, newTls, _rules);
+        var newTls = new ArrayList<>(Arrays.asList(tlss));
+        getTls().forEach(newTls::add);
+        return new Ingress(getNamespace(), getName(), getLabels(), getAnnotations(), newTls, getRules());
     }
 
     /**
@@ -102,9 +205,9 @@ public class Ingress implements INamespaceResource {
      */
     public Ingress withHosts(HostRule... rules) {
         if (rules.length == 0) return this;
-        var newRules = Arrays.asList(rules);
-        _rules.forEach(newRules::add);
-        return new Ingress(_namespace, _name, _labels, _annotations, _tls, newRules);
+        var newRules = new ArrayList<>(Arrays.asList(rules));
+        getRules().forEach(newRules::add);
+        return new Ingress(getNamespace(), getName(), getLabels(), getAnnotations(), getTls(), newRules);
     }
 
     /**
@@ -116,34 +219,54 @@ public class Ingress implements INamespaceResource {
             .apiVersion("extensions/v1beta1")
             .kind("Ingress")
             .metadata(new V1ObjectMeta()
-                .namespace(_namespace.getValue())
-                .name(_name.getValue())
-                .annotations(_annotations.toKubernetes())
-                .labels(_labels.toKubernetes()))
+                .namespace(getNamespace().getValue())
+                .name(getName().getValue())
+                .annotations(getAnnotations().toKubernetes())
+                .labels(getLabels().toKubernetes()))
             .spec(new ExtensionsV1beta1IngressSpec()
-                .tls(TlsSecret.toKubernetes(_tls))
-                .rules(HostRule.toKubernetes(_rules)));
+                .tls(TlsSecret.toKubernetes(getTls()))
+                .rules(HostRule.toKubernetes(getRules())));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Ingress)) return false;
+        var other = (Ingress) obj;
+        if (_source != null && _source == other._source) return true;
+        return getNamespace().equals(other.getNamespace())
+            && getName().equals(other.getName())
+            && getLabels().equals(other.getLabels())
+            && getAnnotations().equals(other.getAnnotations())
+            && getTls().equals(other.getTls())
+            && getRules().equals(other.getRules());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getNamespace(), getName(), getLabels(), getAnnotations(), getTls(), getRules());
+    }
+
+    @Override
+    public String toString() {
+        return "Ingress(namespace=" + getNamespace() + ", name=" + getName() + ", labels=" + getLabels() + ", annotations=" + getAnnotations() + ", tls=" + getTls() + ", rules=" + getRules() + ")";
     }
 
     /**
      * Converts a Kubernetes {@link ExtensionsV1beta1Ingress} to an {@link Ingress}.
+     * The returned {@link Ingress} is a view over the given object, which must not be modified afterwards.
      * @param ingress The {@link ExtensionsV1beta1Ingress} to copy values from.
      * @return The converted {@link Ingress}.
      */
     public static Ingress from(ExtensionsV1beta1Ingress ingress) {
-        return new Ingress(
-            new Namespace(ingress.getMetadata().getNamespace()),
-            new IngressName(ingress.getMetadata().getName()),
-            Labels.from(ingress.getMetadata()),
-            Annotations.from(ingress.getMetadata()),
-            TlsSecret.from(ingress.getSpec().getTls()),
-            HostRule.from(ingress.getSpec().getRules()));
+        return new Ingress(ingress);
     }
 
     /**
      * Represents a Kubernetes Ingress TLS.
      */
     @Value
+    @Accessors(prefix = "_")
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
     public static class TlsSecret {
         private final @NonNull Iterable<Hostname> _hosts;
@@ -164,7 +287,7 @@ public class Ingress implements INamespaceResource {
          * @return A new {@link TlsSecret} with the added set of {@link Hostname}.
          */
         public TlsSecret withHostnames(Hostname... hostnames) {
-            var hosts = Arrays.asList(hostnames);
+            var hosts = new ArrayList<>(Arrays.asList(hostnames));
             _hosts.forEach(hosts::add);
             return new TlsSecret(hosts, _name);
         }
@@ -197,8 +320,12 @@ public class Ingress implements INamespaceResource {
          * @return The converted {@link TlsSecret}.
          */
         public static TlsSecret from(ExtensionsV1beta1IngressTLS tls) {
+            var hosts = new ArrayList<Hostname>();
+            if (tls.getHosts() != null) {
+                tls.getHosts().forEach((host) -> hosts.add(new Hostname(host)));
+            }
             return new TlsSecret(
-                tls.getHosts().stream().map((host) -> new Hostname(host))::iterator,
+                Collections.unmodifiableList(hosts),
                 new SecretName(tls.getSecretName()));
         }
 
@@ -209,7 +336,9 @@ public class Ingress implements INamespaceResource {
          */
         public static Iterable<TlsSecret> from(List<ExtensionsV1beta1IngressTLS> tlss) {
             if (tlss == null) return Collections.emptyList();
-            return tlss.stream().map(TlsSecret::from)::iterator;
+            var secrets = new ArrayList<TlsSecret>(tlss.size());
+            tlss.forEach((tls) -> secrets.add(TlsSecret.from(tls)));
+            return Collections.unmodifiableList(secrets);
         }
     }
 
@@ -217,6 +346,7 @@ public class Ingress implements INamespaceResource {
      * Represents a Kubernetes Ingress Rule.
      */
     @Value
+    @Accessors(prefix = "_")
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
     public static class HostRule {
         private final @NonNull Hostname _host;
@@ -237,7 +367,7 @@ public class Ingress implements INamespaceResource {
          * @return A new {@link HostRule} with the added set of {@link PathRule}.
          */
         public HostRule withPaths(PathRule... rules) {
-            var paths = Arrays.asList(rules);
+            var paths = new ArrayList<>(Arrays.asList(rules));
             _paths.forEach(paths::add);
             return new HostRule(_host, paths);
         }
@@ -271,9 +401,13 @@ public class Ingress implements INamespaceResource {
          * @return The converted {@link HostRule}.
          */
         public static HostRule from(ExtensionsV1beta1IngressRule rule) {
+            var paths = new ArrayList<PathRule>();
+            if (rule.getHttp() != null && rule.getHttp().getPaths() != null) {
+                rule.getHttp().getPaths().forEach((path) -> paths.add(PathRule.from(path)));
+            }
             return new HostRule(
                 new Hostname(rule.getHost()),
-                rule.getHttp().getPaths().stream().map(PathRule::from)::iterator);
+                Collections.unmodifiableList(paths));
         }
 
         /**
@@ -283,7 +417,9 @@ public class Ingress implements INamespaceResource {
          */
         public static Iterable<HostRule> from(List<ExtensionsV1beta1IngressRule> rules) {
             if (rules == null) return Collections.emptyList();
-            return rules.stream().map(HostRule::from)::iterator;
+            var hostRules = new ArrayList<HostRule>(rules.size());
+            rules.forEach((rule) -> hostRules.add(HostRule.from(rule)));
+            return Collections.unmodifiableList(hostRules);
         }
     }
 
@@ -291,6 +427,7 @@ public class Ingress implements INamespaceResource {
      * Represents a Kubernetes Ingress Path specification.
      */
     @Value
+    @Accessors(prefix = "_")
     public static class PathRule {
         private final Path _path;
         private final ServiceName _name;
@@ -325,6 +462,7 @@ public class Ingress implements INamespaceResource {
      * Represents a Kubernetes Ingress Hostname.
      */
     @Value
+    @Accessors(prefix = "_")
     public static class Hostname {
         private final @NonNull String _value;
     }
@@ -333,6 +471,7 @@ public class Ingress implements INamespaceResource {
      * Represents a Kubernetes Ingress Path.
      */
     @Value
+    @Accessors(prefix = "_")
     public static class Path {
         private final @NonNull String _value;
     }
@@ -3,32 +3,41 @@
 
 package io.dolittle.moose.kubernetes.ingresses;
 
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import io.dolittle.moose.kubernetes.Annotation;
 import io.dolittle.moose.kubernetes.Namespace;
 import io.dolittle.moose.kubernetes.informers.ICanProvideInformers;
+import io.dolittle.moose.kubernetes.informers.IngressIndexes;
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties;
 import io.kubernetes.client.informer.cache.Indexer;
 import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
 
 /**
  * An implementation of {@link ICanListIngresses} that uses {@link ICanProvideInformers} to get Ingresses.
+ * Queries are answered from the {@link IngressIndexes} of the informer, so only the Ingresses in the smallest matching index are converted and filtered.
  */
 @Component
 public class IngressLister implements ICanListIngresses {
     private final Indexer<ExtensionsV1beta1Ingress> _indexer;
     private final ICanCreateIngressFilters _filterCreator;
+    private final Set<String> _indexedAnnotations;
 
     /**
      * Initializes a new instance of the {@link IngressLister} class.
      * @param informers The {@link ICanProvideInformers} to use to get Ingresses.
      * @param filterCreator The {@link ICanCreateIngressFilters} to use to create Ingress filters.
+     * @param properties The {@link KubernetesProperties} that configures which annotations are indexed.
      */
     @Autowired
-    public IngressLister(ICanProvideInformers informers, ICanCreateIngressFilters filterCreator) {
+    public IngressLister(ICanProvideInformers informers, ICanCreateIngressFilters filterCreator, KubernetesProperties properties) {
         _indexer = informers.getIngressInformer().getIndexer();
         _filterCreator = filterCreator;
+        _indexedAnnotations = Set.copyOf(properties.getIndexes().getAnnotations());
     }
 
     @Override
@@ -39,18 +48,34 @@ public class IngressLister implements ICanListIngresses {
     @Override
     public Iterable<Ingress> getAllIngressesWithAnnotations(Annotation... annotations) {
         var filter = _filterCreator.annotationsFilter(annotations);
-        return _indexer.list().stream().map(Ingress::from).filter(filter)::iterator;
+        return candidates(null, annotations).stream().map(Ingress::from).filter(filter)::iterator;
     }
     
     @Override
     public Iterable<Ingress> getIngressesInNamespace(Namespace namespace) {
-        var filter = _filterCreator.namespaceFilter(namespace);
-        return _indexer.list().stream().map(Ingress::from).filter(filter)::iterator;
+        return candidates(namespace).stream().map(Ingress::from)::iterator;
     }
     
     @Override
     public Iterable<Ingress> getIngressesInNamespaceWithAnnotations(Namespace namespace, Annotation... annotations) {
         var filter = _filterCreator.namespaceFilter(namespace).and(_filterCreator.annotationsFilter(annotations));
-        return _indexer.list().stream().map(Ingress::from).filter(filter)::iterator;
+        return candidates(namespace, annotations).stream().map(Ingress::from).filter(filter)::iterator;
+    }
+
+    private List<ExtensionsV1beta1Ingress> candidates(Namespace namespace, Annotation... annotations) {
+        List<ExtensionsV1beta1Ingress> smallest = null;
+        if (namespace != null) {
+            smallest = _indexer.byIndex(IngressIndexes.NAMESPACE, namespace.getValue());
+        }
+        for (var annotation : annotations) {
+            if (!_indexedAnnotations.contains(annotation.getKey())) {
+                continue;
+            }
+            var matches = _indexer.byIndex(IngressIndexes.ANNOTATION, IngressIndexes.annotationValue(annotation));
+            if (smallest == null || matches.size() < smallest.size()) {
+                smallest = matches;
+            }
+        }
+        return smallest != null ? smallest : _indexer.list();
     }
-}
\ No newline at end of file
+}
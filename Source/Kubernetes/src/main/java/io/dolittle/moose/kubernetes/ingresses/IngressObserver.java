@@ -3,64 +3,98 @@
 
 package io.dolittle.moose.kubernetes.ingresses;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import io.dolittle.moose.kubernetes.Annotation;
 import io.dolittle.moose.kubernetes.Namespace;
-import io.dolittle.moose.kubernetes.eventhandlers.ListObservableEventHandler;
+import io.dolittle.moose.kubernetes.eventhandlers.ObservableResourceList;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange;
+import io.dolittle.moose.kubernetes.eventhandlers.SharedObservableEventHandler;
 import io.dolittle.moose.kubernetes.informers.ICanProvideInformers;
-import io.kubernetes.client.informer.SharedInformer;
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties;
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties.EmissionProperties;
+import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
  * An implementation of {@link ICanObserveIngresses} that uses {@link ICanProvideInformers} to get events about Ingresses.
+ * A single {@link SharedObservableEventHandler} converts every Ingress once, and all the observables are filtered views of its changes.
+ * The lists of Ingresses are shared between subscribers with the same filter, and stop observing the changes when the last subscriber is disposed.
  */
 @Component
 public class IngressObserver implements ICanObserveIngresses {
-    private final SharedInformer<ExtensionsV1beta1Ingress> _informer;
+    private final SharedIndexInformer<ExtensionsV1beta1Ingress> _informer;
     private final ICanCreateIngressFilters _filterCreator;
+    private final EmissionProperties _emission;
+    private final SharedObservableEventHandler<ExtensionsV1beta1Ingress, Ingress> _ingresses;
+    private final Map<String, Observable<Iterable<Ingress>>> _lists = new ConcurrentHashMap<>();
 
     /**
      * Initializes a new instance of the {@link IngressObserver} class.
      * @param informers The {@link ICanProvideInformers} to use to subscribe to Ingress events.
      * @param filterCreator The {@link ICanCreateIngressFilters} to use to create Ingress filters.
+     * @param properties The {@link KubernetesProperties} that configures how often lists of Ingresses are emitted.
      */
     @Autowired
-    public IngressObserver(ICanProvideInformers informers, ICanCreateIngressFilters filterCreator) {
+    public IngressObserver(ICanProvideInformers informers, ICanCreateIngressFilters filterCreator, KubernetesProperties properties) {
         _informer = informers.getIngressInformer();
         _filterCreator = filterCreator;
+        _emission = properties.getEmission();
+        _ingresses = new SharedObservableEventHandler<>(Ingress::from, () -> _informer.getIndexer().list());
+        informers.addIngressEventHandler("ingress-observer", _ingresses);
     }
 
     @Override
     public Observable<Iterable<Ingress>> observeAllIngresses() {
-        var handler = new ListObservableEventHandler<>(Ingress::from);
-        _informer.addEventHandler(handler);
-        return handler.getObservable();
+        return observeIngressList("all", ingress -> true);
     }
     
     @Override
     public Observable<Iterable<Ingress>> observeAllIngressesWithAnnotations(Annotation... annotations) {
         var filter = _filterCreator.annotationsFilter(annotations);
-        var handler = new ListObservableEventHandler<>(Ingress::from, filter);
-        _informer.addEventHandler(handler);
-        return handler.getObservable();
+        return observeIngressList("annotations:" + Arrays.toString(annotations), filter);
     }
     
     @Override
     public Observable<Iterable<Ingress>> observeIngressesInNamespace(Namespace namespace) {
         var filter = _filterCreator.namespaceFilter(namespace);
-        var handler = new ListObservableEventHandler<>(Ingress::from, filter);
-        _informer.addEventHandler(handler);
-        return handler.getObservable();
+        return observeIngressList("namespace:" + namespace.getValue(), filter);
     }
     
     @Override
     public Observable<Iterable<Ingress>> observeIngressesInNamespaceWithAnnotations(Namespace namespace, Annotation... annotations) {
         var filter = _filterCreator.namespaceFilter(namespace).and(_filterCreator.annotationsFilter(annotations));
-        var handler = new ListObservableEventHandler<>(Ingress::from, filter);
-        _informer.addEventHandler(handler);
-        return handler.getObservable();
+        return observeIngressList("namespace:" + namespace.getValue() + ":annotations:" + Arrays.toString(annotations), filter);
+    }
+
+    @Override
+    public Observable<ResourceChange<Ingress>> observeAllIngressChangesWithAnnotations(Annotation... annotations) {
+        var filter = _filterCreator.annotationsFilter(annotations);
+        return _ingresses.observeChanges().concatMapMaybe(change -> change.matching(filter));
+    }
+
+    private Observable<Iterable<Ingress>> observeIngressList(String key, Predicate<Ingress> filter) {
+        return _lists.computeIfAbsent(key, k -> Observable.<Iterable<Ingress>>create(emitter -> {
+            var list = _emission.isCoalesce()
+                ? new ObservableResourceList<Ingress>(_informer::hasSynced, _emission.getWindow(), _emission.getMaxBatch(), Schedulers.computation())
+                : new ObservableResourceList<Ingress>();
+            var output = list.getObservable().subscribe(emitter::onNext);
+            var input = _ingresses.observeChanges().concatMapMaybe(change -> change.matching(filter)).subscribe(list);
+            emitter.setDisposable(new CompositeDisposable(input, list, output));
+        }).replay(1).refCount());
+    }
+
+    @Override
+    public boolean hasSynced() {
+        return _informer.hasSynced();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.properties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Defines the configuration of how Moose observes resources in the Kubernetes cluster.
+ */
+@ConfigurationProperties(prefix = "io.dolittle.moose.kubernetes")
+@Data
+public class KubernetesProperties {
+    private EmissionProperties emission = new EmissionProperties();
+    private IndexProperties indexes = new IndexProperties();
+    private InformerProperties informers = new InformerProperties();
+
+    /**
+     * Defines the configuration of how often observable lists of resources emit new snapshots.
+     */
+    @Data
+    public static class EmissionProperties {
+        /**
+         * Whether to wait for the initial list to be synced, and then batch changes, instead of emitting on every event.
+         */
+        private boolean coalesce;
+        /**
+         * The longest time a change is held back before a new snapshot is emitted.
+         */
+        private Duration window;
+        /**
+         * The number of changes that causes a new snapshot to be emitted before the window has passed.
+         */
+        private int maxBatch;
+    }
+
+    /**
+     * Defines the configuration of the indexes on the informer store, that are used to look up resources without scanning all of them.
+     */
+    @Data
+    public static class IndexProperties {
+        /**
+         * The keys of the annotations that Ingresses are indexed by.
+         */
+        private List<String> annotations = new ArrayList<>();
+    }
+
+    /**
+     * Defines the configuration of which resources the informers list and watch.
+     */
+    @Data
+    public static class InformerProperties {
+        private ScopeProperties ingresses = new ScopeProperties();
+        private ScopeProperties services = new ScopeProperties();
+        private TrimProperties trim = new TrimProperties();
+        private WatchProperties watch = new WatchProperties();
+        private SnapshotProperties snapshot = new SnapshotProperties();
+        /**
+         * Whether to list and watch resources in the protobuf wire format, falling back to JSON if the Api Server does not support it.
+         */
+        private boolean protobuf;
+        /**
+         * The largest number of resources to request per page when listing, or 0 to list all resources at once.
+         */
+        private int pageSize;
+    }
+
+    /**
+     * Defines the configuration of how the informers reconnect when a watch connection drops.
+     */
+    @Data
+    public static class WatchProperties {
+        /**
+         * Whether to request watch bookmarks, and resume watching from the last seen resource version instead of listing all resources again.
+         */
+        private boolean resume;
+    }
+
+    /**
+     * Defines the configuration of the selectors and namespaces that are sent to the Kubernetes Api Server when listing and watching resources.
+     */
+    @Data
+    public static class ScopeProperties {
+        /**
+         * The label selector, e.g. "uptime=Ping", or empty to select resources with any labels.
+         */
+        private String labelSelector;
+        /**
+         * The field selector, e.g. "metadata.name!=default", or empty to select resources with any fields.
+         */
+        private String fieldSelector;
+        /**
+         * The namespaces to list and watch resources in, or empty for all namespaces.
+         */
+        private List<String> namespaces = new ArrayList<>();
+    }
+
+    /**
+     * Defines the configuration of the snapshots of the informer caches that are written to the local disk, and used to start without listing all resources.
+     */
+    @Data
+    public static class SnapshotProperties {
+        /**
+         * Whether to write snapshots, and seed the informers from them on startup.
+         */
+        private boolean enabled;
+        /**
+         * The directory to write the snapshot files to.
+         */
+        private String directory;
+        /**
+         * How often snapshots are written, if anything has changed.
+         */
+        private Duration interval;
+        /**
+         * The oldest snapshot that is used to seed the informers on startup.
+         */
+        private Duration maxAge;
+    }
+
+    /**
+     * Defines the configuration of what is removed from resources before they are stored in the informer store.
+     */
+    @Data
+    public static class TrimProperties {
+        /**
+         * Whether to remove the managed fields from the metadata.
+         */
+        private boolean managedFields;
+        /**
+         * Whether to remove the status.
+         */
+        private boolean status;
+        /**
+         * The keys of the annotations to remove.
+         */
+        private List<String> annotations = new ArrayList<>();
+        /**
+         * Whether to intern the strings that repeat across resources, like namespaces, labels and annotations.
+         */
+        private boolean intern;
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.collections.for_PersistentMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.collections.PersistentMap;
+
+@RunWith(JavaSpecRunner.class)
+public class when_adding_and_removing_entries {
+    private PersistentMap<String, Integer> map;
+    private PersistentMap<String, Integer> result;
+
+    Establish context = () -> {
+        map = PersistentMap.empty();
+        for (var i = 0; i < 10000; i++) {
+            map = map.with("key-" + i, i);
+        }
+    };
+
+    class when_adding_many_entries {
+        It should_have_all_the_entries = () -> assertEquals(10000, map.size());
+        It should_get_the_value_of_a_key = () -> assertEquals(Integer.valueOf(4242), map.get("key-4242"));
+        It should_not_get_a_missing_key = () -> assertNull(map.get("key-10000"));
+        It should_iterate_all_the_values = () -> assertEquals(10000, valuesOf(map).size());
+    }
+
+    class when_replacing_an_entry {
+        Because of = () -> result = map.with("key-42", -42);
+
+        It should_have_the_same_size = () -> assertEquals(10000, result.size());
+        It should_have_the_new_value = () -> assertEquals(Integer.valueOf(-42), result.get("key-42"));
+        It should_not_change_the_original_map = () -> assertEquals(Integer.valueOf(42), map.get("key-42"));
+    }
+
+    class when_adding_the_same_entry {
+        Because of = () -> result = map.with("key-42", map.get("key-42"));
+
+        It should_return_the_same_map = () -> assertSame(map, result);
+    }
+
+    class when_removing_every_other_entry {
+        Because of = () -> {
+            result = map;
+            for (var i = 0; i < 10000; i += 2) {
+                result = result.without("key-" + i);
+            }
+        };
+
+        It should_have_half_the_entries = () -> assertEquals(5000, result.size());
+        It should_not_get_a_removed_key = () -> assertNull(result.get("key-4242"));
+        It should_get_a_remaining_key = () -> assertEquals(Integer.valueOf(4243), result.get("key-4243"));
+        It should_iterate_only_the_remaining_values = () -> {
+            Set<Integer> expected = new HashSet<>();
+            for (var i = 1; i < 10000; i += 2) expected.add(i);
+            assertEquals(expected, valuesOf(result));
+        };
+        It should_not_change_the_original_map = () -> assertEquals(10000, map.size());
+    }
+
+    class when_removing_all_entries {
+        Because of = () -> {
+            result = map;
+            for (var i = 0; i < 10000; i++) {
+                result = result.without("key-" + i);
+            }
+        };
+
+        It should_be_empty = () -> assertEquals(0, result.size());
+        It should_not_iterate_any_values = () -> assertEquals(0, valuesOf(result).size());
+    }
+
+    class when_removing_a_missing_key {
+        Because of = () -> result = map.without("key-10000");
+
+        It should_return_the_same_map = () -> assertSame(map, result);
+    }
+
+    private static <K, V> Set<V> valuesOf(PersistentMap<K, V> map) {
+        var values = new HashSet<V>();
+        map.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.collections.for_PersistentMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.collections.PersistentMap;
+
+@RunWith(JavaSpecRunner.class)
+public class when_keys_have_colliding_hashes {
+    private PersistentMap<Key, String> map;
+    private PersistentMap<Key, String> result;
+
+    Establish context = () -> map = PersistentMap.<Key, String>empty()
+        .with(new Key("first", 7), "first")
+        .with(new Key("second", 7), "second")
+        .with(new Key("third", 7), "third")
+        .with(new Key("other", 7 | (1 << 20)), "other");
+
+    class when_getting_the_keys {
+        It should_have_all_the_entries = () -> assertEquals(4, map.size());
+        It should_get_the_first = () -> assertEquals("first", map.get(new Key("first", 7)));
+        It should_get_the_third = () -> assertEquals("third", map.get(new Key("third", 7)));
+        It should_get_the_other = () -> assertEquals("other", map.get(new Key("other", 7 | (1 << 20))));
+        It should_not_get_a_missing_key_with_the_same_hash = () -> assertNull(map.get(new Key("missing", 7)));
+        It should_iterate_all_the_values = () -> assertEquals(Set.of("first", "second", "third", "other"), valuesOf(map));
+    }
+
+    class when_removing_colliding_keys {
+        Because of = () -> result = map.without(new Key("first", 7)).without(new Key("third", 7));
+
+        It should_have_the_remaining_entries = () -> assertEquals(2, result.size());
+        It should_get_the_remaining_colliding_key = () -> assertEquals("second", result.get(new Key("second", 7)));
+        It should_not_get_a_removed_key = () -> assertNull(result.get(new Key("first", 7)));
+        It should_iterate_the_remaining_values = () -> assertEquals(Set.of("second", "other"), valuesOf(result));
+    }
+
+    private static <K, V> Set<V> valuesOf(PersistentMap<K, V> map) {
+        var values = new HashSet<V>();
+        map.forEach(values::add);
+        return values;
+    }
+
+    private static class Key {
+        private final String _name;
+        private final int _hash;
+
+        Key(String name, int hash) {
+            _name = name;
+            _hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return _hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj)._name.equals(_name);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.eventhandlers.for_ListObservableEventHandler;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.eventhandlers.ListObservableEventHandler;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+@RunWith(JavaSpecRunner.class)
+public class when_coalescing_events {
+    private List<Integer> emitted;
+    private AtomicBoolean synced;
+    private TestScheduler scheduler;
+    private ListObservableEventHandler<ExtensionsV1beta1Ingress, Ingress> handler;
+
+    Establish context = () -> {
+        emitted = new ArrayList<>();
+        synced = new AtomicBoolean();
+        scheduler = new TestScheduler();
+        handler = new ListObservableEventHandler<>(Ingress::from, ingress -> true, synced::get, Duration.ofMillis(100), 5, scheduler);
+        handler.getObservable().subscribe(ingresses -> {
+            var count = 0;
+            for (var ingress : ingresses) count++;
+            emitted.add(count);
+        });
+    };
+
+    class when_the_initial_list_is_added_before_the_informer_has_synced {
+        Because of = () -> {
+            for (var i = 0; i < 20; i++) handler.onAdd(ingress("ingress-" + i));
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        };
+
+        It should_not_emit_anything = () -> assertEquals(List.of(), emitted);
+    }
+
+    class when_the_informer_has_synced {
+        Because of = () -> {
+            for (var i = 0; i < 20; i++) handler.onAdd(ingress("ingress-" + i));
+            synced.set(true);
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        };
+
+        It should_emit_the_complete_list_once = () -> assertEquals(List.of(20), emitted);
+    }
+
+    class when_a_few_changes_happen_after_the_informer_has_synced {
+        Because of = () -> {
+            synced.set(true);
+            scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+            handler.onAdd(ingress("first"));
+            handler.onAdd(ingress("second"));
+            scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+            handler.onDelete(ingress("first"), false);
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        };
+
+        It should_emit_the_changes_in_one_batch = () -> assertEquals(List.of(0, 1), emitted);
+    }
+
+    class when_a_burst_of_changes_happen_after_the_informer_has_synced {
+        Because of = () -> {
+            synced.set(true);
+            scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+            for (var i = 0; i < 12; i++) handler.onAdd(ingress("ingress-" + i));
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        };
+
+        It should_emit_a_batch_for_every_five_changes_and_one_for_the_rest = () -> assertEquals(List.of(0, 5, 10, 12), emitted);
+    }
+
+    private static ExtensionsV1beta1Ingress ingress(String name) {
+        return new ExtensionsV1beta1Ingress()
+            .metadata(new V1ObjectMeta().namespace("namespace").name(name))
+            .spec(new ExtensionsV1beta1IngressSpec());
+    }
+}
@@ -0,0 +1,95 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.eventhandlers.for_ResourceChange;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange.ChangeType;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+@RunWith(JavaSpecRunner.class)
+public class when_matching_a_filter {
+    private Ingress matching;
+    private Ingress notMatching;
+    private ResourceChange<Ingress> change;
+    private List<ResourceChange<Ingress>> changes;
+
+    Establish context = () -> {
+        matching = Ingress.from(ingress(Map.of("dolittle.io/moose", "true")));
+        notMatching = Ingress.from(ingress(null));
+    };
+
+    class when_a_matching_ingress_is_added {
+        Because of = () -> match(ResourceChange.added(matching));
+
+        It should_keep_the_change = () -> assertEquals(1, changes.size());
+        It should_keep_the_same_change = () -> assertSame(change, changes.get(0));
+    }
+
+    class when_an_ingress_that_does_not_match_is_added {
+        Because of = () -> match(ResourceChange.added(notMatching));
+
+        It should_leave_out_the_change = () -> assertEquals(0, changes.size());
+    }
+
+    class when_an_ingress_is_updated_to_match {
+        Because of = () -> match(ResourceChange.updated(notMatching, matching));
+
+        It should_report_an_added_change = () -> assertEquals(ChangeType.ADDED, changes.get(0).getType());
+        It should_not_have_a_previous_ingress = () -> assertNull(changes.get(0).getPrevious());
+        It should_have_the_current_ingress = () -> assertSame(matching, changes.get(0).getCurrent());
+    }
+
+    class when_an_ingress_is_updated_to_not_match {
+        Because of = () -> match(ResourceChange.updated(matching, notMatching));
+
+        It should_report_a_deleted_change = () -> assertEquals(ChangeType.DELETED, changes.get(0).getType());
+        It should_have_the_previous_ingress = () -> assertSame(matching, changes.get(0).getPrevious());
+        It should_not_have_a_current_ingress = () -> assertNull(changes.get(0).getCurrent());
+    }
+
+    class when_a_matching_ingress_is_updated {
+        Because of = () -> match(ResourceChange.updated(matching, matching));
+
+        It should_keep_the_updated_change = () -> assertSame(change, changes.get(0));
+    }
+
+    class when_an_ingress_that_does_not_match_is_updated {
+        Because of = () -> match(ResourceChange.updated(notMatching, notMatching));
+
+        It should_leave_out_the_change = () -> assertEquals(0, changes.size());
+    }
+
+    class when_a_matching_ingress_is_deleted {
+        Because of = () -> match(ResourceChange.deleted(matching));
+
+        It should_keep_the_deleted_change = () -> assertSame(change, changes.get(0));
+    }
+
+    private void match(ResourceChange<Ingress> resourceChange) {
+        change = resourceChange;
+        changes = change.matching(ingress -> ingress.getAnnotations().getEntries().iterator().hasNext()).toObservable().toList().blockingGet();
+    }
+
+    private static ExtensionsV1beta1Ingress ingress(Map<String, String> annotations) {
+        return new ExtensionsV1beta1Ingress()
+            .metadata(new V1ObjectMeta().namespace("namespace").name("ingress").annotations(annotations))
+            .spec(new ExtensionsV1beta1IngressSpec());
+    }
+}
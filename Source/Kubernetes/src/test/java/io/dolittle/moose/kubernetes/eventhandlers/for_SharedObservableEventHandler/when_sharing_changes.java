@@ -0,0 +1,138 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.eventhandlers.for_SharedObservableEventHandler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange.ChangeType;
+import io.dolittle.moose.kubernetes.eventhandlers.SharedObservableEventHandler;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+@RunWith(JavaSpecRunner.class)
+public class when_sharing_changes {
+    private AtomicInteger conversions;
+    private List<ExtensionsV1beta1Ingress> existing;
+    private SharedObservableEventHandler<ExtensionsV1beta1Ingress, Ingress> handler;
+    private List<ResourceChange<Ingress>> first;
+    private List<ResourceChange<Ingress>> second;
+    private Disposable firstSubscription;
+    private Disposable secondSubscription;
+
+    Establish context = () -> {
+        conversions = new AtomicInteger();
+        existing = new ArrayList<>(List.of(ingress("existing")));
+        handler = new SharedObservableEventHandler<>(ingress -> {
+            conversions.incrementAndGet();
+            return Ingress.from(ingress);
+        }, () -> existing);
+        first = new ArrayList<>();
+        second = new ArrayList<>();
+    };
+
+    class when_there_are_no_subscribers {
+        Because of = () -> handler.onAdd(ingress("added"));
+
+        It should_not_convert_the_ingress = () -> assertEquals(0, conversions.get());
+    }
+
+    class when_subscribing {
+        Because of = () -> firstSubscription = handler.observeChanges().subscribe(first::add);
+
+        It should_emit_the_existing_ingress_as_added = () -> assertEquals(ChangeType.ADDED, first.get(0).getType());
+        It should_emit_only_the_existing_ingress = () -> assertEquals(1, first.size());
+    }
+
+    class when_two_subscribers_get_an_added_ingress {
+        Because of = () -> {
+            firstSubscription = handler.observeChanges().subscribe(first::add);
+            secondSubscription = handler.observeChanges().subscribe(second::add);
+            conversions.set(0);
+            handler.onAdd(ingress("added"));
+        };
+
+        It should_emit_to_the_first_subscriber = () -> assertEquals(ChangeType.ADDED, first.get(1).getType());
+        It should_emit_to_the_second_subscriber = () -> assertEquals(ChangeType.ADDED, second.get(1).getType());
+        It should_emit_the_same_change = () -> assertSame(first.get(1), second.get(1));
+        It should_convert_the_ingress_once = () -> assertEquals(1, conversions.get());
+    }
+
+    class when_a_subscriber_subscribes_after_changes {
+        Because of = () -> {
+            firstSubscription = handler.observeChanges().subscribe(first::add);
+            handler.onAdd(ingress("added"));
+            handler.onDelete(ingress("existing"), false);
+            secondSubscription = handler.observeChanges().subscribe(second::add);
+        };
+
+        It should_emit_the_current_ingresses_to_the_late_subscriber = () -> assertEquals(1, second.size());
+        It should_emit_the_added_ingress_to_the_late_subscriber = () -> assertEquals("added", second.get(0).getCurrent().getName().getValue());
+    }
+
+    class when_an_ingress_is_updated {
+        Because of = () -> {
+            firstSubscription = handler.observeChanges().subscribe(first::add);
+            conversions.set(0);
+            handler.onUpdate(ingress("existing"), ingress("existing"));
+        };
+
+        It should_emit_an_updated_change = () -> assertEquals(ChangeType.UPDATED, first.get(1).getType());
+        It should_use_the_previous_converted_ingress = () -> assertSame(first.get(0).getCurrent(), first.get(1).getPrevious());
+        It should_convert_only_the_new_ingress = () -> assertEquals(1, conversions.get());
+    }
+
+    class when_an_unknown_ingress_is_deleted {
+        Because of = () -> {
+            firstSubscription = handler.observeChanges().subscribe(first::add);
+            handler.onDelete(ingress("unknown"), false);
+        };
+
+        It should_not_emit_a_change = () -> assertEquals(1, first.size());
+    }
+
+    class when_the_last_subscriber_is_disposed {
+        Because of = () -> {
+            firstSubscription = handler.observeChanges().subscribe(first::add);
+            secondSubscription = handler.observeChanges().subscribe(second::add);
+            firstSubscription.dispose();
+            secondSubscription.dispose();
+            conversions.set(0);
+            handler.onAdd(ingress("added"));
+        };
+
+        It should_not_convert_the_ingress = () -> assertEquals(0, conversions.get());
+        It should_not_emit_any_more_changes = () -> assertEquals(1, first.size());
+    }
+
+    class when_subscribing_again_after_the_last_subscriber_is_disposed {
+        Because of = () -> {
+            handler.observeChanges().subscribe(first::add).dispose();
+            existing.add(ingress("added"));
+            secondSubscription = handler.observeChanges().subscribe(second::add);
+        };
+
+        It should_emit_the_ingresses_from_the_informer_store = () -> assertEquals(2, second.size());
+    }
+
+    private static ExtensionsV1beta1Ingress ingress(String name) {
+        return new ExtensionsV1beta1Ingress()
+            .metadata(new V1ObjectMeta().namespace("namespace").name(name))
+            .spec(new ExtensionsV1beta1IngressSpec());
+    }
+}
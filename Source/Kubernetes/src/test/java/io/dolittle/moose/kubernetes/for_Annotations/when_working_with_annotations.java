@@ -0,0 +1,92 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.for_Annotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.Annotation;
+import io.dolittle.moose.kubernetes.Annotations;
+import io.dolittle.moose.kubernetes.AnnotationsAlreadyContainAnnotationWithKey;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+@RunWith(JavaSpecRunner.class)
+public class when_working_with_annotations {
+    private Annotations annotations;
+    private Annotations result;
+    private Exception exception;
+
+    Establish context = () -> annotations = Annotations.from(new V1ObjectMeta().annotations(Map.of(
+        "dolittle.io/moose", "true",
+        "a", "first",
+        "z", "last",
+        "m", "middle")));
+
+    class when_iterating_the_entries {
+        It should_iterate_all_the_entries_sorted_by_key = () -> assertEquals(List.of(
+            new Annotation("a", "first"),
+            new Annotation("dolittle.io/moose", "true"),
+            new Annotation("m", "middle"),
+            new Annotation("z", "last")), entries(annotations));
+    }
+
+    class when_checking_what_it_contains {
+        It should_contain_a_present_annotation = () -> assertTrue(annotations.contains(new Annotation("dolittle.io/moose", "true")));
+        It should_contain_several_present_annotations = () -> assertTrue(annotations.contains(new Annotation("z", "last"), new Annotation("a", "first")));
+        It should_not_contain_an_annotation_with_another_value = () -> assertFalse(annotations.contains(new Annotation("dolittle.io/moose", "false")));
+        It should_not_contain_a_missing_annotation = () -> assertFalse(annotations.contains(new Annotation("b", "first")));
+        It should_contain_nothing = () -> assertTrue(annotations.contains());
+    }
+
+    class when_adding_annotations {
+        Because of = () -> result = annotations.with(new Annotation("b", "second"), new Annotation("zz", "after"));
+
+        It should_have_the_added_annotations = () -> assertTrue(result.contains(new Annotation("b", "second"), new Annotation("zz", "after")));
+        It should_keep_the_entries_sorted = () -> assertEquals("a,b,dolittle.io/moose,m,z,zz", keys(result));
+        It should_not_change_the_original = () -> assertFalse(annotations.contains(new Annotation("b", "second")));
+        It should_convert_to_kubernetes = () -> assertEquals(6, result.toKubernetes().size());
+    }
+
+    class when_adding_an_annotation_with_an_existing_key {
+        Because of = () -> {
+            try {
+                annotations.with("m", "other");
+            } catch (AnnotationsAlreadyContainAnnotationWithKey e) {
+                exception = e;
+            }
+        };
+
+        It should_fail = () -> assertTrue(exception instanceof AnnotationsAlreadyContainAnnotationWithKey);
+    }
+
+    class when_comparing_with_the_same_annotations_in_another_order {
+        Because of = () -> result = Annotations.empty().with(new Annotation("z", "last"), new Annotation("m", "middle"), new Annotation("dolittle.io/moose", "true"), new Annotation("a", "first"));
+
+        It should_be_equal = () -> assertEquals(annotations, result);
+        It should_have_the_same_hash_code = () -> assertEquals(annotations.hashCode(), result.hashCode());
+    }
+
+    private static List<Annotation> entries(Annotations annotations) {
+        var entries = new ArrayList<Annotation>();
+        annotations.getEntries().forEach(entries::add);
+        return entries;
+    }
+
+    private static String keys(Annotations annotations) {
+        var keys = new ArrayList<String>();
+        annotations.getEntries().forEach(annotation -> keys.add(annotation.getKey()));
+        return String.join(",", keys);
+    }
+}
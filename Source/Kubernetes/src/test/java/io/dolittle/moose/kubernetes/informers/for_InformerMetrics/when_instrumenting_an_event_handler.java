@@ -0,0 +1,58 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers.for_InformerMetrics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.informers.InformerMetrics;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_instrumenting_an_event_handler {
+    private SimpleMeterRegistry registry;
+    private List<String> handled;
+    private ResourceEventHandler<V1Service> handler;
+
+    Establish context = () -> {
+        registry = new SimpleMeterRegistry();
+        handled = new ArrayList<>();
+        var metrics = new InformerMetrics("services", registry);
+        handler = metrics.instrument("test", new ResourceEventHandler<V1Service>() {
+            public void onAdd(V1Service obj) { handled.add("added " + obj.getMetadata().getName()); }
+            public void onUpdate(V1Service oldObj, V1Service newObj) { handled.add("updated " + newObj.getMetadata().getName()); }
+            public void onDelete(V1Service obj, boolean deletedFinalStateUnknown) { handled.add("deleted " + obj.getMetadata().getName()); }
+        }, V1Service::getMetadata);
+        metrics.received("ADDED", service("first", "1").getMetadata());
+    };
+
+    Because of = () -> {
+        handler.onAdd(service("first", "1"));
+        handler.onAdd(service("second", "2"));
+        handler.onUpdate(service("first", "1"), service("first", "3"));
+        handler.onDelete(service("second", "4"), false);
+    };
+
+    It should_pass_the_events_to_the_handler = () -> assertEquals(List.of("added first", "added second", "updated first", "deleted second"), handled);
+    It should_count_the_added_events = () -> assertEquals(2.0, registry.counter("informers.handler.events", "resource", "services", "handler", "test", "type", "added").count(), 0);
+    It should_count_the_updated_events = () -> assertEquals(1.0, registry.counter("informers.handler.events", "resource", "services", "handler", "test", "type", "updated").count(), 0);
+    It should_count_the_deleted_events = () -> assertEquals(1.0, registry.counter("informers.handler.events", "resource", "services", "handler", "test", "type", "deleted").count(), 0);
+    It should_time_every_event = () -> assertEquals(4, registry.get("informers.handler.duration").tag("handler", "test").timer().count());
+    It should_only_measure_delivery_of_received_changes = () -> assertEquals(1, registry.get("informers.handler.delivery").tag("handler", "test").timer().count());
+
+    private static V1Service service(String name, String resourceVersion) {
+        return new V1Service().metadata(new V1ObjectMeta().namespace("default").name(name).resourceVersion(resourceVersion));
+    }
+}
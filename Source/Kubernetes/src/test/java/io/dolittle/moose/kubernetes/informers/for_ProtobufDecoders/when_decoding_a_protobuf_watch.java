@@ -0,0 +1,102 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers.for_ProtobufDecoders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.runner.RunWith;
+
+import com.google.protobuf.ByteString;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.informers.ProtobufDecoders;
+import io.dolittle.moose.kubernetes.informers.ProtobufWatch;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.proto.IntStr;
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.proto.Runtime;
+import io.kubernetes.client.proto.V1beta1Extensions;
+import io.kubernetes.client.util.Watch;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+@RunWith(JavaSpecRunner.class)
+public class when_decoding_a_protobuf_watch {
+    private ResponseBody body;
+    private List<Watch.Response<ExtensionsV1beta1Ingress>> responses;
+
+    Establish context = () -> {
+        var ingress = V1beta1Extensions.Ingress.newBuilder()
+            .setMetadata(Meta.ObjectMeta.newBuilder()
+                .setNamespace("application")
+                .setName("studio")
+                .setResourceVersion("42")
+                .setCreationTimestamp(Meta.Time.newBuilder().setSeconds(1577836800).setNanos(500000000))
+                .putAnnotations("dolittle.io/moose", "true"))
+            .setSpec(V1beta1Extensions.IngressSpec.newBuilder()
+                .addTls(V1beta1Extensions.IngressTLS.newBuilder().addHosts("studio.dolittle.io").setSecretName("studio-tls"))
+                .addRules(V1beta1Extensions.IngressRule.newBuilder()
+                    .setHost("studio.dolittle.io")
+                    .setIngressRuleValue(V1beta1Extensions.IngressRuleValue.newBuilder()
+                        .setHttp(V1beta1Extensions.HTTPIngressRuleValue.newBuilder()
+                            .addPaths(V1beta1Extensions.HTTPIngressPath.newBuilder()
+                                .setPath("/")
+                                .setBackend(V1beta1Extensions.IngressBackend.newBuilder()
+                                    .setServiceName("studio")
+                                    .setServicePort(IntStr.IntOrString.newBuilder().setType(0).setIntVal(8080))))))))
+            .build();
+        var status = Meta.Status.newBuilder().setStatus("Failure").setCode(410).setReason("Expired").build();
+
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+        frame(output, "ADDED", ingress.toByteString());
+        frame(output, "ERROR", status.toByteString());
+        body = ResponseBody.create(MediaType.get(ProtobufDecoders.CONTENT_TYPE), bytes.toByteArray());
+    };
+
+    Because of = () -> {
+        responses = new ArrayList<>();
+        try (var watch = new ProtobufWatch<>(body, null, ProtobufDecoders.INGRESSES)) {
+            watch.forEach(responses::add);
+        }
+    };
+
+    It should_read_both_events = () -> assertEquals(2, responses.size());
+    It should_decode_the_event_type = () -> assertEquals("ADDED", responses.get(0).type);
+    It should_decode_the_name = () -> assertEquals("studio", responses.get(0).object.getMetadata().getName());
+    It should_decode_the_namespace = () -> assertEquals("application", responses.get(0).object.getMetadata().getNamespace());
+    It should_decode_the_resource_version = () -> assertEquals("42", responses.get(0).object.getMetadata().getResourceVersion());
+    It should_decode_the_creation_timestamp = () -> assertEquals(new DateTime(1577836800500L, DateTimeZone.UTC), responses.get(0).object.getMetadata().getCreationTimestamp());
+    It should_decode_the_annotations = () -> assertEquals("true", responses.get(0).object.getMetadata().getAnnotations().get("dolittle.io/moose"));
+    It should_not_decode_missing_labels = () -> assertNull(responses.get(0).object.getMetadata().getLabels());
+    It should_decode_the_tls_hosts = () -> assertEquals(List.of("studio.dolittle.io"), responses.get(0).object.getSpec().getTls().get(0).getHosts());
+    It should_decode_the_tls_secret = () -> assertEquals("studio-tls", responses.get(0).object.getSpec().getTls().get(0).getSecretName());
+    It should_decode_the_rule_host = () -> assertEquals("studio.dolittle.io", responses.get(0).object.getSpec().getRules().get(0).getHost());
+    It should_decode_the_backend_service = () -> assertEquals("studio", responses.get(0).object.getSpec().getRules().get(0).getHttp().getPaths().get(0).getBackend().getServiceName());
+    It should_decode_the_backend_port = () -> assertEquals(new IntOrString(8080), responses.get(0).object.getSpec().getRules().get(0).getHttp().getPaths().get(0).getBackend().getServicePort());
+    It should_decode_the_error_type = () -> assertEquals("ERROR", responses.get(1).type);
+    It should_decode_the_error_status = () -> assertEquals(Integer.valueOf(410), responses.get(1).status.getCode());
+    It should_not_decode_an_object_for_the_error = () -> assertNull(responses.get(1).object);
+    It should_not_have_more_events = () -> assertFalse(new ProtobufWatch<>(ResponseBody.create(MediaType.get(ProtobufDecoders.CONTENT_TYPE), new byte[0]), null, ProtobufDecoders.INGRESSES).hasNext());
+
+    private static void frame(DataOutputStream output, String type, ByteString raw) throws Exception {
+        var envelope = ByteString.copyFrom(new byte[] { 'k', '8', 's', 0 }).concat(Runtime.Unknown.newBuilder().setRaw(raw).build().toByteString());
+        var event = Meta.WatchEvent.newBuilder().setType(type).setObject(Runtime.RawExtension.newBuilder().setRaw(envelope)).build().toByteArray();
+        output.writeInt(event.length);
+        output.write(event);
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers.for_ResourceSnapshotFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.informers.ResourceSnapshot;
+import io.dolittle.moose.kubernetes.informers.ResourceSnapshotFile;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+
+@RunWith(JavaSpecRunner.class)
+public class when_writing_and_reading_a_snapshot {
+    private Path directory;
+    private ResourceSnapshotFile<V1Service> file;
+    private ResourceSnapshot<V1Service> written;
+    private ResourceSnapshot<V1Service> read;
+
+    Establish context = () -> {
+        directory = Files.createTempDirectory("snapshots");
+        file = new ResourceSnapshotFile<>(directory.resolve("services.snapshot"), V1Service.class, new JSON());
+        written = new ResourceSnapshot<>("42", List.of(
+            new V1Service().metadata(new V1ObjectMeta().namespace("default").name("first").labels(Map.of("app", "\u00e6\u00f8\u00e5"))),
+            new V1Service().metadata(new V1ObjectMeta().namespace("other").name("second"))),
+            Instant.ofEpochMilli(1600000000000L));
+    };
+
+    Cleanup delete = () -> {
+        Files.deleteIfExists(directory.resolve("services.snapshot"));
+        Files.deleteIfExists(directory);
+    };
+
+    class when_the_snapshot_is_written {
+        Because of = () -> {
+            file.write(written);
+            read = file.read();
+        };
+
+        It should_read_the_resource_version = () -> assertEquals("42", read.getResourceVersion());
+        It should_read_when_it_was_taken = () -> assertEquals(written.getTaken(), read.getTaken());
+        It should_read_all_the_resources = () -> assertEquals(written.getResources(), read.getResources());
+        It should_not_leave_a_temporary_file = () -> assertEquals(false, Files.exists(directory.resolve("services.snapshot.tmp")));
+    }
+
+    class when_the_file_does_not_exist {
+        Because of = () -> read = file.read();
+
+        It should_not_read_a_snapshot = () -> assertNull(read);
+    }
+
+    class when_the_file_is_truncated {
+        Because of = () -> {
+            file.write(written);
+            var bytes = Files.readAllBytes(file.getPath());
+            Files.write(file.getPath(), Arrays.copyOf(bytes, bytes.length - 10));
+            read = file.read();
+        };
+
+        It should_not_read_a_snapshot = () -> assertNull(read);
+    }
+}
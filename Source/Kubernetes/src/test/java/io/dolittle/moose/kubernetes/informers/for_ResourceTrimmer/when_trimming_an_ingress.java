@@ -0,0 +1,78 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers.for_ResourceTrimmer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.informers.ResourceTrimmer;
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties.TrimProperties;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressPath;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressRuleValue;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressBackend;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressRule;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressStatus;
+import io.kubernetes.client.openapi.models.V1ManagedFieldsEntry;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+@RunWith(JavaSpecRunner.class)
+public class when_trimming_an_ingress {
+    private static final String LAST_APPLIED = "kubectl.kubernetes.io/last-applied-configuration";
+
+    private ResourceTrimmer trimmer;
+    private ExtensionsV1beta1Ingress ingress;
+    private ExtensionsV1beta1Ingress result;
+
+    Establish context = () -> {
+        var properties = new TrimProperties();
+        properties.setManagedFields(true);
+        properties.setStatus(true);
+        properties.setAnnotations(List.of(LAST_APPLIED));
+        properties.setIntern(true);
+        trimmer = new ResourceTrimmer(properties);
+
+        var annotations = new HashMap<String, String>();
+        annotations.put(new String("dolittle.io/moose"), new String("true"));
+        annotations.put(LAST_APPLIED, "{\"a\":\"very long json document\"}");
+        ingress = new ExtensionsV1beta1Ingress()
+            .metadata(new V1ObjectMeta()
+                .namespace(new String("namespace"))
+                .name("ingress")
+                .annotations(annotations)
+                .managedFields(List.of(new V1ManagedFieldsEntry().manager("kubectl"))))
+            .spec(new ExtensionsV1beta1IngressSpec()
+                .addRulesItem(new ExtensionsV1beta1IngressRule()
+                    .host("host.dolittle.io")
+                    .http(new ExtensionsV1beta1HTTPIngressRuleValue()
+                        .addPathsItem(new ExtensionsV1beta1HTTPIngressPath()
+                            .path(new String("/"))
+                            .backend(new ExtensionsV1beta1IngressBackend().serviceName(new String("service")))))))
+            .status(new ExtensionsV1beta1IngressStatus());
+    };
+
+    Because of = () -> result = trimmer.trim(ingress);
+
+    It should_return_the_same_ingress = () -> assertSame(ingress, result);
+    It should_remove_the_managed_fields = () -> assertNull(result.getMetadata().getManagedFields());
+    It should_remove_the_status = () -> assertNull(result.getStatus());
+    It should_remove_the_last_applied_annotation = () -> assertEquals(Map.of("dolittle.io/moose", "true"), result.getMetadata().getAnnotations());
+    It should_keep_the_name = () -> assertEquals("ingress", result.getMetadata().getName());
+    It should_intern_the_namespace = () -> assertSame("namespace", result.getMetadata().getNamespace());
+    It should_intern_the_annotation_keys = () -> assertSame("dolittle.io/moose", result.getMetadata().getAnnotations().keySet().iterator().next());
+    It should_intern_the_paths = () -> assertSame("/", result.getSpec().getRules().get(0).getHttp().getPaths().get(0).getPath());
+    It should_intern_the_service_names = () -> assertSame("service", result.getSpec().getRules().get(0).getHttp().getPaths().get(0).getBackend().getServiceName());
+}
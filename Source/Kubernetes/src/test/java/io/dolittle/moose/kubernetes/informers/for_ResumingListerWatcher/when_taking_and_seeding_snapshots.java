@@ -0,0 +1,132 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers.for_ResumingListerWatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.informers.InformerMetrics;
+import io.dolittle.moose.kubernetes.informers.ResourceSnapshot;
+import io.dolittle.moose.kubernetes.informers.ResumingListerWatcher;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_taking_and_seeding_snapshots {
+    private FakeListerWatcher api;
+    private ResumingListerWatcher<V1Service, V1ServiceList> listerWatcher;
+    private List<V1Service> stored;
+
+    Establish context = () -> {
+        api = new FakeListerWatcher();
+        api.list = new V1ServiceList().metadata(new V1ListMeta().resourceVersion("10")).items(new ArrayList<>(List.of(service("first", "10"))));
+        stored = List.of(service("first", "10"), service("second", "11"));
+        listerWatcher = new ResumingListerWatcher<>(api,
+            V1Service::getMetadata,
+            V1ServiceList::getMetadata,
+            (metadata, items) -> new V1ServiceList().metadata(metadata).items(items),
+            () -> stored,
+            true,
+            new InformerMetrics("services", new SimpleMeterRegistry()));
+    };
+
+    class and_a_snapshot_is_taken_while_watching {
+        private ResourceSnapshot<V1Service> first;
+        private ResourceSnapshot<V1Service> second;
+        private ResourceSnapshot<V1Service> third;
+
+        Because of = () -> {
+            listerWatcher.list(new CallGeneratorParams(false, null, null));
+            first = listerWatcher.snapshot();
+            api.events.add(new Watch.Response<>("ADDED", service("second", "11")));
+            listerWatcher.watch(new CallGeneratorParams(true, "10", 300)).forEach(response -> {});
+            second = listerWatcher.snapshot();
+            third = listerWatcher.snapshot();
+        };
+
+        It should_not_take_a_snapshot_before_a_resource_version_has_settled = () -> assertNull(first);
+        It should_take_the_resources_from_the_informer_store = () -> assertSame(stored, second.getResources());
+        It should_use_the_resource_version_seen_at_the_previous_snapshot = () -> assertEquals("10", second.getResourceVersion());
+        It should_use_the_latest_resource_version_once_it_has_settled = () -> assertEquals("11", third.getResourceVersion());
+    }
+
+    class and_the_lister_watcher_is_seeded {
+        private List<V1Service> seeded;
+        private V1ServiceList first;
+        private V1ServiceList second;
+
+        Because of = () -> {
+            seeded = List.of(service("seeded", "30"));
+            listerWatcher.seed(new ResourceSnapshot<>("30", seeded, Instant.now()));
+            first = listerWatcher.list(new CallGeneratorParams(false, null, null));
+            second = listerWatcher.list(new CallGeneratorParams(false, null, null));
+        };
+
+        It should_not_list_from_the_api_server = () -> assertEquals(0, api.lists);
+        It should_list_the_seeded_resources_first = () -> assertSame(seeded, first.getItems());
+        It should_list_with_the_seeded_resource_version = () -> assertEquals("30", first.getMetadata().getResourceVersion());
+        It should_list_the_resources_in_the_informer_store_afterwards = () -> assertSame(stored, second.getItems());
+    }
+
+    private static V1Service service(String name, String resourceVersion) {
+        return new V1Service().metadata(new V1ObjectMeta().namespace("default").name(name).resourceVersion(resourceVersion));
+    }
+
+    private static class FakeListerWatcher implements ListerWatcher<V1Service, V1ServiceList> {
+        V1ServiceList list;
+        LinkedList<Watch.Response<V1Service>> events = new LinkedList<>();
+        int lists;
+
+        @Override
+        public V1ServiceList list(CallGeneratorParams params) {
+            lists++;
+            return new V1ServiceList().metadata(list.getMetadata()).items(new ArrayList<>(list.getItems()));
+        }
+
+        @Override
+        public Watchable<V1Service> watch(CallGeneratorParams params) {
+            return new Watchable<V1Service>() {
+                @Override
+                public boolean hasNext() {
+                    return !events.isEmpty();
+                }
+
+                @Override
+                public Watch.Response<V1Service> next() {
+                    return events.poll();
+                }
+
+                @Override
+                public Iterator<Watch.Response<V1Service>> iterator() {
+                    return this;
+                }
+
+                @Override
+                public void close() throws IOException {
+                }
+            };
+        }
+    }
+}
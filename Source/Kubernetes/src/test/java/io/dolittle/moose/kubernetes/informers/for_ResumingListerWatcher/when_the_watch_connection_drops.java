@@ -0,0 +1,156 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers.for_ResumingListerWatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.informers.InformerMetrics;
+import io.dolittle.moose.kubernetes.informers.ResumingListerWatcher;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.openapi.models.V1Status;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_the_watch_connection_drops {
+    private SimpleMeterRegistry registry;
+    private FakeListerWatcher api;
+    private ResumingListerWatcher<V1Service, V1ServiceList> listerWatcher;
+    private List<V1Service> stored;
+    private List<String> watched;
+    private V1ServiceList relisted;
+
+    Establish context = () -> {
+        registry = new SimpleMeterRegistry();
+        api = new FakeListerWatcher();
+        api.list = new V1ServiceList().metadata(new V1ListMeta().resourceVersion("10")).items(new ArrayList<>(List.of(service("first", "9"), service("second", "10"))));
+        stored = List.of(service("second", "10"), service("third", "11"));
+        listerWatcher = new ResumingListerWatcher<>(api,
+            V1Service::getMetadata,
+            V1ServiceList::getMetadata,
+            (metadata, items) -> new V1ServiceList().metadata(metadata).items(items),
+            () -> stored,
+            true,
+            new InformerMetrics("services", registry));
+        listerWatcher.list(new CallGeneratorParams(false, null, null));
+        api.events.add(new Watch.Response<>("ADDED", service("third", "11")));
+        api.events.add(new Watch.Response<>("DELETED", service("first", "12")));
+        api.events.add(new Watch.Response<>("BOOKMARK", new V1Service().metadata(new V1ObjectMeta().resourceVersion("20"))));
+        watched = new ArrayList<>();
+        listerWatcher.watch(new CallGeneratorParams(true, "10", 300)).forEach(response -> watched.add(response.type));
+    };
+
+    class and_the_resource_version_is_still_available {
+        Because of = () -> {
+            relisted = listerWatcher.list(new CallGeneratorParams(false, null, null));
+            listerWatcher.watch(new CallGeneratorParams(true, "10", 300));
+        };
+
+        It should_not_pass_the_bookmark_to_the_informer = () -> assertEquals(List.of("ADDED", "DELETED"), watched);
+        It should_list_from_the_api_server_once = () -> assertEquals(1, api.lists);
+        It should_list_the_resources_in_the_informer_store = () -> assertSame(stored, relisted.getItems());
+        It should_list_with_the_bookmarked_resource_version = () -> assertEquals("20", relisted.getMetadata().getResourceVersion());
+        It should_watch_from_the_bookmarked_resource_version = () -> assertEquals("20", api.watchedFrom);
+        It should_count_the_resume = () -> assertEquals(1.0, registry.counter("informers.resumes", "resource", "services").count(), 0);
+        It should_count_the_watches = () -> assertEquals(2.0, registry.counter("informers.watches", "resource", "services").count(), 0);
+        It should_count_the_events_by_type = () -> assertEquals(1.0, registry.counter("informers.events", "resource", "services", "type", "BOOKMARK").count(), 0);
+    }
+
+    class and_the_resource_version_has_expired {
+        Because of = () -> {
+            api.events.add(new Watch.Response<V1Service>("ERROR", new V1Status().code(410)));
+            listerWatcher.watch(new CallGeneratorParams(true, "20", 300)).forEach(response -> {});
+            relisted = listerWatcher.list(new CallGeneratorParams(false, null, null));
+        };
+
+        It should_list_from_the_api_server_again = () -> assertEquals(2, api.lists);
+        It should_count_the_expired_list = () -> assertEquals(1.0, registry.counter("informers.lists", "resource", "services", "reason", "expired").count(), 0);
+        It should_not_count_a_resume = () -> assertEquals(0.0, registry.counter("informers.resumes", "resource", "services").count(), 0);
+        It should_use_the_resource_version_of_the_new_list = () -> assertEquals("10", listerWatcher.getResourceVersion());
+    }
+
+    class and_the_watch_cannot_be_started_because_the_resource_version_has_expired {
+        private Exception exception;
+
+        Because of = () -> {
+            api.watchError = new ApiException(410, "Gone");
+            try {
+                listerWatcher.watch(new CallGeneratorParams(true, "20", 300));
+            } catch (Exception e) {
+                exception = e;
+            }
+        };
+
+        It should_fail = () -> assertFalse(exception == null);
+        It should_forget_the_resource_version = () -> assertNull(listerWatcher.getResourceVersion());
+    }
+
+    private static V1Service service(String name, String resourceVersion) {
+        return new V1Service().metadata(new V1ObjectMeta().namespace("default").name(name).resourceVersion(resourceVersion));
+    }
+
+    private static class FakeListerWatcher implements ListerWatcher<V1Service, V1ServiceList> {
+        V1ServiceList list;
+        LinkedList<Watch.Response<V1Service>> events = new LinkedList<>();
+        ApiException watchError;
+        String watchedFrom;
+        int lists;
+
+        @Override
+        public V1ServiceList list(CallGeneratorParams params) {
+            lists++;
+            return new V1ServiceList().metadata(list.getMetadata()).items(new ArrayList<>(list.getItems()));
+        }
+
+        @Override
+        public Watchable<V1Service> watch(CallGeneratorParams params) throws ApiException {
+            if (watchError != null) {
+                throw watchError;
+            }
+            watchedFrom = params.resourceVersion;
+            return new Watchable<V1Service>() {
+                @Override
+                public boolean hasNext() {
+                    return !events.isEmpty();
+                }
+
+                @Override
+                public Watch.Response<V1Service> next() {
+                    return events.poll();
+                }
+
+                @Override
+                public Iterator<Watch.Response<V1Service>> iterator() {
+                    return this;
+                }
+
+                @Override
+                public void close() throws IOException {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.informers.for_ScopedListerWatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.informers.ScopedListerWatcher;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.kubernetes.client.util.CallGeneratorParams;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+@RunWith(JavaSpecRunner.class)
+public class when_listing_in_pages {
+    private List<String> requested;
+    private ScopedListerWatcher<V1Service, V1ServiceList> listerWatcher;
+    private V1ServiceList list;
+
+    Establish context = () -> {
+        requested = new ArrayList<>();
+        var apiClient = new ApiClient();
+        apiClient.setHttpClient(new OkHttpClient.Builder().addInterceptor(chain -> {
+            var url = chain.request().url();
+            requested.add(url.query());
+            var continueToken = url.queryParameter("continue");
+            var page = continueToken == null ? 0 : Integer.parseInt(continueToken);
+            var services = new V1ServiceList().metadata(new V1ListMeta().resourceVersion("100")._continue(page < 2 ? String.valueOf(page + 1) : null));
+            services.setItems(new ArrayList<>());
+            for (var i = 0; i < 2; i++) {
+                var namespace = i == 0 ? "application" : "kube-system";
+                services.addItemsItem(new V1Service().metadata(new V1ObjectMeta().namespace(namespace).name("service-" + page + "-" + i)));
+            }
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(MediaType.get("application/json"), apiClient.getJSON().serialize(services)))
+                .build();
+        }).build());
+
+        listerWatcher = new ScopedListerWatcher<>(apiClient, V1Service.class, V1ServiceList.class,
+            (namespace, params, limit, continueToken) -> apiClient.getHttpClient().newCall(new Request.Builder()
+                .url("http://kubernetes/api/v1/services?limit=" + limit + (continueToken == null ? "" : "&continue=" + continueToken))
+                .build()),
+            V1Service::getMetadata,
+            V1ServiceList::getItems,
+            V1ServiceList::getMetadata,
+            List.of("application", "other"),
+            service -> service.metadata(service.getMetadata().name(service.getMetadata().getName().toUpperCase())),
+            2,
+            null);
+    };
+
+    Because of = () -> list = listerWatcher.list(new CallGeneratorParams(false, null, null));
+
+    It should_request_every_page = () -> assertEquals(List.of("limit=2", "limit=2&continue=1", "limit=2&continue=2"), requested);
+    It should_keep_the_allowed_resources_from_all_pages = () -> assertEquals(
+        List.of("SERVICE-0-0", "SERVICE-1-0", "SERVICE-2-0"),
+        list.getItems().stream().map(service -> service.getMetadata().getName()).collect(Collectors.toList()));
+    It should_have_the_resource_version = () -> assertEquals("100", list.getMetadata().getResourceVersion());
+    It should_not_have_a_continue_token = () -> assertNull(list.getMetadata().getContinue());
+}
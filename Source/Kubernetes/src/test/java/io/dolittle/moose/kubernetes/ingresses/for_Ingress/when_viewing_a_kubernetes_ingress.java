@@ -0,0 +1,106 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.ingresses.for_Ingress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.Annotation;
+import io.dolittle.moose.kubernetes.Namespace;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.dolittle.moose.kubernetes.ingresses.IngressName;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressPath;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressRuleValue;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressBackend;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressRule;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressTLS;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+
+@RunWith(JavaSpecRunner.class)
+public class when_viewing_a_kubernetes_ingress {
+    private ExtensionsV1beta1Ingress kubernetesIngress;
+    private Ingress ingress;
+
+    Establish context = () -> {
+        kubernetesIngress = new ExtensionsV1beta1Ingress()
+            .metadata(new V1ObjectMeta()
+                .namespace("monitored")
+                .name("website")
+                .annotations(Map.of("dolittle.io/moose", "true", "other", "value")))
+            .spec(new ExtensionsV1beta1IngressSpec()
+                .addTlsItem(new ExtensionsV1beta1IngressTLS().addHostsItem("dolittle.io").secretName("certificate"))
+                .addRulesItem(new ExtensionsV1beta1IngressRule()
+                    .host("dolittle.io")
+                    .http(new ExtensionsV1beta1HTTPIngressRuleValue()
+                        .addPathsItem(new ExtensionsV1beta1HTTPIngressPath()
+                            .path("/")
+                            .backend(new ExtensionsV1beta1IngressBackend().serviceName("website").servicePort(new IntOrString(80))))))
+                .addRulesItem(new ExtensionsV1beta1IngressRule().host("dolittle.com")));
+        ingress = Ingress.from(kubernetesIngress);
+    };
+
+    class when_checking_annotations {
+        It should_have_a_present_annotation = () -> assertTrue(ingress.hasAnnotations(new Annotation("dolittle.io/moose", "true")));
+        It should_have_several_present_annotations = () -> assertTrue(ingress.hasAnnotations(new Annotation("other", "value"), new Annotation("dolittle.io/moose", "true")));
+        It should_not_have_an_annotation_with_another_value = () -> assertFalse(ingress.hasAnnotations(new Annotation("dolittle.io/moose", "false")));
+        It should_not_have_a_missing_annotation = () -> assertFalse(ingress.hasAnnotations(new Annotation("missing", "true")));
+    }
+
+    class when_reading_the_parts {
+        It should_have_the_namespace = () -> assertEquals(new Namespace("monitored"), ingress.getNamespace());
+        It should_have_the_name = () -> assertEquals(new IngressName("website"), ingress.getName());
+        It should_have_the_tls_hosts = () -> assertEquals("dolittle.io", ingress.getTls().iterator().next().getHosts().iterator().next().getValue());
+        It should_have_both_rules = () -> assertEquals(List.of("dolittle.io", "dolittle.com"), hostsOf(ingress));
+        It should_iterate_the_rules_more_than_once = () -> assertEquals(hostsOf(ingress), hostsOf(ingress));
+        It should_have_no_paths_for_a_rule_without_http = () -> assertFalse(secondRule().getPaths().iterator().hasNext());
+    }
+
+    class when_comparing_with_another_view_of_an_equal_ingress {
+        private Ingress other;
+
+        Because of = () -> other = Ingress.from(new ExtensionsV1beta1Ingress()
+            .metadata(kubernetesIngress.getMetadata())
+            .spec(kubernetesIngress.getSpec()));
+
+        It should_be_equal = () -> assertEquals(ingress, other);
+        It should_have_the_same_hash_code = () -> assertEquals(ingress.hashCode(), other.hashCode());
+    }
+
+    class when_adding_an_annotation {
+        private Ingress result;
+
+        Because of = () -> result = ingress.withAnnotations(new Annotation("added", "true"));
+
+        It should_have_the_added_annotation = () -> assertTrue(result.hasAnnotations(new Annotation("added", "true")));
+        It should_keep_the_existing_annotations = () -> assertTrue(result.hasAnnotations(new Annotation("dolittle.io/moose", "true")));
+        It should_keep_the_rules = () -> assertEquals(hostsOf(ingress), hostsOf(result));
+        It should_not_change_the_original = () -> assertFalse(ingress.hasAnnotations(new Annotation("added", "true")));
+    }
+
+    private Ingress.HostRule secondRule() {
+        var rules = ingress.getRules().iterator();
+        rules.next();
+        return rules.next();
+    }
+
+    private static List<String> hostsOf(Ingress ingress) {
+        var hosts = new ArrayList<String>();
+        ingress.getRules().forEach(rule -> hosts.add(rule.getHost().getValue()));
+        return hosts;
+    }
+}
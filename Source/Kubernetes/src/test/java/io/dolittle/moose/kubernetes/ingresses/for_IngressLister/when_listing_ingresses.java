@@ -0,0 +1,131 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.kubernetes.ingresses.for_IngressLister;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.kubernetes.Annotation;
+import io.dolittle.moose.kubernetes.Namespace;
+import io.dolittle.moose.kubernetes.informers.ICanProvideInformers;
+import io.dolittle.moose.kubernetes.informers.IngressIndexes;
+import io.dolittle.moose.kubernetes.ingresses.FilterCreator;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.dolittle.moose.kubernetes.ingresses.IngressLister;
+import io.dolittle.moose.kubernetes.properties.KubernetesProperties;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.informer.cache.Cache;
+import io.kubernetes.client.informer.cache.Indexer;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+
+@RunWith(JavaSpecRunner.class)
+public class when_listing_ingresses {
+    private static final Annotation MOOSE = new Annotation("dolittle.io/moose", "true");
+    private static final Annotation OTHER = new Annotation("other", "value");
+
+    private Cache<ExtensionsV1beta1Ingress> cache;
+    private IngressLister lister;
+    private List<String> result;
+
+    Establish context = () -> {
+        cache = new Cache<>();
+        cache.addIndexers(IngressIndexes.createIndexers(List.of(MOOSE.getKey())));
+        cache.add(ingress("first", "monitored", Map.of(MOOSE.getKey(), MOOSE.getValue())));
+        cache.add(ingress("second", "monitored", Map.of(MOOSE.getKey(), MOOSE.getValue(), OTHER.getKey(), OTHER.getValue())));
+        cache.add(ingress("third", "monitored", Map.of(MOOSE.getKey(), "false")));
+        cache.add(ingress("fourth", "other", Map.of(MOOSE.getKey(), MOOSE.getValue())));
+        cache.add(ingress("fifth", "other", null));
+
+        var properties = new KubernetesProperties();
+        properties.getIndexes().getAnnotations().add(MOOSE.getKey());
+        lister = new IngressLister(informers(cache), new FilterCreator(), properties);
+    };
+
+    class when_listing_ingresses_in_a_namespace {
+        Because of = () -> result = names(lister.getIngressesInNamespace(new Namespace("monitored")));
+
+        It should_get_the_ingresses_in_the_namespace = () -> assertEquals(List.of("first", "second", "third"), result);
+    }
+
+    class when_listing_ingresses_with_an_indexed_annotation {
+        Because of = () -> result = names(lister.getAllIngressesWithAnnotations(MOOSE));
+
+        It should_get_the_ingresses_with_the_annotation = () -> assertEquals(List.of("first", "fourth", "second"), result);
+    }
+
+    class when_listing_ingresses_with_an_indexed_and_another_annotation {
+        Because of = () -> result = names(lister.getAllIngressesWithAnnotations(MOOSE, OTHER));
+
+        It should_get_the_ingresses_with_both_annotations = () -> assertEquals(List.of("second"), result);
+    }
+
+    class when_listing_ingresses_with_an_annotation_that_is_not_indexed {
+        Because of = () -> result = names(lister.getAllIngressesWithAnnotations(OTHER));
+
+        It should_get_the_ingresses_with_the_annotation = () -> assertEquals(List.of("second"), result);
+    }
+
+    class when_listing_ingresses_in_a_namespace_with_an_annotation {
+        Because of = () -> result = names(lister.getIngressesInNamespaceWithAnnotations(new Namespace("other"), MOOSE));
+
+        It should_get_the_ingresses_in_the_namespace_with_the_annotation = () -> assertEquals(List.of("fourth"), result);
+    }
+
+    class when_an_ingress_loses_the_annotation {
+        Because of = () -> {
+            cache.update(ingress("first", "monitored", null));
+            result = names(lister.getAllIngressesWithAnnotations(MOOSE));
+        };
+
+        It should_not_get_the_ingress = () -> assertEquals(List.of("fourth", "second"), result);
+    }
+
+    private static List<String> names(Iterable<Ingress> ingresses) {
+        var names = new ArrayList<String>();
+        for (var ingress : ingresses) names.add(ingress.getName().getValue());
+        names.sort(null);
+        return names;
+    }
+
+    private static ExtensionsV1beta1Ingress ingress(String name, String namespace, Map<String, String> annotations) {
+        return new ExtensionsV1beta1Ingress()
+            .metadata(new V1ObjectMeta().namespace(namespace).name(name).annotations(annotations))
+            .spec(new ExtensionsV1beta1IngressSpec());
+    }
+
+    private static ICanProvideInformers informers(Indexer<ExtensionsV1beta1Ingress> indexer) {
+        var informer = new SharedIndexInformer<ExtensionsV1beta1Ingress>() {
+            public void addIndexers(Map<String, Function<ExtensionsV1beta1Ingress, List<String>>> indexers) { }
+            public Indexer<ExtensionsV1beta1Ingress> getIndexer() { return indexer; }
+            public void addEventHandler(ResourceEventHandler<ExtensionsV1beta1Ingress> handler) { }
+            public void addEventHandlerWithResyncPeriod(ResourceEventHandler<ExtensionsV1beta1Ingress> handler, long resyncPeriod) { }
+            public void run() { }
+            public void stop() { }
+            public boolean hasSynced() { return true; }
+            public String lastSyncResourceVersion() { return ""; }
+        };
+        return new ICanProvideInformers() {
+            public SharedInformerFactory getInformerFactory() { return null; }
+            public SharedIndexInformer<ExtensionsV1beta1Ingress> getIngressInformer() { return informer; }
+            public SharedIndexInformer<V1Service> getServiceInformer() { return null; }
+            public void addIngressEventHandler(String name, ResourceEventHandler<ExtensionsV1beta1Ingress> handler) { }
+            public void addServiceEventHandler(String name, ResourceEventHandler<V1Service> handler) { }
+        };
+    }
+}
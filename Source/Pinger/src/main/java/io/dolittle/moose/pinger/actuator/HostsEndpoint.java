@@ -4,27 +4,42 @@
 package io.dolittle.moose.pinger.actuator;
 
 import io.dolittle.moose.pinger.component.PingStatus;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.model.HostStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
 @Slf4j
 @Component
 @Endpoint(id = "hosts")
 public class HostsEndpoint {
 
     private final PingStatus _pingStatus;
+    private final UptimeHistory _history;
 
     @Autowired
-    public HostsEndpoint(PingStatus pingStatus) {
+    public HostsEndpoint(PingStatus pingStatus, UptimeHistory history) {
         _pingStatus = pingStatus;
+        _history = history;
     }
 
     @ReadOperation
-    PingStatus status() {
+    Map<String, HostStatus> status() {
         log.debug("Providing management interface hosts status");
-        return _pingStatus;
+        var now = Instant.now().getEpochSecond();
+        var hosts = new TreeMap<String, HostStatus>();
+        _pingStatus.getHostStatuses().forEach((host, status) -> {
+            var uptime = _history.getUptime(host, now, Duration.ofHours(24));
+            hosts.put(host, new HostStatus(status, Double.isNaN(uptime) ? null : uptime));
+        });
+        return hosts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.actuator;
+
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@Endpoint(id = "uptime")
+public class UptimeEndpoint {
+
+    private final UptimeHistory _history;
+
+    @Autowired
+    public UptimeEndpoint(UptimeHistory history) {
+        _history = history;
+    }
+
+    @ReadOperation
+    Map<String, Object> uptime(@Selector String host) {
+        log.debug("Providing management interface uptime for host: {}", host);
+        var now = Instant.now().getEpochSecond();
+        var uptime = new LinkedHashMap<String, Object>();
+        uptime.put("1h", percentage(_history.getUptime(host, now, Duration.ofHours(1))));
+        uptime.put("24h", percentage(_history.getUptime(host, now, Duration.ofHours(24))));
+        uptime.put("30d", percentage(_history.getUptime(host, now, Duration.ofDays(30))));
+        uptime.put("latencyMillis", _history.getLatestLatencyMillis(host));
+        return uptime;
+    }
+
+    private static Double percentage(double uptime) {
+        return Double.isNaN(uptime) ? null : uptime;
+    }
+}
@@ -0,0 +1,124 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A concurrent store of outstanding challenge keys, where keys that are never verified expire.
+ * Keys are kept in two generations. When the current generation is older than the time to live, or holds half of the maximum number of keys,
+ * the previous generation is dropped as a whole and the current generation becomes the previous one.
+ * A key is therefore kept for at least the time to live, and at most twice that, without any per-key timers.
+ */
+@Slf4j
+public class ChallengeStore {
+    private final long _ttlNanos;
+    private final long _generationSize;
+    private final Counter _expiredByAge;
+    private final Counter _expiredByCapacity;
+    private final Counter _verified;
+    private volatile ConcurrentHashMap<String, Boolean> _current = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<String, Boolean> _previous = new ConcurrentHashMap<>();
+    private volatile long _rotateAt;
+
+    /**
+     * Initializes a new instance of the {@link ChallengeStore} class.
+     * @param ttl The minimum time a challenge key is kept before it expires.
+     * @param maxOutstanding The maximum number of challenge keys to keep.
+     * @param registry The {@link MeterRegistry} to register the metrics of the store in.
+     */
+    public ChallengeStore(Duration ttl, long maxOutstanding, MeterRegistry registry) {
+        _ttlNanos = ttl.toNanos();
+        _generationSize = Math.max(maxOutstanding / 2, 1);
+        _rotateAt = System.nanoTime() + _ttlNanos;
+        _expiredByAge = registry.counter("uptime.challenges.expired", "reason", "age");
+        _expiredByCapacity = registry.counter("uptime.challenges.expired", "reason", "capacity");
+        _verified = registry.counter("uptime.challenges.verified");
+        registry.gauge("uptime.challenges.outstanding", this, ChallengeStore::size);
+    }
+
+    /**
+     * Adds a new challenge key that has not been received yet.
+     * @param key The challenge key.
+     */
+    public void add(String key) {
+        rotateIfExpired();
+        if (isCurrentFull()) {
+            rotate(_expiredByCapacity);
+        }
+        _current.put(key, Boolean.FALSE);
+    }
+
+    /**
+     * Marks a challenge key as received, if it is outstanding.
+     * @param key The challenge key.
+     * @return True if the challenge key was outstanding, false if not.
+     */
+    public boolean markReceived(String key) {
+        rotateIfExpired();
+        return _current.replace(key, Boolean.TRUE) != null || _previous.replace(key, Boolean.TRUE) != null;
+    }
+
+    /**
+     * Removes a challenge key, and returns whether it was received.
+     * @param key The challenge key.
+     * @return True if the challenge key was outstanding and had been received, false if not.
+     */
+    public boolean verify(String key) {
+        var received = _current.remove(key);
+        if (received == null) {
+            received = _previous.remove(key);
+        }
+        if (Boolean.TRUE.equals(received)) {
+            _verified.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of outstanding challenge keys.
+     * @return The number of outstanding challenge keys.
+     */
+    public long size() {
+        return _current.mappingCount() + _previous.mappingCount();
+    }
+
+    private boolean isCurrentFull() {
+        return _current.mappingCount() >= _generationSize;
+    }
+
+    private void rotateIfExpired() {
+        if (System.nanoTime() - _rotateAt >= 0) {
+            rotate(_expiredByAge);
+        }
+    }
+
+    private synchronized void rotate(Counter expired) {
+        var now = System.nanoTime();
+        if (expired == _expiredByAge && now - _rotateAt < 0) return;
+        if (expired == _expiredByCapacity && !isCurrentFull()) return;
+
+        var dropped = _previous;
+        if (now - _rotateAt >= _ttlNanos) {
+            // Nothing has been added for a whole generation, so the current generation has expired as well
+            dropped.putAll(_current);
+            _previous = new ConcurrentHashMap<>();
+        } else {
+            _previous = _current;
+        }
+        _current = new ConcurrentHashMap<>();
+        _rotateAt = now + _ttlNanos;
+
+        if (!dropped.isEmpty()) {
+            log.debug("Expired {} challenge keys", dropped.size());
+            expired.increment(dropped.size());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues and verifies stateless challenge tokens, signed with a secret that is shared between all Pinger replicas.
+ * A token is the issue time and a nonce from a {@link SecureRandom}, followed by a truncated HMAC-SHA256 of the two, encoded as URL safe base64.
+ * Any replica that receives a ping can verify the token without a lookup, and answers with a receipt that only a holder of the secret can create.
+ */
+public class ChallengeTokens {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = 16;
+    private static final int SIGNATURE_LENGTH = 16;
+    private static final byte[] RECEIPT_PREFIX = "receipt:".getBytes(StandardCharsets.US_ASCII);
+
+    private final SecureRandom _random = new SecureRandom();
+    private final SecretKeySpec _key;
+    private final long _maxAgeMillis;
+    private final ThreadLocal<Mac> _mac;
+
+    /**
+     * Initializes a new instance of the {@link ChallengeTokens} class.
+     * @param secret The secret shared between all Pinger replicas.
+     * @param maxAge The maximum age of a token that is accepted.
+     */
+    public ChallengeTokens(String secret, Duration maxAge) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("A secret must be configured to use challenge tokens");
+        }
+        _key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        _maxAgeMillis = maxAge.toMillis();
+        _mac = ThreadLocal.withInitial(this::createMac);
+    }
+
+    /**
+     * Issues a new token.
+     * @return The token.
+     */
+    public String issue() {
+        var token = ByteBuffer.allocate(PAYLOAD_LENGTH + SIGNATURE_LENGTH);
+        token.putLong(System.currentTimeMillis());
+        token.putLong(_random.nextLong());
+        token.put(sign(token.array(), 0, PAYLOAD_LENGTH));
+        return encode(token.array());
+    }
+
+    /**
+     * Verifies that a token was issued by a holder of the secret, and has not expired.
+     * @param token The token to verify.
+     * @return True if the token is valid, false if not.
+     */
+    public boolean verify(String token) {
+        var bytes = decode(token);
+        if (bytes == null || bytes.length != PAYLOAD_LENGTH + SIGNATURE_LENGTH) return false;
+
+        var signature = sign(bytes, 0, PAYLOAD_LENGTH);
+        var received = Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, PAYLOAD_LENGTH + SIGNATURE_LENGTH);
+        if (!MessageDigest.isEqual(signature, received)) return false;
+
+        var age = System.currentTimeMillis() - ByteBuffer.wrap(bytes).getLong();
+        return age >= -_maxAgeMillis && age <= _maxAgeMillis;
+    }
+
+    /**
+     * Creates the receipt that proves a valid token was received.
+     * @param token The received token.
+     * @return The receipt.
+     */
+    public String receiptFor(String token) {
+        var mac = _mac.get();
+        mac.update(RECEIPT_PREFIX);
+        var signature = mac.doFinal(token.getBytes(StandardCharsets.US_ASCII));
+        return encode(truncate(signature));
+    }
+
+    /**
+     * Verifies the receipt returned for a token.
+     * @param token The token that was sent.
+     * @param receipt The receipt that was returned, or null if none was.
+     * @return True if the receipt is valid for the token, false if not.
+     */
+    public boolean verifyReceipt(String token, String receipt) {
+        if (receipt == null) return false;
+        return MessageDigest.isEqual(
+            receiptFor(token).getBytes(StandardCharsets.US_ASCII),
+            receipt.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] sign(byte[] bytes, int offset, int length) {
+        var mac = _mac.get();
+        mac.update(bytes, offset, length);
+        return truncate(mac.doFinal());
+    }
+
+    private Mac createMac() {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(_key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not create " + ALGORITHM, e);
+        }
+    }
+
+    private static byte[] truncate(byte[] signature) {
+        return Arrays.copyOf(signature, SIGNATURE_LENGTH);
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] decode(String token) {
+        try {
+            return Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component;
+
+import io.dolittle.moose.pinger.model.Replica;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Combines the {@link PingStatus} of this replica with the status of all the other running replicas.
+ * Every replica only pings its own share of the hosts, so the monitor is only OK if every replica is OK.
+ * The other replicas are queried in parallel, and every replica that has not answered within the peer timeout is counted as failing.
+ */
+@Component
+@Slf4j
+public class ClusterStatus {
+
+    private final PingStatus _pingStatus;
+    private final ShardManager _shardManager;
+    private final Duration _timeout;
+    private final HttpClient _client;
+
+    @Autowired
+    public ClusterStatus(PingStatus pingStatus, ShardManager shardManager, PingerProperties properties) {
+        _pingStatus = pingStatus;
+        _shardManager = shardManager;
+        _timeout = properties.getSharding().getPeerTimeout();
+        _client = HttpClient.newBuilder()
+            .connectTimeout(_timeout)
+            .build();
+    }
+
+    /**
+     * Returns False if a single host pinged by any replica has a failed ping, or if a replica could not be reached
+     * @return True -> Success for all hosts, False -> Fail on a single host
+     */
+    public Boolean getStatus() {
+        if (!_pingStatus.getStatus()) {
+            return false;
+        }
+        var self = _shardManager.getSelf();
+        var statuses = new ArrayList<CompletableFuture<Boolean>>();
+        for (var replica : _shardManager.getReplicas()) {
+            if (replica.equals(self)) continue;
+            statuses.add(getStatus(replica));
+        }
+        if (statuses.isEmpty()) {
+            return true;
+        }
+
+        try {
+            CompletableFuture.allOf(statuses.toArray(new CompletableFuture<?>[0])).get(_timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out getting status from replicas after {}", _timeout);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("Could not get status from replicas", e);
+            return false;
+        }
+        return statuses.stream().allMatch(CompletableFuture::join);
+    }
+
+    private CompletableFuture<Boolean> getStatus(Replica replica) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create("http://" + replica.getAddress() + "/dolittle/uptime/local"))
+                .timeout(_timeout)
+                .GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid address {} of replica {}", replica.getAddress(), replica.getName());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return _client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+            if (error != null) {
+                log.warn("Could not get status from replica {} at {}", replica.getName(), replica.getAddress());
+                log.debug("Stack trace", error);
+                return false;
+            }
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                log.info("Replica {} reported status {}", replica.getName(), response.statusCode());
+                return false;
+            }
+            return true;
+        });
+    }
+}
@@ -0,0 +1,125 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import io.dolittle.moose.pinger.model.HostChange;
+import io.dolittle.moose.pinger.model.PingHost;
+
+/**
+ * A table of the {@link PingHost} to ping, that is maintained incrementally from the host rules of each Ingress.
+ * Several Ingresses can define the same host, so the table keeps every definition and pings the one from the Ingress that sorts first.
+ * Readers get an immutable snapshot that is only rebuilt after the table has changed.
+ */
+public class HostTable {
+    private final Map<String, List<PingHost>> _byIngress = new HashMap<>();
+    private final Map<String, TreeMap<String, PingHost>> _byHost = new HashMap<>();
+    private final Consumer<HostChange> _listener;
+    private volatile List<PingHost> _snapshot = Collections.emptyList();
+    private volatile boolean _changed;
+
+    /**
+     * Initializes a new instance of the {@link HostTable} class.
+     * @param listener The {@link Consumer} that is called for every {@link HostChange}.
+     */
+    public HostTable(Consumer<HostChange> listener) {
+        _listener = listener;
+    }
+
+    /**
+     * Sets the hosts defined by an Ingress, replacing any hosts it defined before.
+     * A host that the Ingress still defines, but with other settings, is published as a single change.
+     * @param ingress The unique key of the Ingress.
+     * @param hosts The {@link List} of {@link PingHost} defined by the Ingress.
+     */
+    public void put(String ingress, List<PingHost> hosts) {
+        var changes = new ArrayList<HostChange>();
+        synchronized (this) {
+            var previous = _byIngress.put(ingress, hosts);
+            if (previous != null) {
+                var defined = new HashSet<String>();
+                hosts.forEach(pingHost -> defined.add(pingHost.getHost()));
+                for (var pingHost : previous) {
+                    if (!defined.contains(pingHost.getHost())) {
+                        removeDefinition(ingress, pingHost, changes);
+                    }
+                }
+            }
+            for (var pingHost : hosts) {
+                addDefinition(ingress, pingHost, changes);
+            }
+        }
+        changes.forEach(_listener);
+    }
+
+    /**
+     * Removes all the hosts defined by an Ingress.
+     * @param ingress The unique key of the Ingress.
+     */
+    public void remove(String ingress) {
+        var changes = new ArrayList<HostChange>();
+        synchronized (this) {
+            var previous = _byIngress.remove(ingress);
+            if (previous == null) return;
+            for (var pingHost : previous) {
+                removeDefinition(ingress, pingHost, changes);
+            }
+        }
+        changes.forEach(_listener);
+    }
+
+    /**
+     * Gets an immutable snapshot of all the hosts to ping.
+     * @return {@link List} of {@link PingHost}
+     */
+    public List<PingHost> getSnapshot() {
+        if (!_changed) {
+            return _snapshot;
+        }
+        synchronized (this) {
+            if (_changed) {
+                var snapshot = new ArrayList<PingHost>(_byHost.size());
+                _byHost.values().forEach(definitions -> snapshot.add(definitions.firstEntry().getValue()));
+                _snapshot = Collections.unmodifiableList(snapshot);
+                _changed = false;
+            }
+            return _snapshot;
+        }
+    }
+
+    private void addDefinition(String ingress, PingHost pingHost, List<HostChange> changes) {
+        var definitions = _byHost.computeIfAbsent(pingHost.getHost(), host -> new TreeMap<>());
+        var before = definitions.isEmpty() ? null : definitions.firstEntry().getValue();
+        definitions.put(ingress, pingHost);
+        recordChange(pingHost.getHost(), before, definitions.firstEntry().getValue(), changes);
+    }
+
+    private void removeDefinition(String ingress, PingHost pingHost, List<HostChange> changes) {
+        var definitions = _byHost.get(pingHost.getHost());
+        if (definitions == null) return;
+        var before = definitions.firstEntry().getValue();
+        definitions.remove(ingress);
+        if (definitions.isEmpty()) {
+            _byHost.remove(pingHost.getHost());
+            recordChange(pingHost.getHost(), before, null, changes);
+        } else {
+            recordChange(pingHost.getHost(), before, definitions.firstEntry().getValue(), changes);
+        }
+    }
+
+    private void recordChange(String host, PingHost before, PingHost after, List<HostChange> changes) {
+        if (Objects.equals(before, after)) return;
+        _changed = true;
+        changes.add(new HostChange(host, before, after));
+    }
+}
@@ -4,13 +4,21 @@
 package io.dolittle.moose.pinger.component;
 
 import io.dolittle.moose.common.properties.ping.PingIngressProperties;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange;
 import io.dolittle.moose.kubernetes.ingresses.ICanObserveIngresses;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.dolittle.moose.pinger.model.HostChange;
 import io.dolittle.moose.pinger.model.PingHost;
-import io.reactivex.rxjava3.disposables.Disposable;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -18,67 +26,124 @@ import java.util.Set;
 
 /**
  * Ingress manager is responsible to aggregate a list of {@link PingHost} that will be used by {@link PingManager}.
- * It utilizes the observer pattern by subscribing to Ingress events. Events are filtered by {@link io.dolittle.moose.kubernetes.Annotation}
+ * It utilizes the observer pattern by subscribing to Ingress change events. Events are filtered by {@link io.dolittle.moose.kubernetes.Annotation}
+ * Each change only updates the hosts of the changed Ingress in the {@link HostTable}, and the resulting {@link HostChange} are published.
  */
 @Component
 @Slf4j
 public class IngressManager {
 
-    private final Set<PingHost> _hostList = new HashSet<>();
+    private final Subject<HostChange> _hostChanges = PublishSubject.<HostChange>create().toSerialized();
+    private final HostTable _hostTable = new HostTable(_hostChanges::onNext);
     private final ICanObserveIngresses _ingressObserver;
     private final PingIngressProperties _pingIngressProperties;
+    private final String _intervalAnnotation;
 
     @Autowired
-    public IngressManager(ICanObserveIngresses IngressObserver, PingIngressProperties pingIngressProperties) {
+    public IngressManager(ICanObserveIngresses IngressObserver, PingIngressProperties pingIngressProperties, PingerProperties pingerProperties) {
         _ingressObserver = IngressObserver;
         _pingIngressProperties = pingIngressProperties;
+        _intervalAnnotation = pingerProperties.getScheduler().getIntervalAnnotation();
         log.info("Ingress Manager instantiated.");
         aggregateHosts();
     }
 
     /**
      * Returns a List of hosts
-     * @return {@link List} of {@link PingHost}
+     * @return Immutable {@link List} of {@link PingHost}
      */
-    public synchronized List<PingHost> getHostsList() {
-        return new ArrayList<>(_hostList);
+    public List<PingHost> getHostsList() {
+        return _hostTable.getSnapshot();
+    }
+
+    /**
+     * Checks whether the Ingresses have been synced, so that the list of hosts is complete
+     * @return True if the Ingresses have been synced, false if not
+     */
+    public boolean hasSynced() {
+        return _ingressObserver.hasSynced();
+    }
+
+    /**
+     * Observe the changes to the hosts as they happen
+     * @return An {@link Observable} of type {@link HostChange}
+     */
+    public Observable<HostChange> observeHostChanges() {
+        return _hostChanges;
     }
 
     private void aggregateHosts() {
         log.debug("Aggregating hosts to be monitored");
-        var observable = _ingressObserver.observeAllIngressesWithAnnotations(_pingIngressProperties.getAnnotation());
-        Disposable subscribe = observable.subscribe(ingresses -> {
-            //Run through each item and aggregate a List of PingHost
-            List<PingHost> pingHosts = new ArrayList<>();
-            ingresses.forEach(ingress -> {
-                var tls = ingress.getTls();
-                Set<String> tlsList = new HashSet<>();
-                tls.forEach(tlsSecret -> {
-                    var tlsHost = tlsSecret.getHosts();
-                    tlsHost.forEach(hostname -> tlsList.add(hostname.getValue()));
-                });
-
-                var rules = ingress.getRules();
-                rules.forEach(hostRule -> {
-                    var pingHost = new PingHost();
-                    var host = hostRule.getHost().getValue();
-                    pingHost.setHost(host);
-                    pingHost.setPath(hostRule.getPaths().iterator().next().getPath().getValue());
-                    pingHost.setTls(tlsList.contains(host));
-
-                    pingHosts.add(pingHost);
-                });
-            });
-            updateHostList(pingHosts);
-            log.info("Found {} ingresses in cluster", pingHosts.size());
-        });
+        var observable = _ingressObserver.observeAllIngressChangesWithAnnotations(_pingIngressProperties.getAnnotation());
+        observable.subscribe(this::handleChange, error -> log.error("Failed to observe ingresses", error));
+    }
 
+    private void handleChange(ResourceChange<Ingress> change) {
+        try {
+            applyChange(change);
+        } catch (RuntimeException e) {
+            log.error("Failed to update the hosts of a changed ingress", e);
+        }
     }
 
-    private synchronized void updateHostList(List<PingHost> ingList) {
-        _hostList.clear();
-        _hostList.addAll(ingList);
+    private void applyChange(ResourceChange<Ingress> change) {
+        switch (change.getType()) {
+            case ADDED:
+            case UPDATED:
+                var ingress = change.getCurrent();
+                var pingHosts = getPingHosts(ingress);
+                _hostTable.put(keyOf(ingress), pingHosts);
+                log.debug("Found {} hosts in ingress {}", pingHosts.size(), keyOf(ingress));
+                break;
+            case DELETED:
+                _hostTable.remove(keyOf(change.getPrevious()));
+                log.debug("Removed hosts of ingress {}", keyOf(change.getPrevious()));
+                break;
+        }
     }
 
+    private List<PingHost> getPingHosts(Ingress ingress) {
+        List<PingHost> pingHosts = new ArrayList<>();
+        var interval = getInterval(ingress);
+        Set<String> tlsList = new HashSet<>();
+        ingress.getTls().forEach(tlsSecret -> {
+            var tlsHost = tlsSecret.getHosts();
+            tlsHost.forEach(hostname -> tlsList.add(hostname.getValue()));
+        });
+
+        ingress.getRules().forEach(hostRule -> {
+            var host = hostRule.getHost().getValue();
+            var paths = hostRule.getPaths().iterator();
+            if (!paths.hasNext()) {
+                log.warn("Skipping host {} in ingress {}, the rule has no paths", host, keyOf(ingress));
+                return;
+            }
+            var pingHost = new PingHost();
+            pingHost.setNamespace(ingress.getNamespace().getValue());
+            pingHost.setHost(host);
+            pingHost.setPath(paths.next().getPath().getValue());
+            pingHost.setTls(tlsList.contains(host));
+            pingHost.setInterval(interval);
 
+            pingHosts.add(pingHost);
+        });
+        return pingHosts;
+    }
+
+    private Duration getInterval(Ingress ingress) {
+        for (var annotation : ingress.getAnnotations().getEntries()) {
+            if (annotation.getKey().equals(_intervalAnnotation)) {
+                try {
+                    return DurationStyle.detectAndParse(annotation.getValue());
+                } catch (IllegalArgumentException e) {
+                    log.warn("Invalid ping interval '{}' on ingress {}, using default", annotation.getValue(), keyOf(ingress));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String keyOf(Ingress ingress) {
+        return ingress.getNamespace().getValue() + "/" + ingress.getName().getValue();
+    }
 }
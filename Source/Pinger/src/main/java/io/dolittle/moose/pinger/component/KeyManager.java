@@ -3,61 +3,104 @@
 
 package io.dolittle.moose.pinger.component;
 
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.dolittle.moose.pinger.properties.PingerProperties.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
-import java.util.HashMap;
 import java.util.UUID;
 
 /**
  * Key manager is responsible for generating and storing a unique challenge key for every request.
  * The manger also updates and verifies the keys in the store.
+ * Keys that are never verified, because the ping failed or timed out, expire from the {@link ChallengeStore}.
+ * In token mode the keys are signed {@link ChallengeTokens}, so that any Pinger replica can verify a ping that was sent by another,
+ * and no {@link ChallengeStore} is created.
  */
 @Component
 @Slf4j
 public class KeyManager {
 
-    private final HashMap<String, Boolean> _challengeList = new HashMap<>();
+    private static final String MODE_TOKEN = "token";
+    private static final String DISCOVERY_ENDPOINTS = "endpoints";
 
-    public KeyManager() {
-        log.info("Key Manager instantiated");
+    private final SecureRandom _random = new SecureRandom();
+    private final ChallengeStore _challengeList;
+    private final ChallengeTokens _tokens;
+
+    @Autowired
+    public KeyManager(PingerProperties properties, MeterRegistry registry) {
+        var challenges = properties.getChallenges();
+        if (MODE_TOKEN.equals(challenges.getMode())) {
+            _tokens = new ChallengeTokens(challenges.getSecret(), challenges.getTtl());
+            _challengeList = null;
+        } else {
+            _tokens = null;
+            _challengeList = new ChallengeStore(challenges.getTtl(), challenges.getMaxOutstanding(), registry);
+        }
+        if (_tokens == null && isShardedBetweenReplicas(properties.getSharding())) {
+            throw new IllegalStateException("Sharding between multiple replicas requires io.dolittle.moose.pinger.challenges.mode=token, a ping sent by one replica can be received by another");
+        }
+        log.info("Key Manager instantiated, challenge mode: {}", _tokens != null ? MODE_TOKEN : "store");
     }
 
     public String addChallengeKeyBeforePingRequest() {
+        if (_tokens != null) {
+            return _tokens.issue();
+        }
         String challengeKey = generateChallengeKey();
         log.debug("Adding challenge key: {}", challengeKey);
 
-        _challengeList.put(challengeKey,Boolean.FALSE);
+        _challengeList.add(challengeKey);
         return challengeKey;
     }
 
-    public Boolean verifyChallengeKeyAfterResponse(String key) {
+    /**
+     * Verifies that a ping with the given challenge key was received
+     * @param key The challenge key that was sent
+     * @param receipt The receipt returned in the response, only used in token mode
+     * @return True if the ping was received, false if not
+     */
+    public Boolean verifyChallengeKeyAfterResponse(String key, String receipt) {
         log.debug("Verifying challenge key: {}", key);
-        Boolean verified = _challengeList.get(key);
-        if (verified == null) {
-            return false;
+        if (_tokens != null) {
+            return _tokens.verifyReceipt(key, receipt);
         }
-        _challengeList.remove(key);
-        return verified;
+        return _challengeList.verify(key);
     }
 
     public Boolean updateChallengeKeyWhenPingIsReceived(String key) {
         log.debug("Updating challenge key: {}", key);
-        Boolean foundKey = _challengeList.get(key);
-        if (foundKey == null) {
-            return false;
+        if (_tokens != null) {
+            return _tokens.verify(key);
         }
-        _challengeList.put(key, Boolean.TRUE);
-        return foundKey;
+        return _challengeList.markReceived(key);
+    }
+
+    /**
+     * Creates the receipt to return for a received challenge key
+     * @param key The received challenge key
+     * @return The receipt, or null if receipts are not used
+     */
+    public String getReceiptForChallengeKey(String key) {
+        if (_tokens == null) {
+            return null;
+        }
+        return _tokens.receiptFor(key);
+    }
+
+    private static boolean isShardedBetweenReplicas(ShardingProperties sharding) {
+        return DISCOVERY_ENDPOINTS.equals(sharding.getDiscovery()) || !sharding.getReplicas().isEmpty();
     }
 
     private String generateSalt() {
-        SecureRandom random = new SecureRandom();
         byte[] bytes = new byte[10];
-        random.nextBytes(bytes);
+        _random.nextBytes(bytes);
         String salt = Base64.encodeBase64String(bytes);
         log.debug("Generated salt: {}", salt);
         return salt;
@@ -3,41 +3,71 @@
 
 package io.dolittle.moose.pinger.component;
 
-import io.dolittle.moose.pinger.service.RequestService;
+import io.dolittle.moose.pinger.model.HostChange;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.service.ICanPingHosts;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
- * Ping manager is responsible for periodically pinging a list of hosts
+ * Ping manager is responsible for periodically pinging a list of hosts.
+ * The pings are spread out over the interval by the {@link PingScheduler}, and only the hosts owned by this replica are pinged.
  */
 @Component
 @Slf4j
-public class PingManager {
+public class PingManager implements ApplicationRunner {
 
     private final IngressManager _ingressManager;
-    private final RequestService _requestService;
+    private final ICanPingHosts _pinger;
     private final PingStatus _pingStatus;
+    private final PingScheduler _scheduler;
+    private final ShardManager _shardManager;
 
     @Autowired
-    public PingManager(RequestService requestService, IngressManager ingressManager, PingStatus pingStatus) {
+    public PingManager(ICanPingHosts pinger, IngressManager ingressManager, PingStatus pingStatus, PingScheduler scheduler, ShardManager shardManager) {
         this._ingressManager = ingressManager;
-        this._requestService = requestService;
+        this._pinger = pinger;
         _pingStatus = pingStatus;
+        _scheduler = scheduler;
+        _shardManager = shardManager;
         log.info("Ping Manager instantiated.");
     }
 
-    @Scheduled(cron = "* */5 * * * ?")
-    public void doPing() {
-        var hostList = _ingressManager.getHostsList();
-        _pingStatus.reset();
-        hostList.forEach(pingHost -> _requestService.pingHost(pingHost).thenAcceptAsync(map -> {
-            var host = pingHost.getHost();
-            var status = map.get(host);
-            _pingStatus.updateHostStatus(host, status);
+    @Override
+    public void run(ApplicationArguments args) {
+        _scheduler.start(this::getOwnedHosts, this::doPing, _pingStatus::addHost, pingHost -> _pingStatus.removeHost(pingHost.getHost()));
+        _ingressManager.observeHostChanges().subscribe(this::handleHostChange);
+    }
+
+    private List<PingHost> getOwnedHosts() {
+        var synced = _ingressManager.hasSynced();
+        var hosts = _shardManager.getOwnedHosts(_ingressManager.getHostsList());
+        if (synced) {
+            hosts.forEach(_pingStatus::addHost);
+            _pingStatus.markSynced();
+        }
+        return hosts;
+    }
+
+    private void handleHostChange(HostChange change) {
+        if (change.getCurrent() != null && _shardManager.owns(change.getCurrent())) {
+            _scheduler.schedule(change.getCurrent());
+        } else {
+            _scheduler.retire(change.getHost());
+        }
+    }
+
+    private CompletableFuture<Void> doPing(PingHost pingHost) {
+        return _pinger.pingHost(pingHost).thenAcceptAsync(result -> {
+            _pingStatus.updateHostStatus(result);
             log.debug("Done pinging: {}", pingHost.getURL());
-        }));
+        });
     }
 
 }
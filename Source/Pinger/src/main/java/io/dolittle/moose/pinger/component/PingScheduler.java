@@ -0,0 +1,208 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.dolittle.moose.pinger.properties.PingerProperties.SchedulerProperties;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ping scheduler is responsible for spreading the pings of all hosts evenly over time.
+ * Every host is given its own phase inside its interval, derived from the hostname, so the request rate stays flat at hosts/interval.
+ * The pings of a host are fired at phase + k * interval on the wall clock, plus a fresh jitter each time, so the jitter never accumulates.
+ * The timeouts are kept in a hashed timer wheel, so scheduling and cancelling a host is constant time.
+ */
+@Component
+@Slf4j
+public class PingScheduler {
+    private final SchedulerProperties _properties;
+    private final HashedWheelTimer _timer;
+    private final Map<String, ScheduledHost> _hosts = new ConcurrentHashMap<>();
+    private Function<PingHost, CompletableFuture<?>> _ping;
+    private Consumer<PingHost> _scheduled = pingHost -> {};
+    private Consumer<PingHost> _retired = pingHost -> {};
+
+    @Autowired
+    public PingScheduler(PingerProperties properties) {
+        _properties = properties.getScheduler();
+        _timer = new HashedWheelTimer(new DefaultThreadFactory("pingScheduler", true), _properties.getTick().toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Ping Scheduler instantiated.");
+    }
+
+    /**
+     * Starts scheduling pings, and periodically synchronizes the scheduled hosts with the given supplier.
+     * @param hosts The {@link Supplier} of the current {@link Collection} of {@link PingHost} to ping.
+     * @param ping The {@link Function} that pings a {@link PingHost}, and completes when the ping is done.
+     * @param scheduled The {@link Consumer} that is called when a {@link PingHost} is scheduled, or its schedule is replaced, before it is first pinged.
+     * @param retired The {@link Consumer} that is called when a {@link PingHost} is no longer scheduled.
+     */
+    public void start(Supplier<Collection<PingHost>> hosts, Function<PingHost, CompletableFuture<?>> ping, Consumer<PingHost> scheduled, Consumer<PingHost> retired) {
+        _ping = ping;
+        _scheduled = scheduled;
+        _retired = retired;
+        _timer.newTimeout(timeout -> sync(hosts), 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules every given host that is not already scheduled, and retires every scheduled host that is not in the given collection.
+     * @param hosts The {@link Collection} of {@link PingHost} that should be pinged.
+     */
+    public synchronized void schedule(Collection<PingHost> hosts) {
+        var current = new HashSet<String>();
+        for (var pingHost : hosts) {
+            current.add(pingHost.getHost());
+            schedule(pingHost);
+        }
+        for (var host : new ArrayList<>(_hosts.keySet())) {
+            if (!current.contains(host)) {
+                retire(host);
+            }
+        }
+    }
+
+    /**
+     * Schedules a single host, replacing the schedule of the same host if it has changed.
+     * @param pingHost The {@link PingHost} that should be pinged.
+     */
+    public synchronized void schedule(PingHost pingHost) {
+        var existing = _hosts.get(pingHost.getHost());
+        if (existing != null && existing.pingHost.equals(pingHost)) {
+            return;
+        }
+        var scheduled = new ScheduledHost(pingHost, intervalOf(pingHost));
+        if (existing != null) {
+            existing.retire();
+        }
+        _hosts.put(pingHost.getHost(), scheduled);
+        _scheduled.accept(pingHost);
+        scheduled.scheduleFirst();
+    }
+
+    /**
+     * Stops pinging a single host.
+     * @param host The host that should no longer be pinged.
+     */
+    public synchronized void retire(String host) {
+        var scheduled = _hosts.remove(host);
+        if (scheduled != null) {
+            scheduled.retire();
+            _retired.accept(scheduled.pingHost);
+        }
+    }
+
+    /**
+     * Gets the number of hosts that are currently scheduled.
+     * @return The number of scheduled hosts.
+     */
+    public int getScheduledCount() {
+        return _hosts.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        _timer.stop();
+    }
+
+    private void sync(Supplier<Collection<PingHost>> hosts) {
+        try {
+            schedule(hosts.get());
+        } catch (RuntimeException e) {
+            log.error("Failed to synchronize scheduled hosts", e);
+        } finally {
+            _timer.newTimeout(timeout -> sync(hosts), _properties.getSyncInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Duration intervalOf(PingHost pingHost) {
+        return pingHost.getInterval() != null ? pingHost.getInterval() : _properties.getInterval();
+    }
+
+    private long jitterMillis(long intervalMillis) {
+        var jitter = Math.min(_properties.getJitter().toMillis(), intervalMillis / 2);
+        if (jitter <= 0) return 0;
+        return ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+    }
+
+    private static long phaseOf(String host, long intervalMillis) {
+        var hash = host.hashCode() * 0x9E3779B9;
+        return Integer.toUnsignedLong(hash ^ (hash >>> 16)) % intervalMillis;
+    }
+
+    private class ScheduledHost {
+        final PingHost pingHost;
+        final long intervalMillis;
+        final long phaseMillis;
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        volatile Timeout timeout;
+        volatile boolean retired;
+
+        ScheduledHost(PingHost pingHost, Duration interval) {
+            this.pingHost = pingHost;
+            this.intervalMillis = Math.max(interval.toMillis(), 1);
+            this.phaseMillis = phaseOf(pingHost.getHost(), intervalMillis);
+        }
+
+        void scheduleFirst() {
+            scheduleAt(periodAfter(System.currentTimeMillis()));
+        }
+
+        void retire() {
+            retired = true;
+            var current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private long periodAfter(long nowMillis) {
+            return Math.floorDiv(nowMillis - phaseMillis, intervalMillis) + 1;
+        }
+
+        private void scheduleAt(long period) {
+            if (retired) return;
+            var at = phaseMillis + period * intervalMillis + jitterMillis(intervalMillis);
+            var delay = Math.max(at - System.currentTimeMillis(), 0);
+            timeout = _timer.newTimeout(timeout -> fire(period), delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void fire(long period) {
+            if (retired) return;
+            scheduleAt(Math.max(period + 1, periodAfter(System.currentTimeMillis())));
+
+            if (!inFlight.compareAndSet(false, true)) {
+                log.debug("Skipping ping of {}, previous ping is still in flight", pingHost.getURL());
+                return;
+            }
+            try {
+                _ping.apply(pingHost).whenComplete((result, error) -> inFlight.set(false));
+            } catch (RuntimeException e) {
+                inFlight.set(false);
+                log.error("Could not ping: {}", pingHost.getURL(), e);
+            }
+        }
+    }
+}
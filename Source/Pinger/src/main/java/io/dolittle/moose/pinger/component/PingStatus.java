@@ -3,74 +3,291 @@
 
 package io.dolittle.moose.pinger.component;
 
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.model.PingTimings;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.dolittle.moose.pinger.properties.PingerProperties.MetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
-import lombok.Data;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Hold the results of all the hosts that is pinged.
+ * The number of failing hosts is kept up to date on every result, so the aggregate status is available without scanning or locking.
+ * Results are only stored for hosts that are registered, so a ping that completes after its host was removed is dropped.
+ * The status is not ready until the hosts have been synced, and every registered host has at least one result.
  */
 @Component
-@Data
 @Slf4j
 public class PingStatus {
 
     private final MeterRegistry _registry;
-    private Boolean _monitorStatus = Boolean.TRUE;
-    private HashMap<String, Boolean> _hostStatusList = new HashMap<>();
+    private final MetricsProperties _metrics;
+    private final ConcurrentHashMap<String, PingHost> _registeredHosts = new ConcurrentHashMap<>();
+    private final Map<String, HostMeters> _hostMeters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Boolean> _hostStatusList = new ConcurrentHashMap<>();
+    private final Map<String, String> _hostNamespaces = new ConcurrentHashMap<>();
+    private final Set<String> _failingHosts = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> _failingPerNamespace = new ConcurrentHashMap<>();
+    private final AtomicInteger _failingCount = new AtomicInteger();
+    private final AtomicInteger _pendingCount = new AtomicInteger();
+    private volatile boolean _synced;
+
+    private final UptimeHistory _history;
 
     @Autowired
-    public PingStatus(MeterRegistry registry) {
+    public PingStatus(MeterRegistry registry, PingerProperties properties, UptimeHistory history) {
         _registry = registry;
+        _history = history;
+        _metrics = properties.getMetrics();
+        _registry.gauge("uptime.failing", _failingCount);
     }
 
     /**
-     * Returns False if a single host in the list has a failed ping
-     * @return True -> Success for all hosts, False -> Fail on a single host
+     * Returns False until the hosts have been synced and pinged, or if a single host in the list has a failed ping
+     * @return True -> Success for all hosts, False -> Not synced, a host not pinged yet, or fail on a single host
      */
     public Boolean getStatus() {
-        if (!_monitorStatus) {
+        if (!_synced) {
+            log.debug("Not ready, the hosts have not been synced");
+            return Boolean.FALSE;
+        }
+        if (_pendingCount.get() > 0) {
+            log.debug("Not ready, {} hosts have not been pinged", _pendingCount.get());
+            return Boolean.FALSE;
+        }
+        if (_failingCount.get() > 0) {
             print();
+            return Boolean.FALSE;
         }
-        return _monitorStatus;
+        return Boolean.TRUE;
     }
 
     /**
-     * Store the result of pinged host
-     * @param host Pinged host
-     * @param status True -> Success, False -> Fail
+     * Returns the status of the last ping of every host that has been pinged
+     * @return Unmodifiable {@link Map} from host to True if the last ping succeeded, False if it failed
      */
-    public synchronized void updateHostStatus(String host, Boolean status) {
-        log.debug("Updating status for host: {}, status: {}", host, status);
-        _registry.counter("uptime.ping", Tags.of("host", host)).increment();
-        _hostStatusList.put(host, status);
-        updateMonitorStatus();
+    public Map<String, Boolean> getHostStatuses() {
+        return Collections.unmodifiableMap(_hostStatusList);
+    }
+
+    /**
+     * Returns the number of registered hosts that have not been pinged yet
+     * @return The number of pending hosts
+     */
+    public int getPendingCount() {
+        return _pendingCount.get();
     }
 
     /**
-     * Clears the internal list that stores the results of pinged hosts
+     * Marks the hosts as synced, after every host that should be pinged is registered
      */
-    public synchronized void reset() {
-        _hostStatusList.clear();
+    public void markSynced() {
+        _synced = true;
     }
 
-    private void updateMonitorStatus() {
-        if (_hostStatusList.values().stream().anyMatch(aBoolean -> aBoolean.equals(Boolean.FALSE)))
-        {
-            _monitorStatus = Boolean.FALSE;
-        } else {
-            _monitorStatus = Boolean.TRUE;
+    /**
+     * Returns the number of hosts where the last ping failed
+     * @return The number of failing hosts
+     */
+    public int getFailingCount() {
+        return _failingCount.get();
+    }
+
+    /**
+     * Returns the hosts where the last ping failed
+     * @return Unmodifiable {@link Set} of the failing hosts
+     */
+    public Set<String> getFailingHosts() {
+        return Collections.unmodifiableSet(_failingHosts);
+    }
+
+    /**
+     * Returns the number of hosts where the last ping failed, per namespace of the Ingress that defines the host
+     * @return Snapshot {@link Map} from namespace to the number of failing hosts, only containing namespaces with failing hosts
+     */
+    public Map<String, Integer> getFailingPerNamespace() {
+        return Map.copyOf(_failingPerNamespace);
+    }
+
+    /**
+     * Registers a host that is pinged, so that its results are stored.
+     * A newly registered host is pending until its first result is stored
+     * @param pingHost The {@link PingHost} that is pinged, replacing the registration of the same host
+     */
+    public void addHost(PingHost pingHost) {
+        _registeredHosts.compute(pingHost.getHost(), (host, registered) -> {
+            if (registered == null) {
+                _pendingCount.incrementAndGet();
+            }
+            return pingHost;
+        });
+    }
+
+    /**
+     * Store the result of pinged host, and record its latency.
+     * The result is dropped if the host is no longer registered, or was registered again with a different {@link PingHost}
+     * @param result The {@link PingResult} of the pinged host
+     */
+    public void updateHostStatus(PingResult result) {
+        var pingHost = result.getPingHost();
+        var current = _registeredHosts.computeIfPresent(pingHost.getHost(), (host, registered) -> {
+            if (registered.equals(pingHost)) {
+                storeHostStatus(result);
+            } else {
+                log.debug("Dropping stale result for host: {}", host);
+            }
+            return registered;
+        });
+        if (current == null) {
+            log.debug("Dropping result for removed host: {}", pingHost.getHost());
         }
     }
 
+    /**
+     * Removes the stored result of a host that is no longer pinged
+     * @param host Host to remove
+     */
+    public void removeHost(String host) {
+        _registeredHosts.computeIfPresent(host, (key, registered) -> {
+            if (!_hostStatusList.containsKey(host)) {
+                _pendingCount.decrementAndGet();
+            }
+            _hostStatusList.computeIfPresent(host, (statusKey, previous) -> {
+                var previousNamespace = _hostNamespaces.remove(host);
+                if (Boolean.FALSE.equals(previous)) {
+                    removeFailing(host, previousNamespace);
+                }
+                return null;
+            });
+            var meters = _hostMeters.remove(host);
+            if (meters != null) {
+                meters.remove();
+            }
+            _history.remove(host);
+            return null;
+        });
+    }
+
+    private void storeHostStatus(PingResult result) {
+        var pingHost = result.getPingHost();
+        var host = pingHost.getHost();
+        _hostMeters.computeIfAbsent(host, HostMeters::new).record(result.getOutcome(), result.getTimings());
+
+        var status = result.getStatus();
+        _history.record(host, Instant.now().getEpochSecond(), status, result.getTimings().getTotal());
+        var namespace = pingHost.getNamespace() != null ? pingHost.getNamespace() : "";
+        log.debug("Updating status for host: {}, status: {}", host, status);
+        _hostStatusList.compute(host, (key, previous) -> {
+            var previousNamespace = _hostNamespaces.put(host, namespace);
+            if (previous == null) {
+                _pendingCount.decrementAndGet();
+            }
+            if (Boolean.FALSE.equals(previous)) {
+                removeFailing(host, previousNamespace);
+            }
+            if (!status) {
+                addFailing(host, namespace);
+            }
+            return status;
+        });
+    }
+
+    private void addFailing(String host, String namespace) {
+        _failingHosts.add(host);
+        _failingPerNamespace.merge(namespace, 1, Integer::sum);
+        _failingCount.incrementAndGet();
+    }
+
+    private void removeFailing(String host, String namespace) {
+        _failingHosts.remove(host);
+        _failingPerNamespace.computeIfPresent(namespace, (key, failing) -> failing > 1 ? failing - 1 : null);
+        _failingCount.decrementAndGet();
+    }
+
     private void print() {
-        log.info("*** START STATUS ***");
-        _hostStatusList.forEach( (s, aBoolean) -> log.info("host: {}, status: {}", s, aBoolean));
-        log.info("*** END STATUS, size: {} ***", _hostStatusList.size());
+        log.info("*** START FAILING HOSTS ***");
+        _failingHosts.forEach(host -> log.info("host: {}, namespace: {}", host, _hostNamespaces.get(host)));
+        log.info("*** END FAILING HOSTS, failing: {} of {} ***", _failingCount.get(), _hostStatusList.size());
+    }
+
+    /**
+     * Holds the meters of a single host, so that they are registered once and reused for every ping.
+     */
+    private class HostMeters {
+        private final String _host;
+        private final Counter _pings;
+        private final AtomicReferenceArray<Timer[]> _timers = new AtomicReferenceArray<>(PingOutcome.values().length);
+
+        HostMeters(String host) {
+            _host = host;
+            _pings = _registry.counter("uptime.ping", Tags.of("host", host));
+        }
+
+        void record(PingOutcome outcome, PingTimings timings) {
+            _pings.increment();
+            var timers = _timers.get(outcome.ordinal());
+            if (timers == null) {
+                _timers.compareAndSet(outcome.ordinal(), null, createTimers(outcome));
+                timers = _timers.get(outcome.ordinal());
+            }
+            record(timers[0], timings.getDns());
+            record(timers[1], timings.getConnect());
+            record(timers[2], timings.getTls());
+            record(timers[3], timings.getFirstByte());
+            record(timers[4], timings.getTotal());
+        }
+
+        void remove() {
+            _registry.remove(_pings);
+            for (var i = 0; i < _timers.length(); i++) {
+                var timers = _timers.get(i);
+                if (timers == null) continue;
+                for (Meter timer : timers) {
+                    _registry.remove(timer);
+                }
+            }
+        }
+
+        private Timer[] createTimers(PingOutcome outcome) {
+            return new Timer[] {
+                createTimer(outcome, "dns"),
+                createTimer(outcome, "connect"),
+                createTimer(outcome, "tls"),
+                createTimer(outcome, "first-byte"),
+                createTimer(outcome, "total"),
+            };
+        }
+
+        private Timer createTimer(PingOutcome outcome, String phase) {
+            return Timer.builder("uptime.ping.duration")
+                .tags("host", _host, "outcome", outcome.name().toLowerCase(), "phase", phase)
+                .publishPercentiles(_metrics.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray())
+                .publishPercentileHistogram(_metrics.isHistogram())
+                .sla(_metrics.getSlos().toArray(new Duration[0]))
+                .register(_registry);
+        }
+
+        private void record(Timer timer, Duration duration) {
+            if (duration != null) {
+                timer.record(duration);
+            }
+        }
     }
 }
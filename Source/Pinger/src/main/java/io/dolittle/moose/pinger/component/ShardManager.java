@@ -0,0 +1,122 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.Replica;
+import io.dolittle.moose.pinger.service.ICanDiscoverReplicas;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shard manager is responsible for splitting the hosts to ping between the running Pinger replicas.
+ * Hosts are assigned with rendezvous hashing: every host is owned by the replica with the highest score for that host.
+ * When a replica comes or goes, only the hosts it owned, or now owns, change owner.
+ */
+@Component
+@Slf4j
+public class ShardManager {
+    private final ICanDiscoverReplicas _replicas;
+
+    @Autowired
+    public ShardManager(ICanDiscoverReplicas replicas) {
+        _replicas = replicas;
+        log.info("Shard Manager instantiated.");
+    }
+
+    /**
+     * Returns the hosts that are owned by this replica
+     * @param hosts {@link List} of all {@link PingHost}
+     * @return {@link List} of the {@link PingHost} this replica should ping
+     */
+    public List<PingHost> getOwnedHosts(List<PingHost> hosts) {
+        var replicas = _replicas.getReplicas();
+        var self = _replicas.getSelf();
+        if (replicas.size() <= 1) {
+            return hosts;
+        }
+
+        var replicaHashes = hashesOf(replicas);
+        var owned = new ArrayList<PingHost>();
+        for (var host : hosts) {
+            if (replicas.get(ownerOf(hash(host.getHost()), replicaHashes)).equals(self)) {
+                owned.add(host);
+            }
+        }
+        log.debug("Owning {} of {} hosts across {} replicas", owned.size(), hosts.size(), replicas.size());
+        return owned;
+    }
+
+    /**
+     * Returns whether a host is owned by this replica
+     * @param host The {@link PingHost} to check
+     * @return True if this replica should ping the host, false if not
+     */
+    public boolean owns(PingHost host) {
+        var replicas = _replicas.getReplicas();
+        if (replicas.size() <= 1) {
+            return true;
+        }
+        return replicas.get(ownerOf(hash(host.getHost()), hashesOf(replicas))).equals(_replicas.getSelf());
+    }
+
+    /**
+     * Returns all the running replicas, including this one
+     * @return {@link List} of {@link Replica}
+     */
+    public List<Replica> getReplicas() {
+        return _replicas.getReplicas();
+    }
+
+    /**
+     * Returns the replica that represents this process
+     * @return The {@link Replica} of this process
+     */
+    public Replica getSelf() {
+        return _replicas.getSelf();
+    }
+
+    private static long[] hashesOf(List<Replica> replicas) {
+        var hashes = new long[replicas.size()];
+        for (var i = 0; i < replicas.size(); i++) {
+            hashes[i] = hash(replicas.get(i).getName());
+        }
+        return hashes;
+    }
+
+    private static int ownerOf(long hostHash, long[] replicaHashes) {
+        var owner = 0;
+        var highest = Long.MIN_VALUE;
+        for (var i = 0; i < replicaHashes.length; i++) {
+            var score = mix(hostHash ^ replicaHashes[i]);
+            if (score > highest) {
+                highest = score;
+                owner = i;
+            }
+        }
+        return owner;
+    }
+
+    private static long hash(String value) {
+        // 64-bit FNV-1a, so that the assignment does not depend on the JVM
+        var hash = 0xcbf29ce484222325L;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
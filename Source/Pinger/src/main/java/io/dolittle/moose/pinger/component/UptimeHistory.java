@@ -0,0 +1,237 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.dolittle.moose.pinger.properties.PingerProperties.HistoryProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a fixed size history of ping results for every host, in direct memory outside of the heap.
+ * Every host gets a slot of the same size in a slab, holding a ring buffer of the latest samples and a ring buffer of hourly counts.
+ * Memory use is therefore fixed per host, and recording or reading the history does not allocate any objects.
+ * The slot of a host is checked again while holding the lock of its slab, so a write never lands in a slot that was freed and given to another host.
+ */
+@Component
+@Slf4j
+public class UptimeHistory {
+    private static final int HEADER_SIZE = 8;
+    private static final int SAMPLE_SIZE = 8;
+    private static final int HOUR_SIZE = 12;
+    private static final int STATUS_BIT = 0x80000000;
+    private static final int LATENCY_MASK = 0x7fffffff;
+
+    private final int _samples;
+    private final int _hours;
+    private final int _slotsPerSlab;
+    private final int _slotSize;
+    private volatile ByteBuffer[] _slabs = new ByteBuffer[0];
+    private final Map<String, Integer> _slots = new ConcurrentHashMap<>();
+    private int[] _freeSlots = new int[16];
+    private int _freeCount;
+    private int _nextSlot;
+
+    @Autowired
+    public UptimeHistory(PingerProperties properties) {
+        this(properties.getHistory());
+    }
+
+    UptimeHistory(HistoryProperties properties) {
+        _samples = properties.getSamples();
+        _hours = properties.getHours();
+        _slotsPerSlab = properties.getSlotsPerSlab();
+        _slotSize = HEADER_SIZE + _samples * SAMPLE_SIZE + _hours * HOUR_SIZE;
+        log.info("Uptime history uses {} bytes per host", _slotSize);
+    }
+
+    /**
+     * Records the result of a ping.
+     * @param host The pinged host.
+     * @param epochSecond The time of the ping, in seconds since the epoch.
+     * @param status True if the ping succeeded, false if not.
+     * @param latency The total time of the ping, or null if it is not known.
+     */
+    public void record(String host, long epochSecond, boolean status, Duration latency) {
+        var latencyMillis = latency != null ? (int) Math.min(latency.toMillis(), LATENCY_MASK) : 0;
+        while (true) {
+            var slot = _slots.get(host);
+            if (slot == null) {
+                slot = allocate(host);
+            }
+            var slab = slabOf(slot);
+            var offset = offsetOf(slot);
+
+            synchronized (slab) {
+                if (!slot.equals(_slots.get(host))) {
+                    // The slot was freed, and possibly given to another host, after it was looked up
+                    continue;
+                }
+                var next = slab.getInt(offset);
+                var count = slab.getInt(offset + 4);
+                var sample = offset + HEADER_SIZE + next * SAMPLE_SIZE;
+                slab.putInt(sample, (int) epochSecond);
+                slab.putInt(sample + 4, (status ? STATUS_BIT : 0) | latencyMillis);
+                slab.putInt(offset, (next + 1) % _samples);
+                slab.putInt(offset + 4, Math.min(count + 1, _samples));
+
+                var hour = (int) (epochSecond / 3600);
+                var bucket = hourOffset(offset, hour);
+                if (slab.getInt(bucket) != hour) {
+                    slab.putInt(bucket, hour);
+                    slab.putInt(bucket + 4, 0);
+                    slab.putInt(bucket + 8, 0);
+                }
+                slab.putInt(bucket + 4, saturatedIncrement(slab.getInt(bucket + 4)));
+                if (status) {
+                    slab.putInt(bucket + 8, saturatedIncrement(slab.getInt(bucket + 8)));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Calculates the percentage of successful pings of a host within a window ending now.
+     * Windows covered by the latest samples are calculated exactly, longer windows are calculated from whole hours.
+     * @param host The host.
+     * @param nowEpochSecond The current time, in seconds since the epoch.
+     * @param window The length of the window.
+     * @return The percentage of successful pings, or NaN if there are no pings in the window.
+     */
+    public double getUptime(String host, long nowEpochSecond, Duration window) {
+        var slot = _slots.get(host);
+        if (slot == null) return Double.NaN;
+        var slab = slabOf(slot);
+        var offset = offsetOf(slot);
+        var from = nowEpochSecond - window.getSeconds();
+
+        synchronized (slab) {
+            if (!slot.equals(_slots.get(host))) return Double.NaN;
+            var next = slab.getInt(offset);
+            var count = slab.getInt(offset + 4);
+            var oldest = offset + HEADER_SIZE + ((next - count + _samples) % _samples) * SAMPLE_SIZE;
+            if (count < _samples || Integer.toUnsignedLong(slab.getInt(oldest)) <= from) {
+                return fromSamples(slab, offset, next, count, from);
+            }
+            return fromHours(slab, offset, nowEpochSecond, from);
+        }
+    }
+
+    /**
+     * Gets the latest recorded latency of a host.
+     * @param host The host.
+     * @return The latest latency in milliseconds, or -1 if there are no pings recorded.
+     */
+    public int getLatestLatencyMillis(String host) {
+        var slot = _slots.get(host);
+        if (slot == null) return -1;
+        var slab = slabOf(slot);
+        var offset = offsetOf(slot);
+        synchronized (slab) {
+            if (!slot.equals(_slots.get(host)) || slab.getInt(offset + 4) == 0) return -1;
+            var latest = (slab.getInt(offset) - 1 + _samples) % _samples;
+            return slab.getInt(offset + HEADER_SIZE + latest * SAMPLE_SIZE + 4) & LATENCY_MASK;
+        }
+    }
+
+    /**
+     * Removes the history of a host, and makes its slot available for other hosts.
+     * @param host The host.
+     */
+    public void remove(String host) {
+        Integer slot;
+        while (true) {
+            slot = _slots.get(host);
+            if (slot == null) return;
+            var slab = slabOf(slot);
+            var offset = offsetOf(slot);
+            synchronized (slab) {
+                if (!_slots.remove(host, slot)) continue;
+                for (var i = 0; i < _slotSize; i += 4) {
+                    slab.putInt(offset + i, 0);
+                }
+                break;
+            }
+        }
+        synchronized (this) {
+            if (_freeCount == _freeSlots.length) {
+                var freeSlots = new int[_freeSlots.length * 2];
+                System.arraycopy(_freeSlots, 0, freeSlots, 0, _freeCount);
+                _freeSlots = freeSlots;
+            }
+            _freeSlots[_freeCount++] = slot;
+        }
+    }
+
+    private double fromSamples(ByteBuffer slab, int offset, int next, int count, long from) {
+        var total = 0;
+        var up = 0;
+        for (var i = 1; i <= count; i++) {
+            var sample = offset + HEADER_SIZE + ((next - i + _samples) % _samples) * SAMPLE_SIZE;
+            if (Integer.toUnsignedLong(slab.getInt(sample)) <= from) break;
+            total++;
+            if ((slab.getInt(sample + 4) & STATUS_BIT) != 0) up++;
+        }
+        return total == 0 ? Double.NaN : 100.0 * up / total;
+    }
+
+    private double fromHours(ByteBuffer slab, int offset, long now, long from) {
+        var total = 0L;
+        var up = 0L;
+        var currentHour = (int) (now / 3600);
+        var firstHour = (int) Math.max(from / 3600, currentHour - _hours + 1);
+        for (var hour = firstHour; hour <= currentHour; hour++) {
+            var bucket = hourOffset(offset, hour);
+            if (slab.getInt(bucket) != hour) continue;
+            total += slab.getInt(bucket + 4);
+            up += slab.getInt(bucket + 8);
+        }
+        return total == 0 ? Double.NaN : 100.0 * up / total;
+    }
+
+    private static int saturatedIncrement(int count) {
+        return count == Integer.MAX_VALUE ? count : count + 1;
+    }
+
+    private int hourOffset(int offset, int hour) {
+        return offset + HEADER_SIZE + _samples * SAMPLE_SIZE + Math.floorMod(hour, _hours) * HOUR_SIZE;
+    }
+
+    private synchronized int allocate(String host) {
+        var existing = _slots.get(host);
+        if (existing != null) return existing;
+
+        int slot;
+        if (_freeCount > 0) {
+            slot = _freeSlots[--_freeCount];
+        } else {
+            slot = _nextSlot++;
+            if (slot / _slotsPerSlab == _slabs.length) {
+                var slabs = Arrays.copyOf(_slabs, _slabs.length + 1);
+                slabs[_slabs.length] = ByteBuffer.allocateDirect(_slotsPerSlab * _slotSize);
+                _slabs = slabs;
+                log.debug("Allocated uptime history slab {}", slabs.length);
+            }
+        }
+        _slots.put(host, slot);
+        return slot;
+    }
+
+    private ByteBuffer slabOf(int slot) {
+        return _slabs[slot / _slotsPerSlab];
+    }
+
+    private int offsetOf(int slot) {
+        return (slot % _slotsPerSlab) * _slotSize;
+    }
+}
@@ -4,6 +4,7 @@
 package io.dolittle.moose.pinger.config;
 
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.*;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -15,6 +16,7 @@ import java.util.concurrent.Executor;
 @Profile("pinger")
 @Configuration
 @ComponentScan(basePackages = {"io.dolittle.moose.pinger", "io.dolittle.moose.kubernetes.config"})
+@ConfigurationPropertiesScan(basePackages = {"io.dolittle.moose.pinger.properties"})
 @Import(SecurityConfig.class)
 @EnableAsync
 @EnableScheduling
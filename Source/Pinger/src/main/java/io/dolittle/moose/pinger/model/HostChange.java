@@ -0,0 +1,22 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.model;
+
+import lombok.Value;
+
+/**
+ * Represents a change to the {@link PingHost} that is pinged for a host.
+ */
+@Value
+public class HostChange {
+    String host;
+    /**
+     * The {@link PingHost} before the change, or null if the host was added.
+     */
+    PingHost previous;
+    /**
+     * The {@link PingHost} after the change, or null if the host was removed.
+     */
+    PingHost current;
+}
@@ -0,0 +1,21 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.model;
+
+import lombok.Value;
+
+/**
+ * Represents the status of a single pinged host, as it is exposed by the management interface.
+ */
+@Value
+public class HostStatus {
+    /**
+     * True if the last ping succeeded, false if it failed.
+     */
+    Boolean status;
+    /**
+     * The percentage of successful pings within the last 24 hours, or null if there are no pings.
+     */
+    Double uptime;
+}
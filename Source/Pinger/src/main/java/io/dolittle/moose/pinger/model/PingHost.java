@@ -5,15 +5,19 @@ package io.dolittle.moose.pinger.model;
 
 import lombok.Data;
 
+import java.time.Duration;
+
 import static io.dolittle.moose.pinger.util.PingConstants.PROTOCOL_HTTP;
 import static io.dolittle.moose.pinger.util.PingConstants.PROTOCOL_HTTPS;
 
 
 @Data
 public class PingHost {
+    private String namespace;
     private String host;
     private String path;
     private Boolean tls;
+    private Duration interval;
 
     public String getURL() {
         String url ;
@@ -0,0 +1,30 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.model;
+
+/**
+ * Represents the outcome of pinging a {@link PingHost}.
+ */
+public enum PingOutcome {
+    /**
+     * The ping was routed back to the Pinger and the challenge key was verified.
+     */
+    SUCCESS,
+    /**
+     * The host responded with 200, but the challenge key was not verified.
+     */
+    CHALLENGE_FAILED,
+    /**
+     * The host responded with a status code other than 200.
+     */
+    BAD_STATUS,
+    /**
+     * The request failed before a response was received.
+     */
+    ERROR,
+    /**
+     * The ping was not sent because the engine was at capacity.
+     */
+    REJECTED
+}
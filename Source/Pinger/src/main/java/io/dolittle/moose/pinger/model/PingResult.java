@@ -0,0 +1,34 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.model;
+
+import lombok.Value;
+
+/**
+ * Represents the result of pinging a {@link PingHost}.
+ */
+@Value
+public class PingResult {
+    PingHost pingHost;
+    PingOutcome outcome;
+    PingTimings timings;
+
+    /**
+     * Gets whether the ping succeeded.
+     * @return True if the challenge key was verified, false if not.
+     */
+    public Boolean getStatus() {
+        return outcome == PingOutcome.SUCCESS;
+    }
+
+    /**
+     * Creates a failed result for the given {@link PingHost}.
+     * @param pingHost The {@link PingHost} that was pinged.
+     * @param outcome The {@link PingOutcome} of the ping.
+     * @return A {@link PingResult}.
+     */
+    public static PingResult failed(PingHost pingHost, PingOutcome outcome) {
+        return new PingResult(pingHost, outcome, PingTimings.none());
+    }
+}
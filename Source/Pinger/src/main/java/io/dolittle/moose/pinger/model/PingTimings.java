@@ -0,0 +1,38 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.model;
+
+import java.time.Duration;
+
+import lombok.Value;
+
+/**
+ * Represents the time spent in each phase of a ping request.
+ * A phase that did not happen, like DNS resolution on a pooled connection, is null.
+ */
+@Value
+public class PingTimings {
+    Duration dns;
+    Duration connect;
+    Duration tls;
+    Duration firstByte;
+    Duration total;
+
+    /**
+     * Creates {@link PingTimings} where only the total time is known.
+     * @param total The total time of the ping request.
+     * @return The {@link PingTimings}.
+     */
+    public static PingTimings ofTotal(Duration total) {
+        return new PingTimings(null, null, null, null, total);
+    }
+
+    /**
+     * Creates {@link PingTimings} where no phase is known.
+     * @return The {@link PingTimings}.
+     */
+    public static PingTimings none() {
+        return new PingTimings(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.model;
+
+import lombok.Value;
+
+/**
+ * Represents a running Pinger replica that shares the work of pinging hosts.
+ */
+@Value
+public class Replica {
+    /**
+     * The unique name of the replica, typically the name of the Pod.
+     */
+    String name;
+    /**
+     * The host and port the replica can be reached on by the other replicas.
+     */
+    String address;
+}
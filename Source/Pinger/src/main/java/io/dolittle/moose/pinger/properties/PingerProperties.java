@@ -0,0 +1,129 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.properties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Defines the configuration of how the Pinger sends HTTP ping requests to the monitored hosts.
+ */
+@ConfigurationProperties(prefix = "io.dolittle.moose.pinger")
+@Data
+public class PingerProperties {
+    /**
+     * The engine used to send ping requests, either "rest-template" or "async".
+     */
+    private String engine;
+    private AsyncEngineProperties async = new AsyncEngineProperties();
+    private SchedulerProperties scheduler = new SchedulerProperties();
+    private MetricsProperties metrics = new MetricsProperties();
+    private ChallengeProperties challenges = new ChallengeProperties();
+    private ShardingProperties sharding = new ShardingProperties();
+    private HistoryProperties history = new HistoryProperties();
+
+    /**
+     * Defines the configuration of the non-blocking ping engine.
+     */
+    @Data
+    public static class AsyncEngineProperties {
+        private int maxInFlight;
+        private int maxQueued;
+        private int ioThreads;
+        private int maxConnectionsPerHost;
+        private Duration connectTimeout;
+        private Duration requestTimeout;
+    }
+
+    /**
+     * Defines the configuration of how pings are spread out over time.
+     */
+    @Data
+    public static class SchedulerProperties {
+        private Duration interval;
+        private Duration jitter;
+        private Duration tick;
+        private Duration syncInterval;
+        /**
+         * The key of the Ingress annotation that overrides the interval for the hosts of that Ingress.
+         */
+        private String intervalAnnotation;
+    }
+
+    /**
+     * Defines the configuration of the latency meters that are recorded for every ping.
+     */
+    @Data
+    public static class MetricsProperties {
+        private List<Double> percentiles = new ArrayList<>();
+        private boolean histogram;
+        private List<Duration> slos = new ArrayList<>();
+    }
+
+    /**
+     * Defines the configuration of how long outstanding challenge keys are kept.
+     */
+    @Data
+    public static class ChallengeProperties {
+        /**
+         * How challenge keys are verified, either "store" (only by the replica that sent the ping) or "token" (by any replica that shares the secret).
+         */
+        private String mode;
+        private String secret;
+        private Duration ttl;
+        private long maxOutstanding;
+    }
+
+    /**
+     * Defines the configuration of how hosts are split between multiple Pinger replicas.
+     * A ping can be routed to any replica, so sharding between replicas requires the "token" challenge mode.
+     */
+    @Data
+    public static class ShardingProperties {
+        /**
+         * How the replicas are discovered, either "static" (from the replicas property) or "endpoints" (from the Endpoints of the Pinger Service).
+         */
+        private String discovery;
+        /**
+         * The name of this replica, typically the name of the Pod.
+         */
+        private String self;
+        /**
+         * The names and addresses of the other replicas when using static discovery.
+         */
+        private Map<String, String> replicas = new HashMap<>();
+        private String namespace;
+        private String service;
+        private String portName;
+        private int port;
+        private Duration refreshInterval;
+        private Duration peerTimeout;
+    }
+
+    /**
+     * Defines the configuration of how much ping history is kept for every host.
+     */
+    @Data
+    public static class HistoryProperties {
+        /**
+         * The number of latest ping results to keep.
+         */
+        private int samples;
+        /**
+         * The number of hours to keep counts of successful and failed pings for.
+         */
+        private int hours;
+        /**
+         * The number of hosts to allocate memory for at a time.
+         */
+        private int slotsPerSlab;
+    }
+}
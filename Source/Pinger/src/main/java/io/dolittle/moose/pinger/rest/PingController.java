@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletRequest;
 
+import static io.dolittle.moose.pinger.util.PingConstants.RECEIPT_HEADER;
+
 @RestController
 @RequestMapping(value = "dolittle/ingress", produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.GET)
 @Slf4j
@@ -32,9 +34,14 @@ public class PingController {
 
         if (!_keyManager.updateChallengeKeyWhenPingIsReceived(challenge)) {
             log.warn("Received ping from an unauthorized source: {}", remoteHost);
+            return ResponseEntity.ok("ok");
         }
 
-        return ResponseEntity.ok("ok");
+        var receipt = _keyManager.getReceiptForChallengeKey(challenge);
+        if (receipt == null) {
+            return ResponseEntity.ok("ok");
+        }
+        return ResponseEntity.ok().header(RECEIPT_HEADER, receipt).body("ok");
     }
 
 
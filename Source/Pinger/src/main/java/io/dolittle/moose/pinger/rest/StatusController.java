@@ -3,6 +3,7 @@
 
 package io.dolittle.moose.pinger.rest;
 
+import io.dolittle.moose.pinger.component.ClusterStatus;
 import io.dolittle.moose.pinger.component.PingStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -17,15 +18,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class StatusController {
 
     private final PingStatus _pingStatus;
+    private final ClusterStatus _clusterStatus;
 
     @Autowired
-    public StatusController(PingStatus pingStatus) {
+    public StatusController(PingStatus pingStatus, ClusterStatus clusterStatus) {
         _pingStatus = pingStatus;
+        _clusterStatus = clusterStatus;
     }
 
     @RequestMapping(value = "/status")
     public ResponseEntity<String> Status() {
-        var status = _pingStatus.getStatus();
+        return toResponse(_clusterStatus.getStatus());
+    }
+
+    @RequestMapping(value = "/local")
+    public ResponseEntity<String> LocalStatus() {
+        return toResponse(_pingStatus.getStatus());
+    }
+
+    private ResponseEntity<String> toResponse(Boolean status) {
         if (status) {
             return new ResponseEntity<>("{ \"status\":\"OK\" }", HttpStatus.OK);
         }
@@ -0,0 +1,151 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.service;
+
+import static io.dolittle.moose.pinger.util.PingConstants.RECEIPT_HEADER;
+import static io.dolittle.moose.pinger.util.PingConstants.USER_AGENT;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig;
+import org.asynchttpclient.Dsl;
+import org.asynchttpclient.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import io.dolittle.moose.pinger.component.KeyManager;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An implementation of {@link ICanPingHosts} that uses non-blocking I/O and a shared connection pool to ping hosts.
+ * The number of requests in flight is bounded, and pings that exceed the bound are queued until a request completes.
+ * The queue is drained in a loop by one thread at a time, so requests that fail synchronously do not grow the stack.
+ */
+@Service
+@ConditionalOnProperty(name = "io.dolittle.moose.pinger.engine", havingValue = "async")
+@Slf4j
+public class AsyncRequestService implements ICanPingHosts {
+    private final KeyManager _keyManager;
+    private final AsyncHttpClient _client;
+    private final Semaphore _inFlight;
+    private final Queue<QueuedPing> _queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger _queued = new AtomicInteger();
+    private final AtomicInteger _draining = new AtomicInteger();
+    private final int _maxQueued;
+
+    /**
+     * Initializes a new instance of the {@link AsyncRequestService} class.
+     * @param keyManager The {@link KeyManager} to use to create and verify challenge keys.
+     * @param properties The {@link PingerProperties} that configures the engine.
+     */
+    @Autowired
+    public AsyncRequestService(KeyManager keyManager, PingerProperties properties) {
+        var async = properties.getAsync();
+        _keyManager = keyManager;
+        _inFlight = new Semaphore(async.getMaxInFlight());
+        _maxQueued = async.getMaxQueued();
+        _client = Dsl.asyncHttpClient(new DefaultAsyncHttpClientConfig.Builder()
+            .setUserAgent(USER_AGENT)
+            .setThreadPoolName("asyncPinger")
+            .setIoThreadsCount(async.getIoThreads())
+            .setMaxConnectionsPerHost(async.getMaxConnectionsPerHost())
+            .setConnectTimeout((int)async.getConnectTimeout().toMillis())
+            .setRequestTimeout((int)async.getRequestTimeout().toMillis())
+            .setFollowRedirect(true)
+            .setKeepAlive(true));
+        log.info("Async ping engine instantiated with {} requests in flight", async.getMaxInFlight());
+    }
+
+    @Override
+    public CompletableFuture<PingResult> pingHost(PingHost pingHost) {
+        var future = new CompletableFuture<PingResult>();
+        if (_inFlight.tryAcquire()) {
+            send(pingHost, future);
+        } else if (_queued.incrementAndGet() <= _maxQueued) {
+            _queue.add(new QueuedPing(pingHost, future));
+            sendQueued();
+        } else {
+            _queued.decrementAndGet();
+            log.warn("Too many pings in flight, could not ping: {}", pingHost.getURL());
+            future.complete(PingResult.failed(pingHost, PingOutcome.REJECTED));
+        }
+        return future;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        _client.close();
+    }
+
+    private void send(PingHost pingHost, CompletableFuture<PingResult> future) {
+        var challengeKey = _keyManager.addChallengeKeyBeforePingRequest();
+        var url = pingHost.getURL() + "/" + challengeKey;
+        log.debug("Pinging: {}, challenge-key: {}", url, challengeKey);
+
+        var timing = new PhaseTimingHandler();
+        CompletableFuture<Response> request;
+        try {
+            request = _client.prepareGet(url).execute(timing).toCompletableFuture();
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+
+        request.handle((response, error) -> {
+            if (error != null) {
+                log.error("Error pinging: {}", url);
+                log.debug("Stack trace", error);
+                return new PingResult(pingHost, PingOutcome.ERROR, timing.getTimings());
+            }
+            if (response.getStatusCode() != 200) {
+                log.error("Response: {} {}", response.getStatusCode(), response.getStatusText());
+                return new PingResult(pingHost, PingOutcome.BAD_STATUS, timing.getTimings());
+            }
+            var verified = _keyManager.verifyChallengeKeyAfterResponse(challengeKey, response.getHeader(RECEIPT_HEADER));
+            return new PingResult(pingHost, verified ? PingOutcome.SUCCESS : PingOutcome.CHALLENGE_FAILED, timing.getTimings());
+        }).whenComplete((result, error) -> {
+            _inFlight.release();
+            sendQueued();
+            future.complete(result != null ? result : PingResult.failed(pingHost, PingOutcome.ERROR));
+        });
+    }
+
+    private void sendQueued() {
+        if (_draining.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            while (!_queue.isEmpty() && _inFlight.tryAcquire()) {
+                var queued = _queue.poll();
+                if (queued == null) {
+                    _inFlight.release();
+                    break;
+                }
+                _queued.decrementAndGet();
+                send(queued.pingHost, queued.future);
+            }
+            missed = _draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    @AllArgsConstructor
+    private static class QueuedPing {
+        final PingHost pingHost;
+        final CompletableFuture<PingResult> future;
+    }
+}
@@ -0,0 +1,128 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import io.dolittle.moose.pinger.model.Replica;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.dolittle.moose.pinger.properties.PingerProperties.ShardingProperties;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1EndpointAddress;
+import io.kubernetes.client.openapi.models.V1EndpointSubset;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An implementation of {@link ICanDiscoverReplicas} that discovers the replicas from the ready addresses of the Endpoints of the Pinger Service.
+ * The Endpoints are read again when they are older than the refresh interval, and the last known replicas are kept if the read fails.
+ * Only one caller reads the Endpoints at a time, and the other callers get the last known replicas instead of waiting for the read.
+ */
+@Service
+@ConditionalOnProperty(name = "io.dolittle.moose.pinger.sharding.discovery", havingValue = "endpoints")
+@Slf4j
+public class EndpointsReplicaDiscovery implements ICanDiscoverReplicas {
+    private final CoreV1Api _coreV1Api;
+    private final ShardingProperties _properties;
+    private final Replica _self;
+    private volatile List<Replica> _replicas;
+    private volatile long _refreshedAt;
+    private final AtomicBoolean _refreshing = new AtomicBoolean();
+
+    /**
+     * Initializes a new instance of the {@link EndpointsReplicaDiscovery} class.
+     * @param apiClient The {@link ApiClient} used to interact with the Kubernetes Api Server.
+     * @param properties The {@link PingerProperties} that configures where to find the Endpoints.
+     */
+    @Autowired
+    public EndpointsReplicaDiscovery(ApiClient apiClient, PingerProperties properties) {
+        _coreV1Api = new CoreV1Api(apiClient);
+        _properties = properties.getSharding();
+        _self = new Replica(_properties.getSelf(), null);
+        _replicas = List.of(_self);
+        log.info("Discovering replicas from endpoints {}/{}", _properties.getNamespace(), _properties.getService());
+    }
+
+    @Override
+    public Replica getSelf() {
+        return _self;
+    }
+
+    @Override
+    public List<Replica> getReplicas() {
+        if (isStale() && _refreshing.compareAndSet(false, true)) {
+            try {
+                if (isStale()) {
+                    _refreshedAt = System.nanoTime();
+                    refresh();
+                }
+            } finally {
+                _refreshing.set(false);
+            }
+        }
+        return _replicas;
+    }
+
+    private boolean isStale() {
+        return _refreshedAt == 0 || System.nanoTime() - _refreshedAt >= _properties.getRefreshInterval().toNanos();
+    }
+
+    private void refresh() {
+        try {
+            var endpoints = _coreV1Api.readNamespacedEndpoints(_properties.getService(), _properties.getNamespace(), null, null, null);
+            var replicas = new ArrayList<Replica>();
+            var foundSelf = false;
+            if (endpoints.getSubsets() != null) {
+                for (var subset : endpoints.getSubsets()) {
+                    if (subset.getAddresses() == null) continue;
+                    var port = getPort(subset);
+                    for (var address : subset.getAddresses()) {
+                        var name = getName(address);
+                        if (name.equals(_self.getName())) {
+                            foundSelf = true;
+                            replicas.add(_self);
+                        } else {
+                            replicas.add(new Replica(name, address.getIp() + ":" + port));
+                        }
+                    }
+                }
+            }
+            if (!foundSelf) {
+                // Until this replica is ready it still pings its share, so that no hosts are left out while starting up
+                replicas.add(_self);
+            }
+            if (replicas.size() != _replicas.size()) {
+                log.info("Discovered {} replicas", replicas.size());
+            }
+            _replicas = replicas;
+        } catch (ApiException e) {
+            log.error("Error reading endpoints: {} in namespace: {}, msg: {}", _properties.getService(), _properties.getNamespace(), e.getResponseBody());
+        }
+    }
+
+    private String getName(V1EndpointAddress address) {
+        if (address.getTargetRef() != null && address.getTargetRef().getName() != null) {
+            return address.getTargetRef().getName();
+        }
+        return address.getIp();
+    }
+
+    private int getPort(V1EndpointSubset subset) {
+        if (subset.getPorts() != null) {
+            for (var port : subset.getPorts()) {
+                if (_properties.getPortName() == null || _properties.getPortName().equals(port.getName())) {
+                    return port.getPort();
+                }
+            }
+        }
+        return _properties.getPort();
+    }
+}
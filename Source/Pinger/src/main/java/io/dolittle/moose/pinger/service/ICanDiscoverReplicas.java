@@ -0,0 +1,25 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.service;
+
+import java.util.List;
+
+import io.dolittle.moose.pinger.model.Replica;
+
+/**
+ * Defines a system that can discover the Pinger replicas that are currently running.
+ */
+public interface ICanDiscoverReplicas {
+    /**
+     * Gets the {@link Replica} that represents this process.
+     * @return The {@link Replica} of this process.
+     */
+    Replica getSelf();
+
+    /**
+     * Gets all the replicas that are currently running, including this process.
+     * @return A {@link List} of {@link Replica}.
+     */
+    List<Replica> getReplicas();
+}
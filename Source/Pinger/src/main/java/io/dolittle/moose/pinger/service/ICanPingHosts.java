@@ -0,0 +1,21 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingResult;
+
+/**
+ * Defines a system that can send HTTP ping requests to hosts.
+ */
+public interface ICanPingHosts {
+    /**
+     * Sends a ping request to the given host, and verifies that it was routed back to the Pinger.
+     * @param pingHost The {@link PingHost} to ping.
+     * @return A {@link CompletableFuture} of type {@link PingResult} that completes when the ping is done.
+     */
+    CompletableFuture<PingResult> pingHost(PingHost pingHost);
+}
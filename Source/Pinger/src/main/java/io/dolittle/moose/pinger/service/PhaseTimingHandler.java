@@ -0,0 +1,89 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.service;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import javax.net.ssl.SSLSession;
+
+import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.netty.request.NettyRequest;
+
+import io.dolittle.moose.pinger.model.PingTimings;
+import io.netty.channel.Channel;
+
+/**
+ * An {@link org.asynchttpclient.AsyncHandler} that records when each phase of a request starts and ends.
+ * Phases that are skipped, like DNS, connect and TLS on a pooled connection, are reported as null.
+ */
+class PhaseTimingHandler extends AsyncCompletionHandlerBase {
+    private final long _start = System.nanoTime();
+    private volatile long _dnsStart, _dnsEnd;
+    private volatile long _connectStart, _connectEnd;
+    private volatile long _tlsStart, _tlsEnd;
+    private volatile long _requestSent, _statusReceived;
+
+    @Override
+    public void onHostnameResolutionAttempt(String name) {
+        _dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void onHostnameResolutionSuccess(String name, List<InetSocketAddress> addresses) {
+        _dnsEnd = System.nanoTime();
+    }
+
+    @Override
+    public void onTcpConnectAttempt(InetSocketAddress remoteAddress) {
+        _connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void onTcpConnectSuccess(InetSocketAddress remoteAddress, Channel connection) {
+        _connectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void onTlsHandshakeAttempt() {
+        _tlsStart = System.nanoTime();
+    }
+
+    @Override
+    public void onTlsHandshakeSuccess(SSLSession sslSession) {
+        _tlsEnd = System.nanoTime();
+    }
+
+    @Override
+    public void onRequestSend(NettyRequest request) {
+        _requestSent = System.nanoTime();
+    }
+
+    @Override
+    public State onStatusReceived(HttpResponseStatus status) throws Exception {
+        _statusReceived = System.nanoTime();
+        return super.onStatusReceived(status);
+    }
+
+    /**
+     * Gets the {@link PingTimings} recorded until now.
+     * @return The {@link PingTimings}.
+     */
+    PingTimings getTimings() {
+        var now = System.nanoTime();
+        return new PingTimings(
+            between(_dnsStart, _dnsEnd),
+            between(_connectStart, _connectEnd),
+            between(_tlsStart, _tlsEnd),
+            between(_requestSent != 0 ? _requestSent : _start, _statusReceived),
+            Duration.ofNanos(now - _start));
+    }
+
+    private static Duration between(long start, long end) {
+        if (start == 0 || end == 0) return null;
+        return Duration.ofNanos(end - start);
+    }
+}
@@ -5,27 +5,37 @@ package io.dolittle.moose.pinger.service;
 
 import io.dolittle.moose.pinger.component.KeyManager;
 import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.model.PingTimings;
 import io.dolittle.moose.pinger.util.RESTUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
 
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
+import static io.dolittle.moose.pinger.util.PingConstants.RECEIPT_HEADER;
+import static io.dolittle.moose.pinger.util.PingConstants.USER_AGENT;
+
 /**
  * A service to ping hosts
  * The service is dependent on {@link KeyManager} to verify a successful ping to a host
+ * Every ping blocks one of the async executor threads for the whole round trip.
  */
 @Service
+@ConditionalOnProperty(name = "io.dolittle.moose.pinger.engine", havingValue = "rest-template", matchIfMissing = true)
 @Slf4j
-public class RequestService {
+public class RequestService implements ICanPingHosts {
 
     private final KeyManager _keyManager;
 
@@ -35,35 +45,38 @@ public class RequestService {
     }
 
     @Async
-    public CompletableFuture<HashMap<String, Boolean>> pingHost(PingHost pingHost) {
-        HashMap<String, Boolean> result = new HashMap<>();
-
-        var host = pingHost.getHost();
-        result.put(host, Boolean.FALSE);
-
+    @Override
+    public CompletableFuture<PingResult> pingHost(PingHost pingHost) {
+        var start = System.nanoTime();
         var challengeKey = _keyManager.addChallengeKeyBeforePingRequest();
         var url = pingHost.getURL() + "/" + challengeKey;
 
         var restTemplate = RESTUtil.getRestTemplate();
         HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.USER_AGENT, "Dolittle/Moose");
+        headers.add(HttpHeaders.USER_AGENT, USER_AGENT);
         HttpEntity<String> httpEntity = new HttpEntity<>(headers);
         ResponseEntity<String> response;
         try {
             log.info("Pinging: {}, challenge-key: {}", url, challengeKey);
             response = restTemplate.exchange(url, HttpMethod.GET, httpEntity, String.class);
+            var timings = PingTimings.ofTotal(Duration.ofNanos(System.nanoTime() - start));
 
-            if (response.getStatusCodeValue() == 200) {
-                result.put(host, _keyManager.verifyChallengeKeyAfterResponse(challengeKey));
+            if (response.getStatusCodeValue() != 200) {
+                return CompletableFuture.completedFuture(new PingResult(pingHost, PingOutcome.BAD_STATUS, timings));
             }
+            var verified = _keyManager.verifyChallengeKeyAfterResponse(challengeKey, response.getHeaders().getFirst(RECEIPT_HEADER));
+            return CompletableFuture.completedFuture(new PingResult(pingHost, verified ? PingOutcome.SUCCESS : PingOutcome.CHALLENGE_FAILED, timings));
 
+        } catch (HttpStatusCodeException e) {
+            log.error("Response: {} {}", e.getRawStatusCode(), e.getStatusText());
+            var timings = PingTimings.ofTotal(Duration.ofNanos(System.nanoTime() - start));
+            return CompletableFuture.completedFuture(new PingResult(pingHost, PingOutcome.BAD_STATUS, timings));
         } catch (RestClientException e) {
             log.error("Error pinging: " + url);
             log.debug("Stack trace", e);
-            return CompletableFuture.completedFuture(result);
+            var timings = PingTimings.ofTotal(Duration.ofNanos(System.nanoTime() - start));
+            return CompletableFuture.completedFuture(new PingResult(pingHost, PingOutcome.ERROR, timings));
         }
-
-        return CompletableFuture.completedFuture(result);
     }
 
 }
@@ -0,0 +1,54 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import io.dolittle.moose.pinger.model.Replica;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An implementation of {@link ICanDiscoverReplicas} that uses a fixed set of replicas from the configuration.
+ * With no replicas configured, this process is the only replica and pings every host.
+ */
+@Service
+@ConditionalOnProperty(name = "io.dolittle.moose.pinger.sharding.discovery", havingValue = "static", matchIfMissing = true)
+@Slf4j
+public class StaticReplicaDiscovery implements ICanDiscoverReplicas {
+    private final Replica _self;
+    private final List<Replica> _replicas = new ArrayList<>();
+
+    /**
+     * Initializes a new instance of the {@link StaticReplicaDiscovery} class.
+     * @param properties The {@link PingerProperties} that configures the replicas.
+     */
+    @Autowired
+    public StaticReplicaDiscovery(PingerProperties properties) {
+        var sharding = properties.getSharding();
+        _self = new Replica(sharding.getSelf(), null);
+        _replicas.add(_self);
+        sharding.getReplicas().forEach((name, address) -> {
+            if (!name.equals(_self.getName())) {
+                _replicas.add(new Replica(name, address));
+            }
+        });
+        log.info("Using {} statically configured replicas", _replicas.size());
+    }
+
+    @Override
+    public Replica getSelf() {
+        return _self;
+    }
+
+    @Override
+    public List<Replica> getReplicas() {
+        return _replicas;
+    }
+}
@@ -8,4 +8,6 @@ public class PingConstants {
     public static final String RESPONSE_KEY = "response-key";
     public static final String PROTOCOL_HTTPS = "https://";
     public static final String PROTOCOL_HTTP = "http://";
+    public static final String USER_AGENT = "Dolittle/Moose";
+    public static final String RECEIPT_HEADER = "X-Moose-Receipt";
 }
@@ -0,0 +1,90 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_ChallengeStore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.ChallengeStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_rotating_generations {
+    private SimpleMeterRegistry registry;
+    private ChallengeStore store;
+
+    Establish context = () -> registry = new SimpleMeterRegistry();
+
+    class and_the_store_is_full {
+        private boolean receivedAfterNextAdd;
+        private boolean verifiedAfterNextAdd;
+        private boolean receivedAfterDrop;
+        private boolean verifiedDropped;
+        private boolean verifiedReceived;
+        private boolean verifiedNotReceived;
+
+        Establish context = () -> {
+            store = new ChallengeStore(Duration.ofHours(1), 4, registry);
+            store.add("first");
+            store.add("second");
+        };
+
+        Because of = () -> {
+            store.add("third");
+            store.add("fourth");
+            receivedAfterNextAdd = store.markReceived("first");
+            verifiedAfterNextAdd = store.verify("first");
+            store.add("fifth");
+            receivedAfterDrop = store.markReceived("second");
+            store.markReceived("third");
+            verifiedDropped = store.verify("second");
+            verifiedReceived = store.verify("third");
+            verifiedNotReceived = store.verify("fourth");
+        };
+
+        It should_keep_the_rotated_keys_when_the_next_key_is_added = () -> assertTrue(receivedAfterNextAdd);
+        It should_verify_a_rotated_key_after_the_next_key_is_added = () -> assertTrue(verifiedAfterNextAdd);
+        It should_drop_the_previous_generation_when_the_current_generation_is_full_again = () -> assertFalse(receivedAfterDrop);
+        It should_not_verify_a_dropped_key = () -> assertFalse(verifiedDropped);
+        It should_keep_the_keys_added_with_the_rotation = () -> assertTrue(verifiedReceived);
+        It should_not_verify_a_key_that_was_not_received = () -> assertFalse(verifiedNotReceived);
+        It should_only_have_the_latest_key_outstanding = () -> assertEquals(1, store.size());
+        It should_count_the_keys_expired_by_capacity = () -> assertEquals(1.0, registry.counter("uptime.challenges.expired", "reason", "capacity").count(), 0);
+        It should_count_the_verified_keys = () -> assertEquals(2.0, registry.counter("uptime.challenges.verified").count(), 0);
+    }
+
+    class and_the_time_to_live_has_passed {
+        private boolean receivedAfterOneGeneration;
+        private boolean verifiedAfterOneGeneration;
+
+        Establish context = () -> {
+            store = new ChallengeStore(Duration.ofMillis(100), 1000, registry);
+            store.add("first");
+        };
+
+        Because of = () -> {
+            Thread.sleep(150);
+            store.add("second");
+            receivedAfterOneGeneration = store.markReceived("first");
+            verifiedAfterOneGeneration = store.verify("first");
+            Thread.sleep(250);
+            store.add("third");
+        };
+
+        It should_keep_a_key_for_the_time_to_live = () -> assertTrue(receivedAfterOneGeneration);
+        It should_verify_a_key_received_within_the_time_to_live = () -> assertTrue(verifiedAfterOneGeneration);
+        It should_drop_both_generations_when_nothing_was_added_for_a_whole_generation = () -> assertFalse(store.markReceived("second"));
+        It should_only_keep_the_latest_key = () -> assertEquals(1, store.size());
+        It should_count_the_keys_expired_by_age = () -> assertEquals(1.0, registry.counter("uptime.challenges.expired", "reason", "age").count(), 0);
+    }
+}
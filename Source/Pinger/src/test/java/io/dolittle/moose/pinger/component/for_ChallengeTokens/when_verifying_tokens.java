@@ -0,0 +1,78 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_ChallengeTokens;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.ChallengeTokens;
+
+@RunWith(JavaSpecRunner.class)
+public class when_verifying_tokens {
+    private ChallengeTokens tokens;
+    private ChallengeTokens otherReplica;
+    private String token;
+
+    Establish context = () -> {
+        tokens = new ChallengeTokens("shared-secret", Duration.ofMinutes(1));
+        otherReplica = new ChallengeTokens("shared-secret", Duration.ofMinutes(1));
+        token = tokens.issue();
+    };
+
+    class and_the_token_is_valid {
+        It should_be_verified_by_the_issuing_replica = () -> assertTrue(tokens.verify(token));
+        It should_be_verified_by_another_replica_with_the_same_secret = () -> assertTrue(otherReplica.verify(token));
+        It should_accept_the_receipt_from_another_replica = () -> assertTrue(tokens.verifyReceipt(token, otherReplica.receiptFor(token)));
+        It should_issue_a_different_token_every_time = () -> assertNotEquals(token, tokens.issue());
+    }
+
+    class and_the_token_is_tampered_with {
+        private String tampered;
+
+        Because of = () -> {
+            var bytes = Base64.getUrlDecoder().decode(token);
+            bytes[3] ^= 1;
+            tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        };
+
+        It should_not_be_verified = () -> assertFalse(tokens.verify(tampered));
+        It should_not_verify_a_token_that_is_not_base64 = () -> assertFalse(tokens.verify("not a token!"));
+        It should_not_verify_a_truncated_token = () -> assertFalse(tokens.verify(token.substring(0, 20)));
+    }
+
+    class and_the_token_was_signed_with_another_secret {
+        It should_not_be_verified = () -> assertFalse(new ChallengeTokens("other-secret", Duration.ofMinutes(1)).verify(token));
+    }
+
+    class and_the_token_has_expired {
+        Establish context = () -> {
+            tokens = new ChallengeTokens("shared-secret", Duration.ofMillis(50));
+            token = tokens.issue();
+        };
+
+        Because of = () -> Thread.sleep(100);
+
+        It should_not_be_verified = () -> assertFalse(tokens.verify(token));
+    }
+
+    class and_the_receipt_does_not_match {
+        private String otherToken;
+
+        Because of = () -> otherToken = tokens.issue();
+
+        It should_not_accept_the_receipt_of_another_token = () -> assertFalse(tokens.verifyReceipt(token, tokens.receiptFor(otherToken)));
+        It should_not_accept_a_receipt_from_another_secret = () -> assertFalse(tokens.verifyReceipt(token, new ChallengeTokens("other-secret", Duration.ofMinutes(1)).receiptFor(token)));
+        It should_not_accept_a_missing_receipt = () -> assertFalse(tokens.verifyReceipt(token, null));
+    }
+}
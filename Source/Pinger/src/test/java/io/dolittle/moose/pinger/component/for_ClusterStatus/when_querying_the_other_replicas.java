@@ -0,0 +1,146 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_ClusterStatus;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.runner.RunWith;
+
+import com.sun.net.httpserver.HttpServer;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.ClusterStatus;
+import io.dolittle.moose.pinger.component.PingStatus;
+import io.dolittle.moose.pinger.component.ShardManager;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.model.Replica;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.dolittle.moose.pinger.service.ICanDiscoverReplicas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_querying_the_other_replicas {
+    private static final long TIMEOUT = 1000;
+
+    private PingerProperties properties;
+    private List<HttpServer> servers;
+    private List<Replica> replicas;
+    private Boolean status;
+    private long elapsed;
+
+    Establish context = () -> {
+        properties = new PingerProperties();
+        properties.getSharding().setPeerTimeout(Duration.ofMillis(TIMEOUT));
+        properties.getHistory().setSamples(8);
+        properties.getHistory().setHours(4);
+        properties.getHistory().setSlotsPerSlab(4);
+        servers = new ArrayList<>();
+        replicas = new ArrayList<>(List.of(new Replica("self", null)));
+    };
+
+    Cleanup after = () -> servers.forEach(server -> server.stop(0));
+
+    class and_every_replica_is_slow_but_ok {
+        Establish context = () -> {
+            for (var i = 0; i < 3; i++) {
+                replicas.add(replica("replica-" + i, 200, 600));
+            }
+        };
+
+        Because of = () -> queryStatus();
+
+        It should_be_ok = () -> assertTrue(status);
+        It should_query_the_replicas_in_parallel = () -> assertTrue("Took " + elapsed + "ms", elapsed < 3 * 600);
+    }
+
+    class and_a_replica_is_failing {
+        Establish context = () -> {
+            replicas.add(replica("ok", 200, 0));
+            replicas.add(replica("failing", 503, 0));
+        };
+
+        Because of = () -> queryStatus();
+
+        It should_not_be_ok = () -> assertFalse(status);
+    }
+
+    class and_a_replica_does_not_answer_in_time {
+        Establish context = () -> {
+            replicas.add(replica("ok", 200, 0));
+            replicas.add(replica("hanging", 200, 3 * TIMEOUT));
+            replicas.add(replica("also-hanging", 200, 3 * TIMEOUT));
+        };
+
+        Because of = () -> queryStatus();
+
+        It should_not_be_ok = () -> assertFalse(status);
+        It should_give_up_after_one_timeout = () -> assertTrue("Took " + elapsed + "ms", elapsed < 2 * TIMEOUT);
+    }
+
+    class and_a_replica_cannot_be_reached {
+        Establish context = () -> replicas.add(new Replica("unreachable", "localhost:1"));
+
+        Because of = () -> queryStatus();
+
+        It should_not_be_ok = () -> assertFalse(status);
+    }
+
+    private void queryStatus() {
+        var pingStatus = new PingStatus(new SimpleMeterRegistry(), properties, new UptimeHistory(properties));
+        pingStatus.markSynced();
+        var clusterStatus = new ClusterStatus(pingStatus, new ShardManager(new Replicas(replicas.get(0), replicas)), properties);
+        var start = System.nanoTime();
+        status = clusterStatus.getStatus();
+        elapsed = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private Replica replica(String name, int statusCode, long delayMillis) throws Exception {
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/dolittle/uptime/local", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+                exchange.sendResponseHeaders(statusCode, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        servers.add(server);
+        return new Replica(name, "localhost:" + server.getAddress().getPort());
+    }
+
+    private static class Replicas implements ICanDiscoverReplicas {
+        private final Replica _self;
+        private final List<Replica> _replicas;
+
+        Replicas(Replica self, List<Replica> replicas) {
+            _self = self;
+            _replicas = List.copyOf(replicas);
+        }
+
+        @Override
+        public Replica getSelf() {
+            return _self;
+        }
+
+        @Override
+        public List<Replica> getReplicas() {
+            return _replicas;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_HostTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.HostTable;
+import io.dolittle.moose.pinger.model.HostChange;
+import io.dolittle.moose.pinger.model.PingHost;
+
+@RunWith(JavaSpecRunner.class)
+public class when_ingresses_define_hosts {
+    private List<HostChange> changes;
+    private HostTable table;
+    private List<PingHost> snapshot;
+
+    Establish context = () -> {
+        changes = new ArrayList<>();
+        table = new HostTable(changes::add);
+        table.put("b/website", List.of(pingHost("b", "dolittle.io", "/b"), pingHost("b", "dolittle.com", "/")));
+        snapshot = table.getSnapshot();
+        changes.clear();
+    };
+
+    class and_nothing_changes {
+        It should_have_every_host = () -> assertEquals(Set.of("dolittle.io", "dolittle.com"), hostsOf(table.getSnapshot()));
+        It should_reuse_the_snapshot = () -> assertSame(snapshot, table.getSnapshot());
+    }
+
+    class and_an_ingress_that_sorts_first_defines_the_same_host {
+        Because of = () -> table.put("a/website", List.of(pingHost("a", "dolittle.io", "/a")));
+
+        It should_ping_the_definition_from_the_first_ingress = () -> assertEquals("/a", pathOf(table.getSnapshot(), "dolittle.io"));
+        It should_publish_one_change = () -> assertEquals(1, changes.size());
+        It should_publish_the_previous_definition = () -> assertEquals("/b", changes.get(0).getPrevious().getPath());
+        It should_publish_the_current_definition = () -> assertEquals("/a", changes.get(0).getCurrent().getPath());
+
+        class and_then_the_first_ingress_is_removed {
+            Because of = () -> {
+                changes.clear();
+                table.remove("a/website");
+            };
+
+            It should_fall_back_to_the_other_definition = () -> assertEquals("/b", pathOf(table.getSnapshot(), "dolittle.io"));
+            It should_publish_the_fallback = () -> assertEquals("/b", changes.get(0).getCurrent().getPath());
+        }
+    }
+
+    class and_an_ingress_that_sorts_last_defines_the_same_host {
+        Because of = () -> table.put("c/website", List.of(pingHost("c", "dolittle.io", "/c")));
+
+        It should_keep_the_definition_from_the_first_ingress = () -> assertEquals("/b", pathOf(table.getSnapshot(), "dolittle.io"));
+        It should_not_publish_any_changes = () -> assertTrue(changes.isEmpty());
+        It should_reuse_the_snapshot = () -> assertSame(snapshot, table.getSnapshot());
+    }
+
+    class and_an_ingress_stops_defining_a_host {
+        Because of = () -> table.put("b/website", List.of(pingHost("b", "dolittle.io", "/b")));
+
+        It should_remove_the_host = () -> assertEquals(Set.of("dolittle.io"), hostsOf(table.getSnapshot()));
+        It should_publish_one_change = () -> assertEquals(1, changes.size());
+        It should_publish_the_removed_host = () -> assertEquals("dolittle.com", changes.get(0).getHost());
+        It should_publish_that_there_is_no_current_definition = () -> assertNull(changes.get(0).getCurrent());
+    }
+
+    class and_an_ingress_changes_the_path_of_a_host {
+        Because of = () -> table.put("b/website", List.of(pingHost("b", "dolittle.io", "/changed"), pingHost("b", "dolittle.com", "/")));
+
+        It should_ping_the_new_path = () -> assertEquals("/changed", pathOf(table.getSnapshot(), "dolittle.io"));
+        It should_publish_one_change = () -> assertEquals(1, changes.size());
+        It should_publish_the_previous_path = () -> assertEquals("/b", changes.get(0).getPrevious().getPath());
+        It should_publish_the_current_path = () -> assertEquals("/changed", changes.get(0).getCurrent().getPath());
+    }
+
+    class and_an_ingress_is_removed {
+        Because of = () -> table.remove("b/website");
+
+        It should_not_have_any_hosts = () -> assertTrue(table.getSnapshot().isEmpty());
+        It should_publish_a_change_for_every_host = () -> assertEquals(2, changes.size());
+        It should_not_publish_anything_when_removing_it_again = () -> {
+            changes.clear();
+            table.remove("b/website");
+            assertTrue(changes.isEmpty());
+        };
+    }
+
+    private static Set<String> hostsOf(List<PingHost> hosts) {
+        return hosts.stream().map(PingHost::getHost).collect(Collectors.toSet());
+    }
+
+    private static String pathOf(List<PingHost> hosts, String host) {
+        return hosts.stream().filter(pingHost -> pingHost.getHost().equals(host)).findFirst().orElseThrow().getPath();
+    }
+
+    private static PingHost pingHost(String namespace, String host, String path) {
+        var pingHost = new PingHost();
+        pingHost.setNamespace(namespace);
+        pingHost.setHost(host);
+        pingHost.setPath(path);
+        pingHost.setTls(false);
+        return pingHost;
+    }
+}
@@ -0,0 +1,192 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_IngressManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.common.properties.ping.PingIngressProperties;
+import io.dolittle.moose.kubernetes.Annotation;
+import io.dolittle.moose.kubernetes.Namespace;
+import io.dolittle.moose.kubernetes.eventhandlers.ResourceChange;
+import io.dolittle.moose.kubernetes.ingresses.ICanObserveIngresses;
+import io.dolittle.moose.kubernetes.ingresses.Ingress;
+import io.dolittle.moose.pinger.component.IngressManager;
+import io.dolittle.moose.pinger.model.HostChange;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressPath;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1HTTPIngressRuleValue;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1Ingress;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressBackend;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressRule;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressSpec;
+import io.kubernetes.client.openapi.models.ExtensionsV1beta1IngressTLS;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+@RunWith(JavaSpecRunner.class)
+public class when_ingresses_change {
+    private PublishSubject<ResourceChange<Ingress>> ingressChanges;
+    private IngressManager manager;
+    private List<HostChange> hostChanges;
+    private Ingress website;
+
+    Establish context = () -> {
+        ingressChanges = PublishSubject.create();
+        var pingIngressProperties = new PingIngressProperties();
+        pingIngressProperties.setAnnotation(new Annotation("dolittle.io/moose", "true"));
+        var pingerProperties = new PingerProperties();
+        pingerProperties.getScheduler().setIntervalAnnotation("dolittle.io/moose-interval");
+        manager = new IngressManager(new IngressObserver(ingressChanges), pingIngressProperties, pingerProperties);
+        hostChanges = new ArrayList<>();
+        manager.observeHostChanges().subscribe(hostChanges::add);
+        website = ingress("website", Map.of("dolittle.io/moose-interval", "30s"),
+            rule("dolittle.io", "/ping"),
+            rule("dolittle.com", "/"));
+        ingressChanges.onNext(ResourceChange.added(website));
+    };
+
+    class and_an_ingress_is_added {
+        It should_publish_a_change_for_every_host = () -> assertEquals(2, hostChanges.size());
+        It should_list_every_host = () -> assertEquals(2, manager.getHostsList().size());
+        It should_ping_the_path_of_the_rule = () -> assertEquals("/ping", pingHost("dolittle.io").getPath());
+        It should_ping_the_namespace_of_the_ingress = () -> assertEquals("monitored", pingHost("dolittle.io").getNamespace());
+        It should_ping_a_host_with_tls_over_https = () -> assertTrue(pingHost("dolittle.io").getTls());
+        It should_ping_a_host_without_tls_over_http = () -> assertFalse(pingHost("dolittle.com").getTls());
+        It should_use_the_interval_from_the_annotation = () -> assertEquals(Duration.ofSeconds(30), pingHost("dolittle.io").getInterval());
+    }
+
+    class and_an_ingress_is_updated {
+        Because of = () -> {
+            hostChanges.clear();
+            ingressChanges.onNext(ResourceChange.updated(website, ingress("website", Map.of(), rule("dolittle.io", "/ping"))));
+        };
+
+        It should_only_publish_the_changed_hosts = () -> assertEquals(2, hostChanges.size());
+        It should_remove_the_host_that_is_no_longer_defined = () -> assertNull(changeOf("dolittle.com").getCurrent());
+        It should_update_the_interval_of_the_remaining_host = () -> assertNull(changeOf("dolittle.io").getCurrent().getInterval());
+        It should_list_the_remaining_host = () -> assertEquals(1, manager.getHostsList().size());
+    }
+
+    class and_another_ingress_is_added {
+        Because of = () -> {
+            hostChanges.clear();
+            ingressChanges.onNext(ResourceChange.added(ingress("other", Map.of(), rule("moose.dolittle.io", "/"))));
+        };
+
+        It should_only_publish_the_new_host = () -> assertEquals(List.of("moose.dolittle.io"), hostsOf(hostChanges));
+        It should_list_every_host = () -> assertEquals(3, manager.getHostsList().size());
+    }
+
+    class and_an_ingress_has_a_rule_without_paths {
+        Because of = () -> {
+            hostChanges.clear();
+            ingressChanges.onNext(ResourceChange.added(ingress("host-only", Map.of(),
+                new ExtensionsV1beta1IngressRule().host("host-only.dolittle.io"),
+                rule("moose.dolittle.io", "/"))));
+        };
+
+        It should_skip_the_rule_without_paths = () -> assertEquals(List.of("moose.dolittle.io"), hostsOf(hostChanges));
+        It should_keep_observing_the_changes = () -> {
+            ingressChanges.onNext(ResourceChange.deleted(website));
+            assertEquals(1, manager.getHostsList().size());
+        };
+    }
+
+    class and_an_ingress_is_deleted {
+        Because of = () -> {
+            hostChanges.clear();
+            ingressChanges.onNext(ResourceChange.deleted(website));
+        };
+
+        It should_publish_a_change_for_every_host = () -> assertEquals(2, hostChanges.size());
+        It should_not_list_any_hosts = () -> assertTrue(manager.getHostsList().isEmpty());
+    }
+
+    private PingHost pingHost(String host) {
+        return manager.getHostsList().stream().filter(pingHost -> pingHost.getHost().equals(host)).findFirst().orElseThrow();
+    }
+
+    private HostChange changeOf(String host) {
+        return hostChanges.stream().filter(change -> change.getHost().equals(host)).findFirst().orElseThrow();
+    }
+
+    private static List<String> hostsOf(List<HostChange> changes) {
+        var hosts = new ArrayList<String>();
+        changes.forEach(change -> hosts.add(change.getHost()));
+        return hosts;
+    }
+
+    private static Ingress ingress(String name, Map<String, String> annotations, ExtensionsV1beta1IngressRule... rules) {
+        var spec = new ExtensionsV1beta1IngressSpec().addTlsItem(new ExtensionsV1beta1IngressTLS().addHostsItem("dolittle.io").secretName("certificate"));
+        for (var rule : rules) {
+            spec.addRulesItem(rule);
+        }
+        return Ingress.from(new ExtensionsV1beta1Ingress()
+            .metadata(new V1ObjectMeta().namespace("monitored").name(name).annotations(annotations))
+            .spec(spec));
+    }
+
+    private static ExtensionsV1beta1IngressRule rule(String host, String path) {
+        return new ExtensionsV1beta1IngressRule()
+            .host(host)
+            .http(new ExtensionsV1beta1HTTPIngressRuleValue().addPathsItem(new ExtensionsV1beta1HTTPIngressPath()
+                .path(path)
+                .backend(new ExtensionsV1beta1IngressBackend().serviceName("website").servicePort(new IntOrString(80)))));
+    }
+
+    private static class IngressObserver implements ICanObserveIngresses {
+        private final Observable<ResourceChange<Ingress>> _changes;
+
+        IngressObserver(Observable<ResourceChange<Ingress>> changes) {
+            _changes = changes;
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeAllIngresses() {
+            return Observable.never();
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeAllIngressesWithAnnotations(Annotation... annotations) {
+            return Observable.never();
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeIngressesInNamespace(Namespace namespace) {
+            return Observable.never();
+        }
+
+        @Override
+        public Observable<Iterable<Ingress>> observeIngressesInNamespaceWithAnnotations(Namespace namespace, Annotation... annotations) {
+            return Observable.never();
+        }
+
+        @Override
+        public Observable<ResourceChange<Ingress>> observeAllIngressChangesWithAnnotations(Annotation... annotations) {
+            return _changes;
+        }
+
+        @Override
+        public boolean hasSynced() {
+            return true;
+        }
+    }
+}
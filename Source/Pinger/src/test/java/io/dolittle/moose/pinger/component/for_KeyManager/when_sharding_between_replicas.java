@@ -0,0 +1,95 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_KeyManager;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.KeyManager;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_sharding_between_replicas {
+    private PingerProperties properties;
+    private MeterRegistry registry;
+    private KeyManager keyManager;
+    private Exception error;
+
+    Establish context = () -> {
+        properties = new PingerProperties();
+        registry = new SimpleMeterRegistry();
+        properties.getChallenges().setSecret("secret");
+        properties.getChallenges().setTtl(Duration.ofMinutes(1));
+        properties.getChallenges().setMaxOutstanding(100);
+    };
+
+    class and_the_replicas_are_discovered_from_endpoints_with_the_store_mode {
+        Establish context = () -> {
+            properties.getSharding().setDiscovery("endpoints");
+            properties.getChallenges().setMode("store");
+        };
+
+        Because of = () -> createKeyManager();
+
+        It should_fail_to_start = () -> assertTrue(error instanceof IllegalStateException);
+    }
+
+    class and_other_replicas_are_configured_statically_with_the_store_mode {
+        Establish context = () -> {
+            properties.getSharding().setDiscovery("static");
+            properties.getSharding().setReplicas(Map.of("pinger-1", "pinger-1:8080"));
+            properties.getChallenges().setMode("store");
+        };
+
+        Because of = () -> createKeyManager();
+
+        It should_fail_to_start = () -> assertTrue(error instanceof IllegalStateException);
+    }
+
+    class and_the_replicas_are_discovered_from_endpoints_with_the_token_mode {
+        Establish context = () -> {
+            properties.getSharding().setDiscovery("endpoints");
+            properties.getChallenges().setMode("token");
+        };
+
+        Because of = () -> createKeyManager();
+
+        It should_start = () -> assertNull(error);
+        It should_issue_keys = () -> assertNotNull(keyManager.addChallengeKeyBeforePingRequest());
+        It should_not_register_the_challenge_store_meters = () -> assertNull(registry.find("uptime.challenges.outstanding").gauge());
+    }
+
+    class and_there_is_a_single_replica_with_the_store_mode {
+        Establish context = () -> {
+            properties.getSharding().setDiscovery("static");
+            properties.getChallenges().setMode("store");
+        };
+
+        Because of = () -> createKeyManager();
+
+        It should_start = () -> assertNull(error);
+        It should_issue_keys = () -> assertNotNull(keyManager.addChallengeKeyBeforePingRequest());
+        It should_register_the_challenge_store_meters = () -> assertNotNull(registry.find("uptime.challenges.outstanding").gauge());
+    }
+
+    private void createKeyManager() {
+        try {
+            keyManager = new KeyManager(properties, registry);
+        } catch (Exception e) {
+            error = e;
+        }
+    }
+}
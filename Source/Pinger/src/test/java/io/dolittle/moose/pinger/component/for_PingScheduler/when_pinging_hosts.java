@@ -0,0 +1,123 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_PingScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.PingScheduler;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+
+@RunWith(JavaSpecRunner.class)
+public class when_pinging_hosts {
+    private static final long INTERVAL = 200;
+    private static final long TOLERANCE = 40;
+
+    private PingerProperties properties;
+    private PingScheduler scheduler;
+    private PingHost pingHost;
+    private List<Long> pings;
+    private List<PingHost> scheduled;
+    private List<PingHost> retired;
+    private CompletableFuture<Void> pending;
+
+    Establish context = () -> {
+        properties = new PingerProperties();
+        properties.getScheduler().setInterval(Duration.ofMillis(INTERVAL));
+        properties.getScheduler().setTick(Duration.ofMillis(5));
+        properties.getScheduler().setSyncInterval(Duration.ofHours(1));
+        pingHost = new PingHost();
+        pingHost.setNamespace("namespace");
+        pingHost.setHost("host.dolittle.io");
+        pingHost.setPath("/ping");
+        pingHost.setTls(true);
+        pings = new CopyOnWriteArrayList<>();
+        scheduled = new CopyOnWriteArrayList<>();
+        retired = new CopyOnWriteArrayList<>();
+    };
+
+    Cleanup after = () -> scheduler.stop();
+
+    class without_jitter {
+        Establish context = () -> {
+            properties.getScheduler().setJitter(Duration.ZERO);
+            scheduler = new PingScheduler(properties);
+        };
+
+        Because of = () -> {
+            start(() -> CompletableFuture.completedFuture(null));
+            Thread.sleep(INTERVAL * 6);
+        };
+
+        It should_register_the_host_before_pinging_it = () -> assertEquals(List.of(pingHost), scheduled);
+        It should_ping_once_per_interval = () -> assertTrue(pings.size() >= 4 && pings.size() <= 7);
+        It should_ping_at_the_same_phase_every_interval = () -> assertTrue(phaseSpread() <= TOLERANCE);
+    }
+
+    class with_jitter {
+        Establish context = () -> {
+            properties.getScheduler().setJitter(Duration.ofMillis(20));
+            scheduler = new PingScheduler(properties);
+        };
+
+        Because of = () -> {
+            start(() -> CompletableFuture.completedFuture(null));
+            Thread.sleep(INTERVAL * 10);
+        };
+
+        It should_ping_once_per_interval = () -> assertTrue(pings.size() >= 8 && pings.size() <= 11);
+        It should_not_drift_further_than_the_jitter_from_the_phase = () -> assertTrue(phaseSpread() <= 2 * 20 + TOLERANCE);
+    }
+
+    class and_the_host_is_retired_while_its_ping_is_pending {
+        Establish context = () -> {
+            properties.getScheduler().setJitter(Duration.ZERO);
+            scheduler = new PingScheduler(properties);
+            pending = new CompletableFuture<>();
+        };
+
+        Because of = () -> {
+            start(() -> pending);
+            Thread.sleep(INTERVAL * 3);
+            scheduler.retire(pingHost.getHost());
+            pending.complete(null);
+            Thread.sleep(INTERVAL * 2);
+        };
+
+        It should_not_ping_again_while_the_ping_is_pending = () -> assertEquals(1, pings.size());
+        It should_notify_that_the_host_is_retired = () -> assertEquals(List.of(pingHost), retired);
+        It should_not_have_any_scheduled_hosts = () -> assertEquals(0, scheduler.getScheduledCount());
+    }
+
+    private void start(Supplier<CompletableFuture<?>> result) {
+        scheduler.start(() -> List.of(pingHost), host -> {
+            pings.add(System.currentTimeMillis());
+            return result.get();
+        }, scheduled::add, retired::add);
+    }
+
+    private long phaseSpread() {
+        var first = Math.floorMod(pings.get(0), INTERVAL);
+        var spread = 0L;
+        for (var ping : pings) {
+            var distance = Math.floorMod(Math.floorMod(ping, INTERVAL) - first, INTERVAL);
+            spread = Math.max(spread, Math.min(distance, INTERVAL - distance));
+        }
+        return spread;
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_PingStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.PingStatus;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.model.PingTimings;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_a_host_is_removed_while_its_ping_is_pending {
+    private SimpleMeterRegistry registry;
+    private UptimeHistory history;
+    private PingStatus status;
+    private PingHost pingHost;
+
+    Establish context = () -> {
+        var properties = new PingerProperties();
+        properties.getHistory().setSamples(8);
+        properties.getHistory().setHours(4);
+        properties.getHistory().setSlotsPerSlab(4);
+        registry = new SimpleMeterRegistry();
+        history = new UptimeHistory(properties);
+        status = new PingStatus(registry, properties, history);
+        pingHost = pingHost("/ping");
+        status.addHost(pingHost);
+    };
+
+    class and_the_ping_fails_after_the_host_was_removed {
+        Because of = () -> {
+            status.removeHost(pingHost.getHost());
+            status.updateHostStatus(failed(pingHost));
+        };
+
+        It should_not_count_the_host_as_failing = () -> assertEquals(0, status.getFailingCount());
+        It should_not_list_the_host_as_failing = () -> assertTrue(status.getFailingHosts().isEmpty());
+        It should_not_register_meters_for_the_host = () -> assertNull(registry.find("uptime.ping").tag("host", pingHost.getHost()).counter());
+        It should_not_record_the_history_of_the_host = () -> assertTrue(Double.isNaN(history.getUptime(pingHost.getHost(), Instant.now().getEpochSecond(), Duration.ofHours(1))));
+    }
+
+    class and_the_ping_fails_after_the_host_was_registered_with_another_path {
+        Because of = () -> {
+            status.addHost(pingHost("/other"));
+            status.updateHostStatus(failed(pingHost));
+        };
+
+        It should_not_count_the_host_as_failing = () -> assertEquals(0, status.getFailingCount());
+        It should_not_record_the_history_of_the_host = () -> assertTrue(Double.isNaN(history.getUptime(pingHost.getHost(), Instant.now().getEpochSecond(), Duration.ofHours(1))));
+    }
+
+    class and_the_ping_fails_before_the_host_is_removed {
+        Because of = () -> status.updateHostStatus(failed(pingHost));
+
+        It should_count_the_host_as_failing = () -> assertEquals(1, status.getFailingCount());
+        It should_list_the_host_as_failing = () -> assertTrue(status.getFailingHosts().contains(pingHost.getHost()));
+        It should_record_the_history_of_the_host = () -> assertEquals(0.0, history.getUptime(pingHost.getHost(), Instant.now().getEpochSecond(), Duration.ofHours(1)), 0);
+
+        class and_then_the_host_is_removed {
+            Because of = () -> status.removeHost(pingHost.getHost());
+
+            It should_not_count_the_host_as_failing = () -> assertEquals(0, status.getFailingCount());
+            It should_remove_the_meters_of_the_host = () -> assertNull(registry.find("uptime.ping").tag("host", pingHost.getHost()).counter());
+        }
+    }
+
+    private static PingHost pingHost(String path) {
+        var pingHost = new PingHost();
+        pingHost.setNamespace("namespace");
+        pingHost.setHost("host.dolittle.io");
+        pingHost.setPath(path);
+        pingHost.setTls(true);
+        return pingHost;
+    }
+
+    private static PingResult failed(PingHost pingHost) {
+        return new PingResult(pingHost, PingOutcome.BAD_STATUS, PingTimings.ofTotal(Duration.ofMillis(12)));
+    }
+}
@@ -0,0 +1,142 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_PingStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.PingStatus;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.model.PingTimings;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_checking_readiness {
+    private PingStatus status;
+    private PingHost first;
+    private PingHost second;
+    private boolean ready;
+
+    Establish context = () -> {
+        var properties = new PingerProperties();
+        properties.getHistory().setSamples(8);
+        properties.getHistory().setHours(4);
+        properties.getHistory().setSlotsPerSlab(4);
+        status = new PingStatus(new SimpleMeterRegistry(), properties, new UptimeHistory(properties));
+        first = pingHost("first.dolittle.io");
+        second = pingHost("second.dolittle.io");
+    };
+
+    class and_no_hosts_are_known {
+        Because of = () -> ready = status.getStatus();
+
+        It should_not_be_ready = () -> assertFalse(ready);
+    }
+
+    class and_the_hosts_have_not_been_synced {
+        Establish context = () -> {
+            status.addHost(first);
+            status.updateHostStatus(result(first, PingOutcome.SUCCESS));
+        };
+
+        Because of = () -> ready = status.getStatus();
+
+        It should_not_be_ready = () -> assertFalse(ready);
+    }
+
+    class and_the_hosts_have_been_synced {
+        Establish context = () -> {
+            status.addHost(first);
+            status.addHost(second);
+            status.markSynced();
+        };
+
+        class and_no_host_has_been_pinged {
+            Because of = () -> ready = status.getStatus();
+
+            It should_not_be_ready = () -> assertFalse(ready);
+            It should_have_every_host_pending = () -> assertEquals(2, status.getPendingCount());
+        }
+
+        class and_only_one_host_has_been_pinged {
+            Establish context = () -> status.updateHostStatus(result(first, PingOutcome.SUCCESS));
+
+            Because of = () -> ready = status.getStatus();
+
+            It should_not_be_ready = () -> assertFalse(ready);
+            It should_have_one_host_pending = () -> assertEquals(1, status.getPendingCount());
+        }
+
+        class and_the_pending_host_is_removed {
+            Establish context = () -> {
+                status.updateHostStatus(result(first, PingOutcome.SUCCESS));
+                status.removeHost(second.getHost());
+            };
+
+            Because of = () -> ready = status.getStatus();
+
+            It should_be_ready = () -> assertTrue(ready);
+            It should_have_no_hosts_pending = () -> assertEquals(0, status.getPendingCount());
+        }
+
+        class and_every_host_has_been_pinged {
+            Establish context = () -> {
+                status.updateHostStatus(result(first, PingOutcome.SUCCESS));
+                status.updateHostStatus(result(second, PingOutcome.SUCCESS));
+                status.updateHostStatus(result(second, PingOutcome.SUCCESS));
+                status.addHost(first);
+            };
+
+            Because of = () -> ready = status.getStatus();
+
+            It should_be_ready = () -> assertTrue(ready);
+            It should_have_no_hosts_pending = () -> assertEquals(0, status.getPendingCount());
+        }
+
+        class and_a_host_has_failed {
+            Establish context = () -> {
+                status.updateHostStatus(result(first, PingOutcome.SUCCESS));
+                status.updateHostStatus(result(second, PingOutcome.BAD_STATUS));
+            };
+
+            Because of = () -> ready = status.getStatus();
+
+            It should_not_be_ready = () -> assertFalse(ready);
+        }
+    }
+
+    class and_no_hosts_are_owned_after_syncing {
+        Establish context = () -> status.markSynced();
+
+        Because of = () -> ready = status.getStatus();
+
+        It should_be_ready = () -> assertTrue(ready);
+    }
+
+    private static PingHost pingHost(String host) {
+        var pingHost = new PingHost();
+        pingHost.setNamespace("namespace");
+        pingHost.setHost(host);
+        pingHost.setPath("/");
+        pingHost.setTls(true);
+        return pingHost;
+    }
+
+    private static PingResult result(PingHost pingHost, PingOutcome outcome) {
+        return new PingResult(pingHost, outcome, PingTimings.ofTotal(Duration.ofMillis(12)));
+    }
+}
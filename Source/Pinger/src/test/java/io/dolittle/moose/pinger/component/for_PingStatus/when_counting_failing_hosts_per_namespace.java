@@ -0,0 +1,81 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_PingStatus;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.PingStatus;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.model.PingTimings;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_counting_failing_hosts_per_namespace {
+    private PingStatus status;
+    private PingHost first;
+    private PingHost second;
+    private PingHost third;
+    private Map<String, Integer> failing;
+
+    Establish context = () -> {
+        var properties = new PingerProperties();
+        properties.getHistory().setSamples(8);
+        properties.getHistory().setHours(4);
+        properties.getHistory().setSlotsPerSlab(4);
+        status = new PingStatus(new SimpleMeterRegistry(), properties, new UptimeHistory(properties));
+        first = pingHost("first", "first.dolittle.io");
+        second = pingHost("first", "second.dolittle.io");
+        third = pingHost("second", "third.dolittle.io");
+        status.addHost(first);
+        status.addHost(second);
+        status.addHost(third);
+        status.markSynced();
+        status.updateHostStatus(result(first, PingOutcome.BAD_STATUS));
+        status.updateHostStatus(result(second, PingOutcome.BAD_STATUS));
+        status.updateHostStatus(result(third, PingOutcome.BAD_STATUS));
+    };
+
+    class and_the_hosts_are_failing {
+        Because of = () -> failing = status.getFailingPerNamespace();
+
+        It should_count_the_failing_hosts_in_each_namespace = () -> assertEquals(Map.of("first", 2, "second", 1), failing);
+    }
+
+    class and_the_hosts_in_a_namespace_recover {
+        Because of = () -> {
+            failing = status.getFailingPerNamespace();
+            status.updateHostStatus(result(first, PingOutcome.SUCCESS));
+            status.removeHost(third.getHost());
+        };
+
+        It should_not_change_the_returned_counts = () -> assertEquals(Map.of("first", 2, "second", 1), failing);
+        It should_only_count_the_namespaces_with_failing_hosts = () -> assertEquals(Map.of("first", 1), status.getFailingPerNamespace());
+    }
+
+    private static PingHost pingHost(String namespace, String host) {
+        var pingHost = new PingHost();
+        pingHost.setNamespace(namespace);
+        pingHost.setHost(host);
+        pingHost.setPath("/");
+        pingHost.setTls(true);
+        return pingHost;
+    }
+
+    private static PingResult result(PingHost pingHost, PingOutcome outcome) {
+        return new PingResult(pingHost, outcome, PingTimings.ofTotal(Duration.ofMillis(12)));
+    }
+}
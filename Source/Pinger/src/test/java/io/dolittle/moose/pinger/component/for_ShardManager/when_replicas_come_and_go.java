@@ -0,0 +1,134 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_ShardManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.ShardManager;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.Replica;
+import io.dolittle.moose.pinger.service.ICanDiscoverReplicas;
+
+@RunWith(JavaSpecRunner.class)
+public class when_replicas_come_and_go {
+    private static final int HOSTS = 3000;
+
+    private List<PingHost> hosts;
+    private List<Replica> replicas;
+    private Map<String, String> ownersBefore;
+    private Map<String, String> ownersAfter;
+
+    Establish context = () -> {
+        hosts = new ArrayList<>();
+        for (var i = 0; i < HOSTS; i++) {
+            var pingHost = new PingHost();
+            pingHost.setHost("host-" + i + ".dolittle.io");
+            hosts.add(pingHost);
+        }
+        replicas = new ArrayList<>(List.of(replica("pinger-0"), replica("pinger-1"), replica("pinger-2")));
+        ownersBefore = owners();
+    };
+
+    class and_there_is_a_single_replica {
+        private List<PingHost> owned;
+
+        Because of = () -> owned = new ShardManager(new Replicas(replicas.get(0), List.of(replicas.get(0)))).getOwnedHosts(hosts);
+
+        It should_own_every_host = () -> assertEquals(hosts, owned);
+    }
+
+    class and_the_replicas_do_not_change {
+        It should_give_every_host_to_exactly_one_replica = () -> assertEquals(HOSTS, ownersBefore.size());
+        It should_give_every_replica_a_fair_share = () -> replicas.forEach(replica -> {
+            var share = countOwnedBy(ownersBefore, replica.getName());
+            assertTrue(replica.getName() + " owns " + share, share > HOSTS / 4 && share < HOSTS / 2);
+        });
+        It should_agree_with_the_owner_of_a_single_host = () -> {
+            var shard = new ShardManager(new Replicas(replicas.get(1), replicas));
+            hosts.forEach(host -> assertEquals(ownersBefore.get(host.getHost()).equals("pinger-1"), shard.owns(host)));
+        };
+        It should_give_the_same_owners_every_time = () -> assertEquals(ownersBefore, owners());
+    }
+
+    class and_a_replica_is_added {
+        Because of = () -> {
+            replicas.add(replica("pinger-3"));
+            ownersAfter = owners();
+        };
+
+        It should_only_move_hosts_to_the_new_replica = () -> ownersBefore.forEach((host, owner) -> {
+            var newOwner = ownersAfter.get(host);
+            assertTrue(newOwner.equals(owner) || newOwner.equals("pinger-3"));
+        });
+        It should_give_the_new_replica_a_fair_share = () -> {
+            var share = countOwnedBy(ownersAfter, "pinger-3");
+            assertTrue("pinger-3 owns " + share, share > HOSTS / 6 && share < HOSTS / 3);
+        };
+    }
+
+    class and_a_replica_is_removed {
+        Because of = () -> {
+            replicas.remove(1);
+            ownersAfter = owners();
+        };
+
+        It should_only_move_the_hosts_of_the_removed_replica = () -> ownersBefore.forEach((host, owner) -> {
+            if (!owner.equals("pinger-1")) {
+                assertEquals(owner, ownersAfter.get(host));
+            }
+        });
+        It should_give_every_host_to_a_remaining_replica = () -> assertEquals(0, countOwnedBy(ownersAfter, "pinger-1"));
+    }
+
+    private Map<String, String> owners() {
+        var owners = new HashMap<String, String>();
+        for (var replica : replicas) {
+            for (var host : new ShardManager(new Replicas(replica, replicas)).getOwnedHosts(hosts)) {
+                var previous = owners.put(host.getHost(), replica.getName());
+                assertEquals("Host " + host.getHost() + " is owned by more than one replica", null, previous);
+            }
+        }
+        return owners;
+    }
+
+    private static long countOwnedBy(Map<String, String> owners, String replica) {
+        return owners.values().stream().filter(replica::equals).count();
+    }
+
+    private static Replica replica(String name) {
+        return new Replica(name, name + ":8080");
+    }
+
+    private static class Replicas implements ICanDiscoverReplicas {
+        private final Replica _self;
+        private final List<Replica> _replicas;
+
+        Replicas(Replica self, List<Replica> replicas) {
+            _self = self;
+            _replicas = List.copyOf(replicas);
+        }
+
+        @Override
+        public Replica getSelf() {
+            return _self;
+        }
+
+        @Override
+        public List<Replica> getReplicas() {
+            return _replicas;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_UptimeHistory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+
+@RunWith(JavaSpecRunner.class)
+public class when_a_slot_is_reused {
+    private static final long NOW = 1_600_000_000L;
+
+    private UptimeHistory history;
+
+    Establish context = () -> {
+        var properties = new PingerProperties();
+        properties.getHistory().setSamples(8);
+        properties.getHistory().setHours(4);
+        properties.getHistory().setSlotsPerSlab(1);
+        history = new UptimeHistory(properties);
+    };
+
+    class and_the_previous_host_was_removed {
+        Because of = () -> {
+            history.record("first", NOW, true, Duration.ofMillis(10));
+            history.remove("first");
+            history.record("second", NOW + 1, false, Duration.ofMillis(20));
+        };
+
+        It should_not_have_any_history_for_the_removed_host = () -> assertTrue(Double.isNaN(history.getUptime("first", NOW + 1, Duration.ofHours(1))));
+        It should_not_have_any_latency_for_the_removed_host = () -> assertEquals(-1, history.getLatestLatencyMillis("first"));
+        It should_only_have_the_history_of_the_new_host = () -> assertEquals(0.0, history.getUptime("second", NOW + 1, Duration.ofHours(1)), 0);
+        It should_have_the_latency_of_the_new_host = () -> assertEquals(20, history.getLatestLatencyMillis("second"));
+    }
+
+    class and_the_previous_host_is_recorded_while_it_is_removed {
+        private AtomicBoolean leaked;
+
+        Because of = () -> {
+            leaked = new AtomicBoolean();
+            var running = new AtomicBoolean(true);
+            var recorder = new Thread(() -> {
+                while (running.get()) {
+                    history.record("first", NOW, true, Duration.ofMillis(10));
+                }
+            });
+            recorder.start();
+            var deadline = System.nanoTime() + Duration.ofMillis(300).toNanos();
+            while (System.nanoTime() < deadline) {
+                history.remove("first");
+                history.record("second", NOW, false, Duration.ofMillis(20));
+                if (history.getUptime("second", NOW, Duration.ofHours(1)) != 0.0) {
+                    leaked.set(true);
+                }
+                history.remove("second");
+            }
+            running.set(false);
+            recorder.join();
+            history.record("first", NOW, true, Duration.ofMillis(10));
+        };
+
+        It should_never_write_to_the_slot_of_another_host = () -> assertEquals(false, leaked.get());
+        It should_keep_the_history_of_the_recorded_host = () -> assertEquals(100.0, history.getUptime("first", NOW, Duration.ofHours(1)), 0);
+    }
+}
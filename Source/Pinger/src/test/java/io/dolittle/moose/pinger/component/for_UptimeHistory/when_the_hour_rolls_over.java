@@ -0,0 +1,65 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_UptimeHistory;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+
+@RunWith(JavaSpecRunner.class)
+public class when_the_hour_rolls_over {
+    private static final long HOUR_START = 1_600_000_000L / 3600 * 3600;
+    private static final long HOUR = 3600;
+
+    private UptimeHistory history;
+
+    Establish context = () -> {
+        var properties = new PingerProperties();
+        properties.getHistory().setSamples(2);
+        properties.getHistory().setHours(3);
+        properties.getHistory().setSlotsPerSlab(4);
+        history = new UptimeHistory(properties);
+        history.record("host", HOUR_START, true, null);
+        history.record("host", HOUR_START + 1, true, null);
+        history.record("host", HOUR_START + HOUR, false, null);
+        history.record("host", HOUR_START + HOUR + 1, true, null);
+        history.record("host", HOUR_START + 2 * HOUR, true, null);
+        history.record("host", HOUR_START + 2 * HOUR + 1, true, null);
+    };
+
+    class and_every_hour_is_kept {
+        It should_count_every_hour = () -> assertEquals(500.0 / 6, history.getUptime("host", HOUR_START + 2 * HOUR + 1, Duration.ofHours(3)), 0.001);
+        It should_only_count_the_hours_in_the_window = () -> assertEquals(75.0, history.getUptime("host", HOUR_START + 2 * HOUR + 1, Duration.ofHours(1)), 0.001);
+    }
+
+    class and_the_oldest_hour_is_reused {
+        Because of = () -> {
+            history.record("host", HOUR_START + 3 * HOUR, false, null);
+            history.record("host", HOUR_START + 3 * HOUR + 1, false, null);
+        };
+
+        It should_not_count_the_hour_that_was_overwritten = () -> assertEquals(50.0, history.getUptime("host", HOUR_START + 3 * HOUR + 1, Duration.ofDays(1)), 0.001);
+    }
+
+    class and_more_pings_than_fit_in_a_short_are_recorded_in_an_hour {
+        Because of = () -> {
+            for (var i = 0; i < 70_000; i++) {
+                history.record("host", HOUR_START + 3 * HOUR + 10, true, null);
+            }
+            history.record("host", HOUR_START + 3 * HOUR + 11, false, null);
+            history.record("host", HOUR_START + 3 * HOUR + 12, false, null);
+        };
+
+        It should_count_every_ping = () -> assertEquals(100.0 * (70_000 + 3) / (70_000 + 6), history.getUptime("host", HOUR_START + 3 * HOUR + 12, Duration.ofDays(1)), 0.0001);
+    }
+}
@@ -0,0 +1,45 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.component.for_UptimeHistory;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.UptimeHistory;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+
+@RunWith(JavaSpecRunner.class)
+public class when_the_samples_wrap_around {
+    private static final long HOUR_START = 1_600_000_000L / 3600 * 3600;
+
+    private UptimeHistory history;
+
+    Establish context = () -> {
+        var properties = new PingerProperties();
+        properties.getHistory().setSamples(4);
+        properties.getHistory().setHours(4);
+        properties.getHistory().setSlotsPerSlab(4);
+        history = new UptimeHistory(properties);
+    };
+
+    Because of = () -> {
+        history.record("host", HOUR_START + 60, false, Duration.ofMillis(1));
+        history.record("host", HOUR_START + 120, false, Duration.ofMillis(2));
+        history.record("host", HOUR_START + 180, true, Duration.ofMillis(3));
+        history.record("host", HOUR_START + 240, true, Duration.ofMillis(4));
+        history.record("host", HOUR_START + 300, true, Duration.ofMillis(5));
+        history.record("host", HOUR_START + 360, false, Duration.ofMillis(6));
+    };
+
+    It should_have_the_latest_latency = () -> assertEquals(6, history.getLatestLatencyMillis("host"));
+    It should_calculate_a_window_covered_by_the_samples_from_the_latest_samples = () -> assertEquals(200.0 / 3, history.getUptime("host", HOUR_START + 360, Duration.ofSeconds(150)), 0.001);
+    It should_calculate_a_window_older_than_the_samples_from_the_hours = () -> assertEquals(50.0, history.getUptime("host", HOUR_START + 360, Duration.ofSeconds(200)), 0.001);
+}
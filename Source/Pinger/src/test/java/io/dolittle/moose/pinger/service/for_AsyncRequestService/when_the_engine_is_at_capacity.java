@@ -0,0 +1,133 @@
+// Copyright (c) Dolittle. All rights reserved.
+// Licensed under the MIT license. See LICENSE file in the project root for full license information.
+
+package io.dolittle.moose.pinger.service.for_AsyncRequestService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.RunWith;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.runner.JavaSpecRunner;
+import io.dolittle.moose.pinger.component.KeyManager;
+import io.dolittle.moose.pinger.model.PingHost;
+import io.dolittle.moose.pinger.model.PingOutcome;
+import io.dolittle.moose.pinger.model.PingResult;
+import io.dolittle.moose.pinger.properties.PingerProperties;
+import io.dolittle.moose.pinger.service.AsyncRequestService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(JavaSpecRunner.class)
+public class when_the_engine_is_at_capacity {
+    private ServerSocket server;
+    private List<Socket> accepted;
+    private AsyncRequestService service;
+    private CompletableFuture<PingResult> hanging;
+    private List<CompletableFuture<PingResult>> queued;
+    private CompletableFuture<PingResult> rejected;
+
+    Establish context = () -> {
+        server = new ServerSocket(0);
+        accepted = new ArrayList<>();
+        var acceptor = new Thread(() -> {
+            try {
+                while (true) {
+                    accepted.add(server.accept());
+                }
+            } catch (Exception e) {
+                // The server was closed
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    };
+
+    Cleanup after = () -> {
+        service.close();
+        server.close();
+        for (var socket : accepted) {
+            socket.close();
+        }
+    };
+
+    class and_the_queue_has_room_for_two_pings {
+        Establish context = () -> {
+            service = new AsyncRequestService(keyManager(), properties(1, 2));
+            hanging = service.pingHost(pingHost("localhost:" + server.getLocalPort()));
+        };
+
+        Because of = () -> {
+            queued = List.of(service.pingHost(pingHost("localhost:1")), service.pingHost(pingHost("localhost:1")));
+            rejected = service.pingHost(pingHost("localhost:1"));
+        };
+
+        It should_not_send_the_queued_pings_while_the_first_is_in_flight = () -> assertFalse(queued.get(0).isDone() || queued.get(1).isDone());
+        It should_reject_the_ping_that_does_not_fit_in_the_queue = () -> assertEquals(PingOutcome.REJECTED, rejected.getNow(null).getOutcome());
+        It should_fail_the_ping_that_timed_out = () -> assertEquals(PingOutcome.ERROR, hanging.get(5, TimeUnit.SECONDS).getOutcome());
+        It should_send_the_queued_pings_when_the_first_completes = () -> {
+            assertEquals(PingOutcome.ERROR, queued.get(0).get(5, TimeUnit.SECONDS).getOutcome());
+            assertEquals(PingOutcome.ERROR, queued.get(1).get(5, TimeUnit.SECONDS).getOutcome());
+        };
+    }
+
+    class and_the_queued_pings_fail_immediately {
+        Establish context = () -> {
+            service = new AsyncRequestService(keyManager(), properties(1, 100000));
+            hanging = service.pingHost(pingHost("localhost:" + server.getLocalPort()));
+        };
+
+        Because of = () -> {
+            queued = new ArrayList<>();
+            for (var i = 0; i < 50000; i++) {
+                queued.add(service.pingHost(pingHost("")));
+            }
+            hanging.get(5, TimeUnit.SECONDS);
+        };
+
+        It should_complete_all_the_queued_pings = () -> assertTrue(queued.stream().allMatch(CompletableFuture::isDone));
+        It should_fail_all_the_queued_pings = () -> assertTrue(queued.stream().allMatch(future -> future.join().getOutcome() == PingOutcome.ERROR));
+    }
+
+    private static KeyManager keyManager() {
+        var properties = new PingerProperties();
+        properties.getChallenges().setMode("store");
+        properties.getChallenges().setTtl(Duration.ofMinutes(1));
+        properties.getChallenges().setMaxOutstanding(100000);
+        return new KeyManager(properties, new SimpleMeterRegistry());
+    }
+
+    private static PingerProperties properties(int maxInFlight, int maxQueued) {
+        var properties = new PingerProperties();
+        var async = properties.getAsync();
+        async.setMaxInFlight(maxInFlight);
+        async.setMaxQueued(maxQueued);
+        async.setIoThreads(1);
+        async.setMaxConnectionsPerHost(-1);
+        async.setConnectTimeout(Duration.ofSeconds(1));
+        async.setRequestTimeout(Duration.ofMillis(500));
+        return properties;
+    }
+
+    private static PingHost pingHost(String host) {
+        var pingHost = new PingHost();
+        pingHost.setNamespace("namespace");
+        pingHost.setHost(host);
+        pingHost.setPath("/ping");
+        pingHost.setTls(false);
+        pingHost.setInterval(Duration.ofMinutes(5));
+        return pingHost;
+    }
+}